@@ -0,0 +1,130 @@
+package task.interview.hedgescape.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.positioning.Direction;
+import task.interview.hedgescape.positioning.model.PlayerMove;
+import task.interview.hedgescape.positioning.model.Position;
+import task.interview.hedgescape.solver.AStarSolver;
+import task.interview.hedgescape.solver.BreadthFirstSolver;
+import task.interview.hedgescape.solver.PuzzleSolver;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the player move and puzzle solving paths of the {@link GameController},
+ * on the fixed set of {@link SeededBoards}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    @Param({"1", "2", "3", "4"})
+    private long seed;
+
+    /**
+     * Whether the player moves are compiled into a board graph beforehand.
+     */
+    @Param({"false", "true"})
+    private boolean compiled;
+
+    private GameController gameController;
+    private int startingState;
+
+    private PlayerMove[] playerMoves;
+    private int moveIndex;
+
+    private PrintStream standardOutput;
+
+    @Setup
+    public void setUp() {
+        // The console output of the game controller is discarded, so it does not dominate the results.
+        standardOutput = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+
+        gameController = new GameController();
+        gameController.initializeGame();
+
+        startingState = SeededBoards.setUpBoard(gameController, seed);
+        if (compiled) {
+            gameController.compileBoardGraph();
+        }
+
+        MoveRules moveRules = gameController.getMoveRules();
+        Position startingPosition = new Position(moveRules.getX(startingState), moveRules.getY(startingState));
+
+        playerMoves = new PlayerMove[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            playerMoves[direction.ordinal()] = new PlayerMove(startingPosition, direction, null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(standardOutput);
+    }
+
+    /**
+     * Attempts each direction in turn from the starting state of the board
+     * (both successful and rejected moves).
+     *
+     * @return
+     */
+    @Benchmark
+    public boolean attemptPlayerMove() {
+        SeededBoards.placePlayerPiece(gameController, startingState);
+
+        PlayerMove playerMove = playerMoves[moveIndex++ & 3];
+        gameController.attemptPlayerMove(playerMove);
+
+        return playerMove.isSuccessful();
+    }
+
+    @Benchmark
+    public boolean solvePuzzle(SolverState solverState) {
+        gameController.setPuzzleSolver(solverState.puzzleSolver);
+        SeededBoards.placePlayerPiece(gameController, startingState);
+
+        return gameController.solvePuzzle(false, false);
+    }
+
+    @State(Scope.Thread)
+    public static class SolverState {
+
+        @Param({"astar", "bfs"})
+        private String solver;
+
+        private PuzzleSolver puzzleSolver;
+
+        @Setup
+        public void setUp() {
+            puzzleSolver = solver.equals("bfs") ? new BreadthFirstSolver() : new AStarSolver();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package task.interview.hedgescape.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import task.interview.hedgescape.gameplay.model.PieceShape;
+import task.interview.hedgescape.gameplay.model.SparsePieceShape;
+import task.interview.hedgescape.positioning.Axis;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.model.PieceRotation;
+import task.interview.hedgescape.util.MatrixUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the player piece bounding box transformations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixUtilBenchmark {
+
+    private Cell[][][] pieceShape;
+
+    @Setup
+    public void setUp() {
+        pieceShape = SeededBoards.loadDefaultPieceShape();
+    }
+
+    /**
+     * The rotation is applied in place, so the benchmark keeps tumbling the same piece.
+     *
+     * @param rotationState
+     * @return
+     */
+    @Benchmark
+    public Cell[][][] rotate3DMatrix(RotationState rotationState) {
+        MatrixUtil.rotate3DMatrix(rotationState.pieceShape, rotationState.clockwiseRotation);
+        return rotationState.pieceShape;
+    }
+
+    /**
+     * The sparse counterpart of {@link #rotate3DMatrix(RotationState)}, which returns a new shape.
+     *
+     * @param rotationState
+     * @return
+     */
+    @Benchmark
+    public PieceShape rotateSparsePieceShape(RotationState rotationState) {
+        rotationState.sparsePieceShape = rotationState.sparsePieceShape.rotate(rotationState.clockwiseRotation);
+        return rotationState.sparsePieceShape;
+    }
+
+    @Benchmark
+    public Cell[][] getPieceShapeFootprint() {
+        return MatrixUtil.getPieceShapeFootprint(pieceShape);
+    }
+
+    @Benchmark
+    public Cell[][][] copy3DMatrix() {
+        return MatrixUtil.copy3DMatrix(pieceShape);
+    }
+
+    @State(Scope.Thread)
+    public static class RotationState {
+
+        @Param({"X", "Y"})
+        private Axis axis;
+
+        private Cell[][][] pieceShape;
+        private PieceShape sparsePieceShape;
+        private PieceRotation clockwiseRotation;
+
+        @Setup
+        public void setUp() {
+            pieceShape = SeededBoards.loadDefaultPieceShape();
+            sparsePieceShape = SparsePieceShape.fromBoundingBox(pieceShape);
+            clockwiseRotation = new PieceRotation(axis, true);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package task.interview.hedgescape.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.solver.AStarSolver;
+import task.interview.hedgescape.solver.PuzzleSolver;
+import task.interview.hedgescape.solver.SearchProblem;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generation of a single solvable puzzle on the default 7x7 game board
+ * with an increasing number of blocked cells - by rejection sampling (random scenarios
+ * until one of them is solvable) and by construction around a random path, verified by
+ * the A* search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleGenerationBenchmark {
+
+    @Param({"4", "12", "20"})
+    private int blockedCellCount;
+
+    private GameController gameController;
+    private final PuzzleSolver puzzleSolver = new AStarSolver();
+
+    @Setup
+    public void setUp() {
+        gameController = new GameController(new GameConfig(7, 7, 3, blockedCellCount));
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(1));
+    }
+
+    @Benchmark
+    public Puzzle rejectionSampling() {
+        Puzzle puzzle;
+        do {
+            puzzle = gameController.generateRandomPuzzle();
+        } while (!puzzle.isSolvable());
+
+        return puzzle;
+    }
+
+    @Benchmark
+    public Object construction() {
+        Puzzle puzzle = gameController.generateSolvablePuzzle();
+
+        return puzzleSolver.solve(new SearchProblem(gameController.getMoveRules(),
+                gameController.getWinningConditions(), gameController.getMoveRules().encodeState(
+                        puzzle.getStartingX(), puzzle.getStartingY(), puzzle.getStartingOrientation())));
+    }
+}
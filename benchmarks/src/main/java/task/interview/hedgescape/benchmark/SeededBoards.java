@@ -0,0 +1,69 @@
+package task.interview.hedgescape.benchmark;
+
+import com.google.gson.Gson;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.util.FileUtil;
+
+import java.util.Random;
+
+/**
+ * A fixed set of reproducible, solvable game boards for the benchmarks.
+ * Each board is defined by a seed, from which the blocked cells and the starting
+ * state of the player piece are drawn with a {@link Random} instance.
+ */
+public class SeededBoards {
+
+    public static final String DEFAULT_PLAYER_PIECE_FILE = "defaultPlayerPiece.json";
+
+    private static final int BLOCKED_CELLS_COUNT = 4;
+
+    public static Cell[][][] loadDefaultPieceShape() {
+        return new Gson().fromJson(FileUtil.readResourceAsString(DEFAULT_PLAYER_PIECE_FILE), Cell[][][].class);
+    }
+
+    /**
+     * Sets up a solvable game board on the given game controller, determined by the seed.
+     * The game controller should be initialized beforehand (see {@link GameController#initializeGame()}).
+     *
+     * @param gameController
+     * @param seed
+     * @return The (packed) starting state of the player piece (see {@link MoveRules}).
+     */
+    public static int setUpBoard(GameController gameController, long seed) {
+        Random random = new Random(seed);
+        MoveRules moveRules = gameController.getMoveRules();
+
+        while (true) {
+            gameController.initializeGameBoard();
+
+            int blockedCells = 0;
+            while (blockedCells < BLOCKED_CELLS_COUNT) {
+                int x = random.nextInt(moveRules.getGameBoard().getHeight());
+                int y = random.nextInt(moveRules.getGameBoard().getWidth());
+
+                if (!moveRules.getGameBoard().isSet(x, y)) {
+                    gameController.blockCell(x, y);
+                    blockedCells++;
+                }
+            }
+
+            int startingState = random.nextInt(moveRules.getStateCount());
+            if (!moveRules.isValidState(startingState)) {
+                continue;
+            }
+
+            placePlayerPiece(gameController, startingState);
+            if (gameController.solvePuzzle(false, false) && gameController.getSolution().getMoveCount() > 0) {
+                placePlayerPiece(gameController, startingState);
+                return startingState;
+            }
+        }
+    }
+
+    public static void placePlayerPiece(GameController gameController, int state) {
+        MoveRules moveRules = gameController.getMoveRules();
+        gameController.placePlayerPiece(moveRules.getX(state), moveRules.getY(state), moveRules.getOrientation(state));
+    }
+}
@@ -1,12 +1,179 @@
 package task.interview.hedgescape;
 
+import task.interview.hedgescape.corpus.BinaryPuzzleWriter;
+import task.interview.hedgescape.corpus.FixedWidthPuzzleWriter;
+import task.interview.hedgescape.corpus.JsonLinesPuzzleWriter;
+import task.interview.hedgescape.corpus.PuzzleRecordWriter;
+import task.interview.hedgescape.corpus.SeedPuzzleWriter;
+import task.interview.hedgescape.gameplay.GameConfig;
 import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.PieceLibrary;
+import task.interview.hedgescape.gameplay.model.PieceShapeFormat;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.generator.BatchPuzzleGenerator;
+import task.interview.hedgescape.generator.ParallelPuzzleGenerator;
+import task.interview.hedgescape.generator.PuzzleSpaceEnumerator;
+import task.interview.hedgescape.generator.PuzzleSpaceStatistics;
+import task.interview.hedgescape.metrics.MetricsReporter;
+import task.interview.hedgescape.metrics.SolverMetrics;
+import task.interview.hedgescape.util.UserInterface;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
-    private static GameController gameController = new GameController();
+    private static final int BATCH_QUEUE_CAPACITY = 1024;
+
+    /**
+     * The number of winning states each fixed width puzzle record has room for.
+     */
+    private static final int MAPPED_GOAL_SLOTS = 4;
+
+    /**
+     * How often to print the solver metrics while generating a puzzle corpus.
+     */
+    private static final int METRICS_REPORT_PERIOD_SECONDS = 10;
+
+    /**
+     * The game board and player piece sizes can be changed via system properties
+     * (see {@link GameConfig#fromSystemProperties()}).
+     */
+    private static GameConfig gameConfig = GameConfig.fromSystemProperties();
 
+    private static GameController gameController = new GameController(gameConfig);
+
+    /**
+     * Usage:
+     * (no arguments)              - generate and solve random puzzles until a solvable one is found.
+     * --parallel [count] [threads] - generate the given number of solvable puzzles on multiple threads.
+     * --batch count file [json|binary|seeds|mapped] [seed] - generate a corpus of solvable puzzles and write it to
+     * a file (optionally deriving all puzzles from the given seed).
+     * --enumerate [index file] - enumerate all blocked cell layouts and print their statistics
+     * (optionally writing the index of the solvable layouts to a file).
+     * --convert-piece json file - convert a JSON player piece to the binary format loaded at runtime
+     * (see {@link PieceShapeFormat}).
+     *
+     * @param args
+     */
     public static void main(String[] args) {
-        gameController.startNewGame(true, true);
+        SolverMetrics.registerMBean();
+
+        if (args.length > 0 && args[0].equals("--parallel")) {
+            int puzzleCount = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+            int workerCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+            generatePuzzlesInParallel(puzzleCount, workerCount);
+        } else if (args.length > 2 && args[0].equals("--batch")) {
+            String format = args.length > 3 ? args[3] : "json";
+            SplittableRandom random = args.length > 4
+                    ? new SplittableRandom(Long.parseLong(args[4])) : new SplittableRandom();
+
+            generatePuzzleCorpus(Long.parseLong(args[1]), args[2], format, random);
+        } else if (args.length > 0 && args[0].equals("--enumerate")) {
+            enumeratePuzzleSpace(args.length > 1 ? args[1] : null);
+        } else if (args.length > 2 && args[0].equals("--convert-piece")) {
+            convertPieceShape(args[1], args[2]);
+        } else {
+            gameController.startNewGame(true, true);
+        }
+    }
+
+    private static void generatePuzzlesInParallel(int puzzleCount, int workerCount) {
+        ParallelPuzzleGenerator puzzleGenerator = new ParallelPuzzleGenerator(gameConfig, workerCount);
+        long totalTime = System.currentTimeMillis();
+
+        List<Puzzle> puzzles = puzzleGenerator.generateSolvablePuzzles(puzzleCount).join();
+        puzzleGenerator.shutdown();
+
+        totalTime = System.currentTimeMillis() - totalTime;
+
+        for (Puzzle puzzle : puzzles) {
+            UserInterface.print2DMatrix(puzzle.toCellMatrix());
+            UserInterface.printSolution(puzzle.getSolution());
+            System.out.println();
+        }
+
+        System.out.println("PUZZLES GENERATED: " + puzzles.size());
+        System.out.println("SCENARIOS EVALUATED: " + puzzleGenerator.getScenariosEvaluated());
+        System.out.println("TOTAL TIME: " + ((double) totalTime / 1000) + " seconds");
+        System.out.println(SolverMetrics.getInstance().snapshot());
+    }
+
+    private static void generatePuzzleCorpus(long puzzleCount, String fileName, String format,
+                                             SplittableRandom random) {
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        BatchPuzzleGenerator puzzleGenerator = new BatchPuzzleGenerator(gameConfig, Math.max(1, threadCount / 4),
+                Math.max(1, threadCount - threadCount / 4), BATCH_QUEUE_CAPACITY, random);
+        long totalTime = System.currentTimeMillis();
+
+        try (MetricsReporter ignored = new MetricsReporter(SolverMetrics.getInstance(),
+                METRICS_REPORT_PERIOD_SECONDS, TimeUnit.SECONDS, System.out::println);
+             OutputStream outputStream = new FileOutputStream(fileName);
+             PuzzleRecordWriter recordWriter = createRecordWriter(format, outputStream)) {
+            long puzzlesWritten = puzzleGenerator.generate(puzzleCount, recordWriter);
+
+            totalTime = System.currentTimeMillis() - totalTime;
+            System.out.println("PUZZLES WRITTEN: " + puzzlesWritten);
+            System.out.println("SCENARIOS EVALUATED: " + puzzleGenerator.getScenariosEvaluated());
+            System.out.println("DUPLICATES SKIPPED: " + puzzleGenerator.getDuplicatesSkipped());
+            System.out.println("TOTAL TIME: " + ((double) totalTime / 1000) + " seconds");
+            System.out.println(SolverMetrics.getInstance().snapshot());
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void enumeratePuzzleSpace(String indexFileName) {
+        PuzzleSpaceEnumerator puzzleSpaceEnumerator = new PuzzleSpaceEnumerator(gameConfig, ForkJoinPool.commonPool());
+        long totalTime = System.currentTimeMillis();
+
+        PuzzleSpaceStatistics statistics = puzzleSpaceEnumerator.enumerate(indexFileName != null);
+
+        totalTime = System.currentTimeMillis() - totalTime;
+        System.out.println(statistics);
+        System.out.println("TOTAL TIME: " + ((double) totalTime / 1000) + " seconds");
+
+        if (indexFileName != null) {
+            try (OutputStream outputStream = new FileOutputStream(indexFileName)) {
+                statistics.getSolvableLayoutIndex().write(outputStream);
+                System.out.println("SOLVABLE LAYOUTS INDEXED: " + statistics.getSolvableLayoutIndex().getEntryCount());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void convertPieceShape(String jsonFileName, String fileName) {
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(fileName))) {
+            String pieceShapeJSON = new String(Files.readAllBytes(Paths.get(jsonFileName)), StandardCharsets.UTF_8);
+            PieceShapeFormat.write(PieceLibrary.parseJson(pieceShapeJSON).toBoundingBox(), outputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static PuzzleRecordWriter createRecordWriter(String format, OutputStream outputStream) {
+        switch (format) {
+            case "binary":
+                return new BinaryPuzzleWriter(outputStream);
+            case "seeds":
+                return new SeedPuzzleWriter(outputStream);
+            case "mapped":
+                gameController.initializeGame();
+                return new FixedWidthPuzzleWriter(outputStream, gameController.getWinningConditions(),
+                        MAPPED_GOAL_SLOTS);
+            default:
+                return new JsonLinesPuzzleWriter(outputStream);
+        }
     }
-}
\ No newline at end of file
+}
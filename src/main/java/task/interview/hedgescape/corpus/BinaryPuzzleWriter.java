@@ -0,0 +1,78 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes puzzles in a compact binary format.
+ * <p>
+ * The stream starts with a header:
+ * [int magic number] [int format version] [int game board height] [int game board width]
+ * <p>
+ * followed by a variable length record per puzzle:
+ * [int blocked cell count] [int cell index (x * width + y)]...
+ * [int starting x] [int starting y] [byte starting orientation]
+ * [int solution move count, -1 if unsolved] [byte 4 moves (2 bits each)]...
+ */
+public class BinaryPuzzleWriter implements PuzzleRecordWriter {
+
+    public static final int MAGIC_NUMBER = 0x48535A53;
+    public static final int FORMAT_VERSION = 1;
+
+    private final DataOutputStream outputStream;
+    private boolean headerWritten = false;
+
+    public BinaryPuzzleWriter(OutputStream outputStream) {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        BitBoard gameBoard = puzzle.getGameBoard();
+
+        if (!headerWritten) {
+            outputStream.writeInt(MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeInt(gameBoard.getHeight());
+            outputStream.writeInt(gameBoard.getWidth());
+            headerWritten = true;
+        }
+
+        outputStream.writeInt(gameBoard.getSetCount());
+        for (int index = gameBoard.nextSetIndex(0); index >= 0; index = gameBoard.nextSetIndex(index + 1)) {
+            outputStream.writeInt(index);
+        }
+
+        outputStream.writeInt(puzzle.getStartingX());
+        outputStream.writeInt(puzzle.getStartingY());
+        outputStream.writeByte(puzzle.getStartingOrientation());
+
+        SolutionPath solution = puzzle.getSolution();
+        if (solution == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+
+        outputStream.writeInt(solution.getMoveCount());
+
+        int packedMoves = 0;
+        for (int move = 0; move < solution.getMoveCount(); move++) {
+            packedMoves |= solution.getDirection(move).ordinal() << ((move & 3) * 2);
+            if ((move & 3) == 3 || move == solution.getMoveCount() - 1) {
+                outputStream.writeByte(packedMoves);
+                packedMoves = 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+}
@@ -0,0 +1,115 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes puzzles in a binary format with records of the same size, so any puzzle
+ * can be located by its index alone (see {@link MappedPuzzleCorpus}).
+ * <p>
+ * The stream starts with a {@link #HEADER_SIZE} bytes header:
+ * [int magic number] [int format version] [int game board height] [int game board width]
+ * [int orientation count] [int goal slot count] [int record size] [int reserved]
+ * <p>
+ * followed by a record per puzzle:
+ * [long game board word]... [int starting state] [int goal state, -1 if unused]...
+ * [int solution move count, -1 if unsolved] [padding to a multiple of 8 bytes]
+ * <p>
+ * The game board words are the ones of the {@link BitBoard} and the states are
+ * packed as in {@link MoveRules}. The goal states are the valid winning states of
+ * each puzzle, in ascending order.
+ * <p>
+ * PLEASE NOTE:
+ * Unlike {@link BinaryPuzzleWriter}, the solution moves are not kept, as they would
+ * make the records as large as the longest solution. They can be restored by solving
+ * the puzzle again, which is cheap for puzzles known to be solvable.
+ */
+public class FixedWidthPuzzleWriter implements PuzzleRecordWriter {
+
+    public static final int MAGIC_NUMBER = 0x4853464C;
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+
+    private final DataOutputStream outputStream;
+    private final WinningConditions winningConditions;
+    private final int goalSlotCount;
+
+    private boolean headerWritten = false;
+    private int recordPadding;
+
+    /**
+     * @param outputStream
+     * @param winningConditions The winning conditions the puzzles were generated with.
+     * @param goalSlotCount     The maximum number of winning states per puzzle.
+     */
+    public FixedWidthPuzzleWriter(OutputStream outputStream, WinningConditions winningConditions, int goalSlotCount) {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        this.winningConditions = winningConditions;
+        this.goalSlotCount = goalSlotCount;
+    }
+
+    /**
+     * @param wordCount
+     * @param goalSlotCount
+     * @return The size of a single record in bytes.
+     */
+    public static int getRecordSize(int wordCount, int goalSlotCount) {
+        return (wordCount * Long.BYTES + (goalSlotCount + 2) * Integer.BYTES + 7) & ~7;
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        BitBoard gameBoard = puzzle.getGameBoard();
+        int orientationCount = puzzle.getOrientationTable().getOrientationCount();
+
+        if (!headerWritten) {
+            int recordSize = getRecordSize(gameBoard.getWordCount(), goalSlotCount);
+            recordPadding = recordSize - gameBoard.getWordCount() * Long.BYTES - (goalSlotCount + 2) * Integer.BYTES;
+
+            outputStream.writeInt(MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeInt(gameBoard.getHeight());
+            outputStream.writeInt(gameBoard.getWidth());
+            outputStream.writeInt(orientationCount);
+            outputStream.writeInt(goalSlotCount);
+            outputStream.writeInt(recordSize);
+            outputStream.writeInt(0);
+            headerWritten = true;
+        }
+
+        int[] winningStates = winningConditions.findWinningStates(gameBoard, puzzle.getOrientationTable());
+        if (winningStates.length > goalSlotCount) {
+            throw new IllegalArgumentException("The puzzle has more than " + goalSlotCount
+                    + " winning states: " + winningStates.length);
+        }
+
+        for (int word = 0; word < gameBoard.getWordCount(); word++) {
+            outputStream.writeLong(gameBoard.getWord(word));
+        }
+
+        outputStream.writeInt((puzzle.getStartingX() * gameBoard.getWidth() + puzzle.getStartingY())
+                * orientationCount + puzzle.getStartingOrientation());
+
+        for (int goal = 0; goal < goalSlotCount; goal++) {
+            outputStream.writeInt(goal < winningStates.length ? winningStates[goal] : -1);
+        }
+
+        outputStream.writeInt(puzzle.isSolvable() ? puzzle.getSolution().getMoveCount() : -1);
+
+        for (int i = 0; i < recordPadding; i++) {
+            outputStream.writeByte(0);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+}
@@ -0,0 +1,78 @@
+package task.interview.hedgescape.corpus;
+
+import com.google.gson.stream.JsonWriter;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes each puzzle as a single line JSON object (JSON Lines format):
+ * <p>
+ * {"blocked":[[x,y],...],"start":{"x":0,"y":0,"orientation":0},"moves":"ENWS","length":4,"seed":1}
+ * <p>
+ * The moves are the {@link task.interview.hedgescape.positioning.Direction}
+ * names of the solution, concatenated.
+ */
+public class JsonLinesPuzzleWriter implements PuzzleRecordWriter {
+
+    private final Writer writer;
+
+    public JsonLinesPuzzleWriter(OutputStream outputStream) {
+        writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        // The JSON writer is not closed, as that would close the underlying stream.
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.beginObject();
+
+        BitBoard gameBoard = puzzle.getGameBoard();
+        jsonWriter.name("blocked").beginArray();
+        for (int index = gameBoard.nextSetIndex(0); index >= 0; index = gameBoard.nextSetIndex(index + 1)) {
+            jsonWriter.beginArray()
+                    .value(index / gameBoard.getWidth())
+                    .value(index % gameBoard.getWidth())
+                    .endArray();
+        }
+        jsonWriter.endArray();
+
+        jsonWriter.name("start").beginObject()
+                .name("x").value(puzzle.getStartingX())
+                .name("y").value(puzzle.getStartingY())
+                .name("orientation").value(puzzle.getStartingOrientation())
+                .endObject();
+
+        SolutionPath solution = puzzle.getSolution();
+        if (solution != null) {
+            StringBuilder moves = new StringBuilder(solution.getMoveCount());
+            for (int move = 0; move < solution.getMoveCount(); move++) {
+                moves.append(solution.getDirection(move).name());
+            }
+
+            jsonWriter.name("moves").value(moves.toString());
+            jsonWriter.name("length").value(solution.getMoveCount());
+        }
+
+        if (puzzle.getSeed() != null) {
+            jsonWriter.name("seed").value(puzzle.getSeed());
+        }
+
+        jsonWriter.endObject();
+        jsonWriter.flush();
+
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,256 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only puzzle corpus written by the {@link FixedWidthPuzzleWriter}, memory-mapped
+ * instead of read, so opening it takes the same time regardless of its size and the
+ * puzzles are only paged in when they are accessed.
+ * <p>
+ * The puzzles are accessed by index through {@link PuzzleView}s - flyweights pointing
+ * at the record in the mapped file, which are not copied or deserialized. A view can be
+ * moved to another puzzle, so going through any number of puzzles allocates nothing.
+ * <p>
+ * PLEASE NOTE:
+ * A single mapping is limited to 2GB, so larger corpora are mapped in segments of
+ * whole records. The corpus can be read from multiple threads, as long as each one
+ * uses its own views.
+ * <p>
+ * The records keep only the length of each solution, not its moves (see
+ * {@link FixedWidthPuzzleWriter}), so a puzzle read back is not the whole puzzle
+ * that was written - the moves have to be restored by solving it again.
+ */
+public class MappedPuzzleCorpus implements Closeable {
+
+    private final FileChannel fileChannel;
+
+    private final int boardHeight;
+    private final int boardWidth;
+    private final int orientationCount;
+    private final int goalSlotCount;
+    private final int recordSize;
+    private final int wordCount;
+
+    private final long puzzleCount;
+    private final int puzzlesPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private MappedPuzzleCorpus(FileChannel fileChannel, ByteBuffer header) throws IOException {
+        this.fileChannel = fileChannel;
+
+        if (header.getInt() != FixedWidthPuzzleWriter.MAGIC_NUMBER) {
+            throw new IOException("Not a fixed width puzzle corpus.");
+        }
+        if (header.getInt() != FixedWidthPuzzleWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported fixed width puzzle corpus version.");
+        }
+
+        boardHeight = header.getInt();
+        boardWidth = header.getInt();
+        orientationCount = header.getInt();
+        goalSlotCount = header.getInt();
+        recordSize = header.getInt();
+        wordCount = (boardHeight * boardWidth + 63) >>> 6;
+
+        if (recordSize != FixedWidthPuzzleWriter.getRecordSize(wordCount, goalSlotCount)) {
+            throw new IOException("Invalid puzzle record size: " + recordSize);
+        }
+
+        puzzleCount = (fileChannel.size() - FixedWidthPuzzleWriter.HEADER_SIZE) / recordSize;
+        puzzlesPerSegment = Integer.MAX_VALUE / recordSize;
+
+        segments = new MappedByteBuffer[(int) ((puzzleCount + puzzlesPerSegment - 1) / puzzlesPerSegment)];
+        for (int segment = 0; segment < segments.length; segment++) {
+            long firstPuzzle = (long) segment * puzzlesPerSegment;
+            long segmentPuzzles = Math.min(puzzlesPerSegment, puzzleCount - firstPuzzle);
+
+            segments[segment] = fileChannel.map(FileChannel.MapMode.READ_ONLY,
+                    FixedWidthPuzzleWriter.HEADER_SIZE + firstPuzzle * recordSize, segmentPuzzles * recordSize);
+        }
+    }
+
+    /**
+     * Maps the given corpus file. Only the header is actually read.
+     *
+     * @param path
+     * @return
+     * @throws IOException If the file cannot be opened or is not a fixed width puzzle corpus.
+     */
+    public static MappedPuzzleCorpus open(Path path) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FixedWidthPuzzleWriter.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (fileChannel.read(header, header.position()) < 0) {
+                    throw new IOException("Incomplete puzzle corpus header.");
+                }
+            }
+            header.flip();
+
+            return new MappedPuzzleCorpus(fileChannel, header);
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    public long getPuzzleCount() {
+        return puzzleCount;
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getOrientationCount() {
+        return orientationCount;
+    }
+
+    public int getGoalSlotCount() {
+        return goalSlotCount;
+    }
+
+    /**
+     * @return A new view, not pointing at any puzzle yet.
+     */
+    public PuzzleView newView() {
+        return new PuzzleView(this);
+    }
+
+    /**
+     * Points the given view at the puzzle with the given index.
+     *
+     * @param index
+     * @param view  A view of this corpus (see {@link #newView()}).
+     * @return The same view.
+     */
+    public PuzzleView view(long index, PuzzleView view) {
+        if (index < 0 || index >= puzzleCount) {
+            throw new IndexOutOfBoundsException("Puzzle index: " + index + ", puzzle count: " + puzzleCount);
+        }
+
+        view.index = index;
+        view.buffer = segments[(int) (index / puzzlesPerSegment)];
+        view.offset = (int) (index % puzzlesPerSegment) * recordSize;
+
+        return view;
+    }
+
+    /**
+     * The mapped segments stay valid until they are garbage collected.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    /**
+     * A view of a single puzzle record of the corpus (see {@link FixedWidthPuzzleWriter}).
+     * All values are read directly from the mapped file, on each call.
+     */
+    public static class PuzzleView {
+
+        private final MappedPuzzleCorpus corpus;
+
+        private long index = -1;
+        private ByteBuffer buffer;
+        private int offset;
+
+        private PuzzleView(MappedPuzzleCorpus corpus) {
+            this.corpus = corpus;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * @param word
+         * @return The given word of the blocked cells (see {@link BitBoard#getWord(int)}).
+         */
+        public long getBoardWord(int word) {
+            return buffer.getLong(offset + word * Long.BYTES);
+        }
+
+        public boolean isBlocked(int x, int y) {
+            int index = x * corpus.boardWidth + y;
+            return (getBoardWord(index >>> 6) & (1L << index)) != 0;
+        }
+
+        /**
+         * Copies the blocked cells to the given game board of the same size.
+         *
+         * @param gameBoard
+         */
+        public void copyGameBoard(BitBoard gameBoard) {
+            for (int word = 0; word < corpus.wordCount; word++) {
+                gameBoard.setWord(word, getBoardWord(word));
+            }
+        }
+
+        /**
+         * @return The (packed) starting state (see {@link MoveRules}).
+         */
+        public int getStartingState() {
+            return buffer.getInt(offset + corpus.wordCount * Long.BYTES);
+        }
+
+        public int getStartingX() {
+            return getStartingState() / corpus.orientationCount / corpus.boardWidth;
+        }
+
+        public int getStartingY() {
+            return getStartingState() / corpus.orientationCount % corpus.boardWidth;
+        }
+
+        public int getStartingOrientation() {
+            return getStartingState() % corpus.orientationCount;
+        }
+
+        public int getGoalCount() {
+            int goalCount = 0;
+            while (goalCount < corpus.goalSlotCount && getGoalState(goalCount) >= 0) {
+                goalCount++;
+            }
+
+            return goalCount;
+        }
+
+        /**
+         * @param goal
+         * @return The (packed) winning state in the given slot or '-1' if the slot is not used.
+         */
+        public int getGoalState(int goal) {
+            return buffer.getInt(offset + corpus.wordCount * Long.BYTES + (goal + 1) * Integer.BYTES);
+        }
+
+        /**
+         * The moves of the solution are not kept in the corpus.
+         *
+         * @return The number of moves of the shortest solution or '-1' if the puzzle is not solvable.
+         */
+        public int getSolutionLength() {
+            return buffer.getInt(offset + corpus.wordCount * Long.BYTES + (corpus.goalSlotCount + 1) * Integer.BYTES);
+        }
+
+        public boolean isSolvable() {
+            return getSolutionLength() >= 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Common interface for streaming generated puzzles to a puzzle corpus file,
+ * one record per puzzle (blocked cells, starting state and solution).
+ */
+public interface PuzzleRecordWriter extends Closeable {
+
+    void write(Puzzle puzzle) throws IOException;
+}
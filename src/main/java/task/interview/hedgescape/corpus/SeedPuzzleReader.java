@@ -0,0 +1,88 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the puzzle seeds written by the {@link SeedPuzzleWriter} and generates
+ * each puzzle again (with its solution) only when it is read.
+ */
+public class SeedPuzzleReader implements Closeable {
+
+    private final DataInputStream inputStream;
+    private final GameController gameController;
+
+    private boolean headerRead = false;
+
+    /**
+     * @param inputStream
+     * @param gameController Should be initialized with the same player piece and winning
+     *                       conditions as the one the puzzles were generated with
+     *                       (see {@link GameController#initializeGame()}).
+     */
+    public SeedPuzzleReader(InputStream inputStream, GameController gameController) {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        this.gameController = gameController;
+    }
+
+    /**
+     * @return The next puzzle or 'null' if there are no more puzzles.
+     * @throws IOException If the stream is not a seed corpus of the game controller's game board.
+     */
+    public Puzzle read() throws IOException {
+        if (!headerRead) {
+            if (!readHeader()) {
+                return null;
+            }
+            headerRead = true;
+        }
+
+        long seed;
+        try {
+            seed = inputStream.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        return gameController.generateSolvablePuzzle(seed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        int magicNumber;
+        try {
+            magicNumber = inputStream.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+
+        if (magicNumber != SeedPuzzleWriter.MAGIC_NUMBER) {
+            throw new IOException("Not a puzzle seed corpus.");
+        }
+        if (inputStream.readInt() != SeedPuzzleWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported puzzle seed corpus version - the seeds of older corpora"
+                    + " generate different puzzles and cannot be read anymore.");
+        }
+
+        GameConfig gameConfig = gameController.getGameConfig();
+        if (inputStream.readInt() != gameConfig.getBoardHeight()
+                || inputStream.readInt() != gameConfig.getBoardWidth()
+                || inputStream.readInt() != gameConfig.getBlockedCellCount()) {
+            throw new IOException("The puzzle seeds were generated for a different game board.");
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package task.interview.hedgescape.corpus;
+
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes only the seeds of the puzzles (8 bytes per puzzle), which are enough to
+ * generate the same puzzles again on demand (see {@link SeedPuzzleReader}).
+ * <p>
+ * The seeds are the ones of the puzzles solvable by construction (see
+ * {@link task.interview.hedgescape.gameplay.GameController#generateSolvablePuzzle(long)}).
+ * Version 1 corpora held the seeds of random scenarios sampled differently, which
+ * generate other puzzles now, so they are rejected by the reader.
+ * <p>
+ * The stream starts with a header:
+ * [int magic number] [int format version] [int game board height] [int game board width]
+ * [int blocked cell count]
+ * <p>
+ * followed by a [long seed] per puzzle.
+ * <p>
+ * PLEASE NOTE:
+ * The puzzles can only be generated again with the same player piece and winning
+ * conditions, which are not part of the format.
+ */
+public class SeedPuzzleWriter implements PuzzleRecordWriter {
+
+    public static final int MAGIC_NUMBER = 0x48535344;
+    public static final int FORMAT_VERSION = 2;
+
+    private final DataOutputStream outputStream;
+    private boolean headerWritten = false;
+
+    public SeedPuzzleWriter(OutputStream outputStream) {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    @Override
+    public void write(Puzzle puzzle) throws IOException {
+        if (puzzle.getSeed() == null) {
+            throw new IllegalArgumentException("The puzzle was not generated from a seed.");
+        }
+
+        if (!headerWritten) {
+            BitBoard gameBoard = puzzle.getGameBoard();
+
+            outputStream.writeInt(MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeInt(gameBoard.getHeight());
+            outputStream.writeInt(gameBoard.getWidth());
+            outputStream.writeInt(gameBoard.getSetCount());
+            headerWritten = true;
+        }
+
+        outputStream.writeLong(puzzle.getSeed());
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+}
@@ -0,0 +1,111 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.positioning.Direction;
+
+/**
+ * The player moves of a game board, compiled into a compressed sparse row (CSR)
+ * graph of the (packed) game states (see {@link BoardGraphCompiler}).
+ * <p>
+ * The moves out of state 's' are the edges from index offsets[s] (inclusive) to
+ * offsets[s + 1] (exclusive), each one packed as: target state << 2 | direction ordinal.
+ * The moves into each state are kept in the same way (with the source states instead),
+ * so the graph can be traversed backwards as well.
+ * <p>
+ * PLEASE NOTE:
+ * The graph is a snapshot - it does not reflect any cells blocked on the game board
+ * after its compilation. It takes up to 8 integers per game state, so it is only
+ * worth compiling for game boards, which are solved many times.
+ */
+public class BoardGraph implements StateGraph {
+
+    private final int[] offsets;
+    private final int[] edges;
+
+    private final int[] precedingOffsets;
+    private final int[] precedingEdges;
+
+    /**
+     * The reason for each rejected move, packed as 2 bits per direction ('0' for
+     * possible moves, otherwise the negated result of {@link MoveRules#move}).
+     */
+    private final byte[] rejections;
+
+    BoardGraph(int[] offsets, int[] edges, int[] precedingOffsets, int[] precedingEdges, byte[] rejections) {
+        this.offsets = offsets;
+        this.edges = edges;
+        this.precedingOffsets = precedingOffsets;
+        this.precedingEdges = precedingEdges;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public int getStateCount() {
+        return rejections.length;
+    }
+
+    @Override
+    public int move(int state, Direction direction) {
+        for (int edge = offsets[state]; edge < offsets[state + 1]; edge++) {
+            if ((edges[edge] & 3) == direction.ordinal()) {
+                return edges[edge] >>> 2;
+            }
+        }
+
+        return -((rejections[state] >>> (direction.ordinal() * 2)) & 3);
+    }
+
+    @Override
+    public int precede(int state, Direction direction) {
+        for (int edge = precedingOffsets[state]; edge < precedingOffsets[state + 1]; edge++) {
+            if ((precedingEdges[edge] & 3) == direction.ordinal()) {
+                return precedingEdges[edge] >>> 2;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param state
+     * @return The index of the first move out of the given state.
+     */
+    public int getEdgeStart(int state) {
+        return offsets[state];
+    }
+
+    /**
+     * @param state
+     * @return The index after the last move out of the given state.
+     */
+    public int getEdgeEnd(int state) {
+        return offsets[state + 1];
+    }
+
+    /**
+     * @param edge
+     * @return The move packed as: target state << 2 | direction ordinal.
+     */
+    public int getEdge(int edge) {
+        return edges[edge];
+    }
+
+    public int getPrecedingEdgeStart(int state) {
+        return precedingOffsets[state];
+    }
+
+    public int getPrecedingEdgeEnd(int state) {
+        return precedingOffsets[state + 1];
+    }
+
+    /**
+     * @param edge
+     * @return The move packed as: source state << 2 | direction ordinal.
+     */
+    public int getPrecedingEdge(int edge) {
+        return precedingEdges[edge];
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+}
@@ -0,0 +1,80 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Compiles the player moves of the current game board into a {@link BoardGraph}.
+ * <p>
+ * Each move is calculated by the {@link MoveRules} exactly once, so the compilation
+ * costs about as much as a single exhaustive search of the game board. Every query
+ * solved on the same game board afterwards only walks the graph arrays.
+ * <p>
+ * PLEASE NOTE:
+ * Only the moves out of valid states are compiled, as the moves out of invalid ones
+ * are not defined (see {@link MoveRules#move(int, Direction)}).
+ */
+public class BoardGraphCompiler {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * All moves out of an invalid state are rejected with {@link MoveRules#NO_ROOM}
+     * (packed as 2 bits per direction, see {@link BoardGraph}).
+     */
+    private static final byte INVALID_STATE_REJECTIONS = 0b01010101;
+
+    /**
+     * @param moveRules
+     * @return The graph of all possible moves on the current game board.
+     */
+    public static BoardGraph compile(MoveRules moveRules) {
+        int stateCount = moveRules.getStateCount();
+
+        int[] offsets = new int[stateCount + 1];
+        int[] edges = new int[stateCount * DIRECTIONS.length];
+        byte[] rejections = new byte[stateCount];
+        int[] precedingOffsets = new int[stateCount + 1];
+        int edgeCount = 0;
+
+        for (int state = 0; state < stateCount; state++) {
+            offsets[state] = edgeCount;
+
+            // The moves are only defined for valid states (see MoveRules#move), so the invalid ones get no edges.
+            if (!moveRules.isValidState(state)) {
+                rejections[state] = INVALID_STATE_REJECTIONS;
+                continue;
+            }
+
+            for (Direction direction : DIRECTIONS) {
+                int nextState = moveRules.move(state, direction);
+
+                if (nextState < 0) {
+                    rejections[state] |= (byte) (-nextState << (direction.ordinal() * 2));
+                    continue;
+                }
+
+                edges[edgeCount++] = nextState << 2 | direction.ordinal();
+                precedingOffsets[nextState + 1]++;
+            }
+        }
+        offsets[stateCount] = edgeCount;
+
+        for (int state = 0; state < stateCount; state++) {
+            precedingOffsets[state + 1] += precedingOffsets[state];
+        }
+
+        int[] precedingEdges = new int[precedingOffsets[stateCount]];
+        int[] precedingEdgeCounts = Arrays.copyOf(precedingOffsets, stateCount);
+
+        for (int state = 0; state < stateCount; state++) {
+            for (int edge = offsets[state]; edge < offsets[state + 1]; edge++) {
+                int nextState = edges[edge] >>> 2;
+                precedingEdges[precedingEdgeCounts[nextState]++] = state << 2 | (edges[edge] & 3);
+            }
+        }
+
+        return new BoardGraph(offsets, Arrays.copyOf(edges, edgeCount), precedingOffsets, precedingEdges, rejections);
+    }
+}
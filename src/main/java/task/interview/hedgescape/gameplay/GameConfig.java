@@ -0,0 +1,105 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.solver.StateStorage;
+
+/**
+ * The size-related settings of a game, passed to the {@link GameController}
+ * (and the puzzle generators) at construction time.
+ * <p>
+ * The game board is a (not necessarily square) grid of up to
+ * {@link #MAXIMUM_BOARD_SIZE} x {@link #MAXIMUM_BOARD_SIZE} cells, while the player
+ * piece bounding box is a cubic matrix of up to {@link #MAXIMUM_PIECE_SIZE} cells per side.
+ * <p>
+ * PLEASE NOTE:
+ * The player piece should be at least 1/2 the size of the game board in order
+ * to be able to move across its grid (see {@link GameController}).
+ */
+public class GameConfig {
+
+    public static final int MAXIMUM_BOARD_SIZE = 1024;
+    public static final int MAXIMUM_PIECE_SIZE = 8;
+
+    /**
+     * The original game settings - a 7x7 game board with 4 blocked cells and a 3x3x3 player piece.
+     */
+    public static final GameConfig DEFAULT = new GameConfig(7, 7, 3, 4);
+
+    private final int boardHeight;
+    private final int boardWidth;
+    private final int pieceSize;
+    private final int blockedCellCount;
+    private final StateStorage stateStorage;
+
+    /**
+     * @param boardHeight      The number of game board rows (along the 'X' axis).
+     * @param boardWidth       The number of game board columns (along the 'Y' axis).
+     * @param pieceSize        The largest allowed side of the player piece bounding box.
+     * @param blockedCellCount The number of cells, which should be unavailable for the
+     *                         player piece to occupy at the start of each random game.
+     */
+    public GameConfig(int boardHeight, int boardWidth, int pieceSize, int blockedCellCount) {
+        this(boardHeight, boardWidth, pieceSize, blockedCellCount, StateStorage.HEAP);
+    }
+
+    /**
+     * @param boardHeight
+     * @param boardWidth
+     * @param pieceSize
+     * @param blockedCellCount
+     * @param stateStorage     Where the solvers and distance fields keep the bookkeeping of their searches.
+     */
+    public GameConfig(int boardHeight, int boardWidth, int pieceSize, int blockedCellCount,
+                      StateStorage stateStorage) {
+        if (boardHeight < 1 || boardHeight > MAXIMUM_BOARD_SIZE || boardWidth < 1 || boardWidth > MAXIMUM_BOARD_SIZE) {
+            throw new IllegalArgumentException("Invalid game board size: " + boardHeight + "x" + boardWidth);
+        }
+        if (pieceSize < 1 || pieceSize > MAXIMUM_PIECE_SIZE || pieceSize > Math.min(boardHeight, boardWidth)) {
+            throw new IllegalArgumentException("Invalid player piece size: " + pieceSize);
+        }
+        if (blockedCellCount < 0 || blockedCellCount >= boardHeight * boardWidth) {
+            throw new IllegalArgumentException("Invalid blocked cell count: " + blockedCellCount);
+        }
+
+        this.boardHeight = boardHeight;
+        this.boardWidth = boardWidth;
+        this.pieceSize = pieceSize;
+        this.blockedCellCount = blockedCellCount;
+        this.stateStorage = stateStorage;
+    }
+
+    /**
+     * Reads the settings from the "hedgescape.board.height", "hedgescape.board.width",
+     * "hedgescape.piece.size", "hedgescape.board.blocked" and "hedgescape.solver.storage"
+     * (heap, direct or mapped) system properties, falling back to the {@link #DEFAULT} values.
+     *
+     * @return
+     */
+    public static GameConfig fromSystemProperties() {
+        return new GameConfig(
+                Integer.getInteger("hedgescape.board.height", DEFAULT.boardHeight),
+                Integer.getInteger("hedgescape.board.width", DEFAULT.boardWidth),
+                Integer.getInteger("hedgescape.piece.size", DEFAULT.pieceSize),
+                Integer.getInteger("hedgescape.board.blocked", DEFAULT.blockedCellCount),
+                StateStorage.fromName(System.getProperty("hedgescape.solver.storage", DEFAULT.stateStorage.name())));
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getPieceSize() {
+        return pieceSize;
+    }
+
+    public int getBlockedCellCount() {
+        return blockedCellCount;
+    }
+
+    public StateStorage getStateStorage() {
+        return stateStorage;
+    }
+}
@@ -1,23 +1,29 @@
 package task.interview.hedgescape.gameplay;
 
-import com.google.gson.Gson;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.BoardView;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
 import task.interview.hedgescape.gameplay.model.PlayerPiece;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.gameplay.model.SparsePieceShape;
 import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.metrics.SolverMetrics;
 import task.interview.hedgescape.positioning.Axis;
 import task.interview.hedgescape.positioning.Cell;
 import task.interview.hedgescape.positioning.Direction;
 import task.interview.hedgescape.positioning.model.PieceRotation;
 import task.interview.hedgescape.positioning.model.PlayerMove;
 import task.interview.hedgescape.positioning.model.Position;
-import task.interview.hedgescape.util.FileUtil;
-import task.interview.hedgescape.util.MatrixUtil;
+import task.interview.hedgescape.solver.AStarSolver;
+import task.interview.hedgescape.solver.DistanceField;
+import task.interview.hedgescape.solver.PuzzleSolver;
+import task.interview.hedgescape.solver.SearchProblem;
+import task.interview.hedgescape.solver.SolutionCache;
 import task.interview.hedgescape.util.UserInterface;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
 
 /**
  * This class encapsulates all gameplay-related behaviors.
@@ -25,15 +31,10 @@ import java.util.concurrent.ThreadLocalRandom;
 public class GameController {
 
     /**
-     * These constants define the game board and player piece sizes.
-     * The game board is a square matrix (implemented as a 2D array)
+     * The game board and player piece sizes are defined by the {@link GameConfig}.
+     * The game board is a rectangular grid (implemented as a {@link BitBoard})
      * and the player piece is a cubic matrix (implemented as a 3D array).
      * <p>
-     * PLEASE NOTE:
-     * Although these values can be modified, the player piece should
-     * be at least 1/2 the size of the game board in order to be able
-     * to move across its grid.
-     * <p>
      * Only one side (plane) of the 3-dimensional player piece is in
      * contact with the game board at any given time and the player moves
      * are performed by "tumbling" the piece in one of the 4 cardinal
@@ -42,19 +43,13 @@ public class GameController {
      * The tumbling movement is implemented as 90º matrix rotations along
      * the 'X' and 'Y' axes.
      */
-    private static final int GAME_BOARD_SIZE = 7;
-    private static final int PLAYER_PIECE_SIZE = 3;
-
-    /**
-     * A constant specifying the number of cells that should be unavailable
-     * for the player piece to occupy, at the start of each game.
-     */
-    private static final int BLOCKED_CELLS_COUNT = 4;
+    private final GameConfig gameConfig;
 
     /**
      * The default shape of the player piece is kept in the application resources
      * as a JSON file (a serialized version of the player piece bounding box
-     * containing {@link Cell.FREE} and {@link Cell.PLAYER} values).
+     * containing {@link Cell.FREE} and {@link Cell.PLAYER} values), converted
+     * to the compact binary format loaded at runtime (see {@link PieceLibrary}).
      * <p>
      * Due to the requirements for the "tumbling" movement and as per the laws of
      * classical mechanics (and original game rules), this shape should describe
@@ -62,11 +57,10 @@ public class GameController {
      * connected either directly or indirectly.
      * <p>
      * PLEASE NOTE:
-     * A more optimal approach to the serialization would be to use the {@link Cell}
-     * enumeration values' ordinals instead of their names, but that would require
-     * custom parsing rules.
+     * The binary file should be converted again after each change of the JSON one
+     * (see {@link task.interview.hedgescape.Main}).
      */
-    private static final String DEFAULT_PLAYER_PIECE_FILE = "defaultPlayerPiece.json";
+    private static final String DEFAULT_PLAYER_PIECE_FILE = "defaultPlayerPiece.piece";
 
     /**
      * The amount of times to tumble the player piece before placing it on the game
@@ -74,6 +68,18 @@ public class GameController {
      */
     private static final int RANDOM_TUMBLES = 16;
 
+    /**
+     * The amount of random game boards to try when looking for a puzzle with
+     * a specific solution length, before giving up.
+     */
+    private static final int MAXIMUM_BOARD_ATTEMPTS = 1024;
+
+    /**
+     * The maximum number of moves of the random path, around which solvable
+     * scenarios are constructed (see {@link #generateSolvablePuzzle(long)}).
+     */
+    private static final int MAXIMUM_PATH_LENGTH = 24;
+
     /**
      * To beat the game, it is required that the player piece tumbles to
      * a specific position and orientation on the game board.
@@ -87,47 +93,120 @@ public class GameController {
     private PlayerPiece playerPiece;
 
     /**
-     * This array represents the game board grid.
-     * The board grid can contain {@link Cell.FREE}, {@link Cell.BLOCKED}
-     * <p>
-     * or {@link Cell.PLAYER} values.
+     * This bitboard represents the blocked cells of the game board grid.
+     * The player piece is not part of it, its footprint is only overlaid
+     * on the {@link Cell} matrix view of the board used for rendering.
+     */
+    private final BitBoard gameBoard;
+
+    /**
+     * The {@link Cell} matrix view of the game board used for rendering,
+     * updated incrementally as the player piece moves.
+     */
+    private final BoardView boardView;
+
+    /**
+     * The player move rules for the game board and the current player piece shape.
+     */
+    private MoveRules moveRules;
+
+    /**
+     * The player moves compiled for the current game board (see {@link #compileBoardGraph()}).
+     * Discarded each time the game board changes.
+     */
+    private BoardGraph boardGraph;
+
+    /**
+     * The path-finding strategy used for solving puzzles - the A* search by default,
+     * with its bookkeeping in the configured storage (see {@link GameConfig#getStateStorage()}).
      */
-    private Cell[][] gameBoard = new Cell[GAME_BOARD_SIZE][GAME_BOARD_SIZE];
+    private PuzzleSolver puzzleSolver;
+
+    /**
+     * An optional cache of the solutions found (possibly shared with other game controllers).
+     */
+    private SolutionCache solutionCache;
+
+    /**
+     * The solution found by the last {@link #solvePuzzle(boolean, boolean)} call.
+     */
+    private SolutionPath solution;
+
+    /**
+     * The number of moves required to win the game from every game state
+     * of the current game board (only available for random scenarios).
+     */
+    private DistanceField distanceField;
+
+    /**
+     * The last calculated distance field, kept after the game board changes,
+     * so its buffers can be reused for the next one.
+     */
+    private DistanceField reusableDistanceField;
+
+    /**
+     * The source of the seeds of the random game scenarios. Each scenario is generated
+     * from its own seed (see {@link #generateRandomScenario(long)}), so it can be
+     * generated again from the seed alone.
+     */
+    private SplittableRandom random = new SplittableRandom();
+
+    public GameController() {
+        this(GameConfig.DEFAULT);
+    }
+
+    public GameController(GameConfig gameConfig) {
+        this.gameConfig = gameConfig;
+        puzzleSolver = new AStarSolver(gameConfig.getStateStorage()::createStateStore);
+
+        gameBoard = new BitBoard(gameConfig.getBoardHeight(), gameConfig.getBoardWidth());
+        boardView = new BoardView(gameBoard);
+    }
 
     /**
      * Entry point for every new game.
      *
      * @param random   If random generation is selected, the blocked cells and
      *                 player piece will be placed randomly on the game board.
-     * @param solvable If set to 'true', new blocked cells / player piece placements
-     *                 will be made until a solvable puzzle is generated.
+     * @param solvable If set to 'true', the blocked cells are placed around a random
+     *                 path of the player piece, so the puzzle is always solvable
+     *                 (see {@link #generateSolvablePuzzle(long)}).
      */
     public void startNewGame(boolean random, boolean solvable) {
-        initializePlayerPiece(FileUtil.readResourceAsString(DEFAULT_PLAYER_PIECE_FILE));
-        setWinningConditions(getDefaultWinningConditions());
+        initializeGame();
 
         if (random) {
             int scenariosEvaluated = 0;
             long totalTime = System.currentTimeMillis();
             long solutionTime;
+            long seed;
             boolean solved;
 
             do {
-                if (scenariosEvaluated % 64 == 0) {
-                    System.out.println();
+                if (UserInterface.DEBUG_MODE) {
+                    if (scenariosEvaluated % 64 == 0) {
+                        System.out.println();
+                    }
+                    System.out.print(".");
                 }
-                System.out.print(".");
-
-                initializeGameBoard();
 
-                placePlayerPieceRandomly();
-                blockCellsRandomly(BLOCKED_CELLS_COUNT);
+                seed = this.random.nextLong();
+                if (solvable) {
+                    setUpSolvableScenario(seed);
+                } else {
+                    setUpRandomScenario(seed);
+                }
 
-                System.out.println();
-                printGameBoard();
+                if (UserInterface.DEBUG_MODE) {
+                    System.out.println();
+                    printGameBoard();
+                }
 
                 solutionTime = System.currentTimeMillis();
-                solved = solvePuzzle(true, true);
+                // The distance field already tells whether the puzzle is solvable,
+                // so it is only actually solved (and printed) if it is.
+                solved = distanceField.isSolvable(getCurrentState())
+                        && solvePuzzle(UserInterface.DEBUG_MODE, UserInterface.DEBUG_MODE);
                 scenariosEvaluated++;
 
                 if (solved) {
@@ -135,9 +214,11 @@ public class GameController {
                     totalTime = System.currentTimeMillis() - totalTime;
                     solutionTime = System.currentTimeMillis() - solutionTime;
                     System.out.println("PUZZLE SOLVED!");
+                    System.out.println("PUZZLE SEED: " + seed);
                     System.out.println("SCENARIOS EVALUATED: " + scenariosEvaluated);
                     System.out.println("TOTAL TIME: " + ((double) totalTime / 1000) + " seconds");
                     System.out.println("SOLUTION TIME: " + ((double) solutionTime / 1000) + " seconds");
+                    System.out.println(SolverMetrics.getInstance().snapshot());
 
                     // TODO Print some kind of menu instead of exiting?
                     System.exit(0);
@@ -148,8 +229,163 @@ public class GameController {
         }
     }
 
+    /**
+     * Initializes the default player piece and winning conditions, which are
+     * shared by all puzzles generated afterwards.
+     */
+    public void initializeGame() {
+        initializePlayerPiece(PieceLibrary.getOrientationTable(DEFAULT_PLAYER_PIECE_FILE));
+        setWinningConditions(getDefaultWinningConditions());
+    }
+
+    /**
+     * Generates a single random game scenario and attempts to solve it, without
+     * printing anything. The game should be initialized beforehand
+     * (see {@link #initializeGame()}).
+     *
+     * @return The generated puzzle, which may not be solvable.
+     */
+    public Puzzle generateRandomPuzzle() {
+        return generateRandomPuzzle(random.nextLong());
+    }
+
+    /**
+     * Same as {@link #generateRandomPuzzle()}, but the puzzle is determined by the given seed.
+     *
+     * @param seed
+     * @return
+     */
+    public Puzzle generateRandomPuzzle(long seed) {
+        Puzzle puzzle = generateRandomScenario(seed);
+
+        return puzzle.withSolution(distanceField.getSolution(getCurrentState()));
+    }
+
+    /**
+     * Generates random game boards until one of them has a starting state
+     * requiring exactly the given number of moves to win the game. The game
+     * should be initialized beforehand (see {@link #initializeGame()}).
+     *
+     * @param moveCount
+     * @return The generated puzzle or 'null' if no such puzzle was found.
+     */
+    public Puzzle generatePuzzle(int moveCount) {
+        return generatePuzzle(moveCount, random.nextLong());
+    }
+
+    /**
+     * Same as {@link #generatePuzzle(int)}, but the puzzle is determined by the given seed
+     * (and move count).
+     *
+     * @param moveCount
+     * @param seed
+     * @return
+     */
+    public Puzzle generatePuzzle(int moveCount, long seed) {
+        SplittableRandom puzzleRandom = new SplittableRandom(seed);
+
+        for (int attempt = 0; attempt < MAXIMUM_BOARD_ATTEMPTS; attempt++) {
+            long generationTime = System.nanoTime();
+
+            initializeGameBoard();
+            blockCellsRandomly(gameConfig.getBlockedCellCount(), puzzleRandom);
+            distanceField = computeDistanceField(moveRules);
+
+            int startingState = distanceField.pickRandomState(moveCount, puzzleRandom);
+            SolverMetrics.getInstance().recordScenario(System.nanoTime() - generationTime);
+
+            if (startingState >= 0) {
+                updatePlayerPiece(startingState);
+
+                return new Puzzle(gameBoard, playerPiece.getOrientationTable(),
+                        moveRules.getX(startingState), moveRules.getY(startingState),
+                        moveRules.getOrientation(startingState), distanceField.getSolution(startingState), seed);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Generates a random puzzle, which is solvable by construction - instead of
+     * generating random boards until one of them is solvable:
+     * 1. A random path of player moves is walked backwards from one of the winning states.
+     * 2. The cells covered by the player piece along the path are reserved.
+     * 3. The blocked cells are sampled (without replacement) from the remaining cells.
+     * The player piece starts at the end of the path, so the path (or a shorter one)
+     * is always a solution. The game should be initialized beforehand
+     * (see {@link #initializeGame()}).
+     *
+     * @return The generated puzzle with its shortest solution.
+     */
+    public Puzzle generateSolvablePuzzle() {
+        return generateSolvablePuzzle(random.nextLong());
+    }
+
+    /**
+     * Same as {@link #generateSolvablePuzzle()}, but the puzzle is determined by the given seed.
+     *
+     * @param seed
+     * @return
+     */
+    public Puzzle generateSolvablePuzzle(long seed) {
+        setUpSolvableScenario(seed);
+
+        int startingState = getCurrentState();
+        return new Puzzle(gameBoard, playerPiece.getOrientationTable(),
+                moveRules.getX(startingState), moveRules.getY(startingState), moveRules.getOrientation(startingState),
+                distanceField.getSolution(startingState), seed);
+    }
+
+    /**
+     * Generates a single random game scenario, without attempting to solve it.
+     * The game should be initialized beforehand (see {@link #initializeGame()}).
+     *
+     * @return The generated (unsolved) puzzle.
+     */
+    public Puzzle generateRandomScenario() {
+        return generateRandomScenario(random.nextLong());
+    }
+
+    /**
+     * Same as {@link #generateRandomScenario()}, but the scenario is determined by the given
+     * seed, so storing the seed is enough to generate the same scenario again later.
+     *
+     * @param seed
+     * @return The generated (unsolved) puzzle.
+     */
+    public Puzzle generateRandomScenario(long seed) {
+        setUpRandomScenario(seed);
+
+        Position startingPosition = playerPiece.getPosition();
+        return new Puzzle(gameBoard, playerPiece.getOrientationTable(),
+                startingPosition.getX(), startingPosition.getY(), playerPiece.getOrientation(), null, seed);
+    }
+
+    /**
+     * Removes all blocked cells from the game board.
+     */
+    public void initializeGameBoard() {
+        invalidateBoard();
+
+        for (int index = gameBoard.nextSetIndex(0); index >= 0; index = gameBoard.nextSetIndex(index + 1)) {
+            boardView.invalidateCell(index / gameBoard.getWidth(), index % gameBoard.getWidth());
+        }
+        gameBoard.clear();
+    }
+
     public void blockCell(int cellX, int cellY) {
-        gameBoard[cellX][cellY] = Cell.BLOCKED;
+        gameBoard.set(cellX, cellY);
+        boardView.invalidateCell(cellX, cellY);
+        invalidateBoard();
+    }
+
+    public GameConfig getGameConfig() {
+        return gameConfig;
+    }
+
+    public WinningConditions getWinningConditions() {
+        return winningConditions;
     }
 
     public void setWinningConditions(WinningConditions winningConditions) {
@@ -165,269 +401,522 @@ public class GameController {
      */
     public void attemptPlayerMove(PlayerMove playerMove) {
         Position movePosition = playerMove.getPosition();
-        PieceRotation pieceRotation = playerMove.getRotationBasedOnDirection();
 
-        System.out.println("ATTEMPT MOVE "
-                + "@[" + movePosition.getX() + "," + movePosition.getY() + "] "
-                + playerMove.getDirection().getIndicator(false));
-
-        /**
-         * Immediately fail in the cases where the player piece touches any of the
-         * game board boundaries.
-         */
-        if ((movePosition.getY() == GAME_BOARD_SIZE - 1 && playerMove.getDirection() == Direction.E)
-                || (movePosition.getX() == 0 && playerMove.getDirection() == Direction.N)
-                || (movePosition.getY() == 0 && playerMove.getDirection() == Direction.W)
-                || (movePosition.getX() == GAME_BOARD_SIZE - 1 && playerMove.getDirection() == Direction.S)) {
-            System.out.println("NO ROOM TO MOVE!");
-            playerMove.setSuccessful(false);
-            return;
+        if (UserInterface.DEBUG_MODE) {
+            System.out.println("ATTEMPT MOVE "
+                    + "@[" + movePosition.getX() + "," + movePosition.getY() + "] "
+                    + playerMove.getDirection().getIndicator(false));
         }
 
-        Cell[][] currentFootprint = MatrixUtil.getPieceShapeFootprint(playerPiece.getBoundingBox());
-
-        Cell[][][] reorientedPiece = MatrixUtil.copy3DMatrix(playerPiece.getBoundingBox());
-        MatrixUtil.rotate3DMatrix(reorientedPiece, pieceRotation);
-
-        Cell[][] projectedFootprint = MatrixUtil.getPieceShapeFootprint(reorientedPiece);
-
-        int projectedX = movePosition.getX();
-        int projectedY = movePosition.getY();
-        boolean outOfBounds = false;
-
-        switch (playerMove.getDirection()) {
-            case E:
-                projectedY += currentFootprint[0].length - 1;
-                outOfBounds = projectedY + projectedFootprint[0].length - 1 > GAME_BOARD_SIZE - 1;
-                break;
-            case N:
-                projectedX -= projectedFootprint.length - 1;
-                outOfBounds = projectedX < 0;
-                break;
-            case W:
-                projectedY -= projectedFootprint[0].length - 1;
-                outOfBounds = projectedY < 0;
-                break;
-            case S:
-                projectedX += currentFootprint.length - 1;
-                outOfBounds = projectedX + projectedFootprint.length - 1 > GAME_BOARD_SIZE - 1;
-                break;
-        }
+        int moveResult = getStateGraph().move(
+                moveRules.encodeState(movePosition.getX(), movePosition.getY(), playerPiece.getOrientation()),
+                playerMove.getDirection());
 
-        /**
-         * Fail in the cases where the projected footprint will fall outside of the
-         * game board boundaries.
-         */
-        if (outOfBounds) {
-            System.out.println("OUT OF BOUNDS!");
+        if (moveResult < 0) {
+            SolverMetrics.getInstance().recordMove(moveResult);
             playerMove.setSuccessful(false);
-            return;
-        }
 
-        /**
-         * Overlay the projected footprint on the game board and check whether any blocked
-         * cells prevent its placement.
-         */
-        for (int x = projectedX; x < projectedX + projectedFootprint.length; x++) {
-            for (int y = projectedY; y < projectedY + projectedFootprint[0].length; y++) {
-                if (projectedFootprint[x - projectedX][y - projectedY] == Cell.PLAYER
-                        && gameBoard[x][y] == Cell.BLOCKED) {
-                    System.out.println("BLOCKED POSITION!");
-                    playerMove.setSuccessful(false);
-                    return;
+            if (UserInterface.DEBUG_MODE) {
+                switch (moveResult) {
+                    case MoveRules.NO_ROOM:
+                        System.out.println("NO ROOM TO MOVE!");
+                        break;
+                    case MoveRules.OUT_OF_BOUNDS:
+                        System.out.println("OUT OF BOUNDS!");
+                        break;
+                    case MoveRules.BLOCKED:
+                        System.out.println("BLOCKED POSITION!");
+                        break;
                 }
             }
+            return;
         }
 
         /**
-         * If the move is successful, update the player piece shape, position and
-         * orientation and overlay its footprint on the game board.
+         * If the move is successful, update the player piece position and orientation.
          */
         playerMove.setSuccessful(true);
-        playerPiece.setBoundingBox(reorientedPiece);
-        playerPiece.updatePosition(projectedX, projectedY);
-
-        overlayPieceFootprintOnBoard(playerPiece.getPosition(), projectedFootprint);
+        updatePlayerPiece(moveResult);
     }
 
     /**
-     * The method for solving the puzzle implements a simplified version of the classic
-     * A* search algorithm.
+     * Solves the puzzle from the current player piece position and orientation,
+     * using the selected {@link PuzzleSolver} (A* search by default), which finds
+     * the shortest possible sequence of player moves. If a {@link SolutionCache}
+     * is set, puzzles solved before are only looked up.
      * <p>
-     * TODO NOTE:
-     * The path-finding strategy can be optimized to always try the direction pointing
-     * as close as possible to the position defined by the winning conditions first.
+     * If the puzzle is solved, the player piece is moved to the winning state and
+     * the moves leading to it are available via {@link #getSolution()}.
      *
-     * @param printSolution Whether to print the game board, as the algorithm progresses.
+     * @param printAlgorithm Whether to print the game board after each move of the solution.
+     * @param printSolution  Whether to print the sequence of moves solving the puzzle.
      * @return
      */
     public boolean solvePuzzle(boolean printAlgorithm, boolean printSolution) {
-        boolean solved = false;
+        SearchProblem searchProblem =
+                new SearchProblem(moveRules, getStateGraph(), winningConditions, getCurrentState());
+        solution = solutionCache != null
+                ? solutionCache.solve(searchProblem, puzzleSolver) : puzzleSolver.solve(searchProblem);
 
-        /**
-         * These maps hold all game grid positions that have been visited by the path-finding
-         * algorithm and the game moves made at each one of them.
-         */
-        Map<String, List<PlayerMove>> movesAttempted = new LinkedHashMap<>();
-        PlayerMove currentMove;
-        PlayerMove previousMove = null;
+        if (solution == null) {
+            return false;
+        }
 
-        do {
-            String piecePositionKey = playerPiece.getPosition().toString();
-
-            if (previousMove == null) {
-                // First move.
-                currentMove = new PlayerMove(playerPiece.getPosition(), Direction.E, null);
-                movesAttempted.put(piecePositionKey, new ArrayList<>());
-            } else {
-                // Get the list of moves from the current position.
-                List<PlayerMove> movesAtPosition = movesAttempted.get(piecePositionKey);
-                Direction moveDirection;
-
-                if (movesAtPosition == null) {
-                    // Get the list of moves from the previous position.
-                    movesAtPosition = movesAttempted.get(movesAttempted.keySet().toArray()[movesAttempted.size() - 1]);
-                    moveDirection = previousMove.getDirection();
-
-                    movesAttempted.put(piecePositionKey, new ArrayList<>());
-                } else {
-                    moveDirection = previousMove.getDirection().nextClockwise();
-                }
+        if (printAlgorithm) {
+            for (int move = 1; move <= solution.getMoveCount(); move++) {
+                printGameBoard(solution.getState(move));
+            }
+        }
 
-                currentMove =
-                        new PlayerMove(playerPiece.getPosition(), moveDirection, previousMove);
+        if (printSolution) {
+            UserInterface.printSolution(solution);
+        }
 
-                if (movesAtPosition.size() == Direction.values().length) {
-                    // Out of moves.
-                    break;
-                }
-            }
+        updatePlayerPiece(solution.getState(solution.getMoveCount()));
 
-            attemptPlayerMove(currentMove);
-            previousMove = currentMove;
+        return true;
+    }
 
-            movesAttempted.get(currentMove.getPosition().toString()).add(previousMove);
+    public SolutionPath getSolution() {
+        return solution;
+    }
 
-            if (previousMove.isSuccessful()) {
-                solved =
-                        winningConditions.evaluateWinningConditions(playerPiece.getPosition(), playerPiece.getBoundingBox());
+    /**
+     * Compiles the player moves of the current game board, so the following player
+     * moves, solutions and hints only look them up (see {@link BoardGraph}).
+     * This is worth it when the same game board is solved many times, from different
+     * starting states. The graph is discarded as soon as the game board changes.
+     *
+     * @return
+     */
+    public BoardGraph compileBoardGraph() {
+        if (boardGraph == null) {
+            boardGraph = BoardGraphCompiler.compile(moveRules);
+        }
+        return boardGraph;
+    }
 
-                if (printAlgorithm) {
-                    printGameBoard();
-                }
-            }
-        } while (!solved);
+    /**
+     * @return The compiled player moves of the current game board (if available) or the move rules.
+     */
+    public StateGraph getStateGraph() {
+        return boardGraph != null ? boardGraph : moveRules;
+    }
 
-        if (printSolution) {
-            //TODO Print the final solution without unnecessary moves.
+    /**
+     * Suggests the next player move towards the closest winning state. The distance
+     * field of the game board is calculated on the first call (if not available).
+     *
+     * @return The direction of the next move or 'null' if the game cannot be won
+     * from the current state (or is already won).
+     */
+    public Direction getHint() {
+        if (distanceField == null) {
+            distanceField = computeDistanceField(getStateGraph());
         }
 
-        return solved;
+        return distanceField.getNextDirection(getCurrentState());
+    }
+
+    /**
+     * @return The distance field of the current game board, which is overwritten
+     * when the next scenario is set up (its buffers are reused).
+     */
+    public DistanceField getDistanceField() {
+        return distanceField;
+    }
+
+    public MoveRules getMoveRules() {
+        return moveRules;
+    }
+
+    /**
+     * Places the player piece at the given position and orientation, without
+     * checking whether the placement is valid (see {@link MoveRules#isValidState(int)}).
+     *
+     * @param x
+     * @param y
+     * @param orientation The orientation id (see {@link PieceOrientationTable}).
+     */
+    public void placePlayerPiece(int x, int y, int orientation) {
+        playerPiece.setOrientation(orientation);
+        playerPiece.updatePosition(x, y);
     }
 
     /**
+     * Replaces the source of the seeds of the random game scenarios, e.g. with a stream
+     * split from the one of another game controller (see {@link SplittableRandom#split()}).
+     *
+     * @param random
+     */
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public void setPuzzleSolver(PuzzleSolver puzzleSolver) {
+        this.puzzleSolver = puzzleSolver;
+    }
+
+    /**
+     * @param solutionCache The cache to look up the solutions in before solving the puzzles, or 'null'.
+     */
+    public void setSolutionCache(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+    }
+
+    /**
+     * All orientations of the piece shape (and the transitions between them)
+     * are calculated once here, so player moves do not have to rotate the
+     * piece bounding box. The piece is kept as a list of its occupied cells
+     * (see {@link SparsePieceShape}), so large pieces rotate quickly as well.
+     * <p>
      * TODO Maybe implement a check whether the piece shape describes a solid object.
      *
      * @param pieceShapeJSON
      */
     public void initializePlayerPiece(String pieceShapeJSON) {
-        playerPiece = new PlayerPiece(new Gson().fromJson(pieceShapeJSON, Cell[][][].class));
+        initializePlayerPiece(PieceOrientationTable.build(PieceLibrary.parseJson(pieceShapeJSON)));
+    }
+
+    /**
+     * Same as {@link #initializePlayerPiece(String)}, but with the orientations already
+     * calculated, e.g. cached by the {@link PieceLibrary}.
+     *
+     * @param orientationTable
+     */
+    public void initializePlayerPiece(PieceOrientationTable orientationTable) {
+        int pieceSize = orientationTable.getShape(0).getSize();
+        if (pieceSize > gameConfig.getPieceSize()) {
+            throw new IllegalArgumentException("The player piece is larger than " + gameConfig.getPieceSize()
+                    + " cells per side: " + pieceSize);
+        }
+
+        playerPiece = new PlayerPiece(orientationTable);
+        moveRules = new MoveRules(gameBoard, playerPiece.getOrientationTable());
     }
 
+    /**
+     * The default winning position is relative to the bottom-right corner of the
+     * game board and derived from the footprint of the initial piece orientation:
+     * touching the east edge, with a single row left below the footprint. So it is
+     * [4, 5] for the default player piece (2x2 footprint) and 7x7 game board.
+     *
+     * @return
+     * @throws IllegalArgumentException If the footprint of the player piece does not fit
+     *                                  on the game board at the winning position.
+     */
     private WinningConditions getDefaultWinningConditions() {
+        PieceOrientationTable orientationTable = playerPiece.getOrientationTable();
+        int winningX = gameBoard.getHeight() - orientationTable.getFootprintHeight(0) - 1;
+        int winningY = gameBoard.getWidth() - orientationTable.getFootprintWidth(0);
+
+        if (winningX < 0 || winningY < 0) {
+            throw new IllegalArgumentException("The player piece does not fit on the "
+                    + gameBoard.getHeight() + "x" + gameBoard.getWidth() + " game board at its winning position.");
+        }
+
         WinningConditions winningConditions = new WinningConditions();
-        winningConditions.addPosition(new Position(4, 5));
-        winningConditions.addPieceConfiguration(MatrixUtil.copy3DMatrix(playerPiece.getBoundingBox()));
+        winningConditions.addPosition(new Position(winningX, winningY));
+        winningConditions.addPieceConfiguration(playerPiece.getBoundingBox());
 
         return winningConditions;
     }
 
-    private void initializeGameBoard() {
-        MatrixUtil.fill2DMatrix(gameBoard, Cell.FREE);
+    /**
+     * The blocked cells are placed first, so the distance field of the game
+     * board can be calculated before placing the player piece.
+     *
+     * @param seed
+     */
+    private void setUpRandomScenario(long seed) {
+        long generationTime = System.nanoTime();
+        SplittableRandom scenarioRandom = new SplittableRandom(seed);
+
+        initializeGameBoard();
+
+        blockCellsRandomly(gameConfig.getBlockedCellCount(), scenarioRandom);
+        distanceField = computeDistanceField(moveRules);
+
+        placePlayerPieceRandomly(scenarioRandom);
+
+        SolverMetrics.getInstance().recordScenario(System.nanoTime() - generationTime);
     }
 
-    private void placePlayerPieceRandomly() {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+    /**
+     * See {@link #generateSolvablePuzzle()}.
+     *
+     * @param seed
+     */
+    private void setUpSolvableScenario(long seed) {
+        long generationTime = System.nanoTime();
+        SplittableRandom scenarioRandom = new SplittableRandom(seed);
 
-        // Tumble the player piece randomly for a while before placing it.
-        for (int t = 0; t < RANDOM_TUMBLES; t++) {
-            PieceRotation randomRotation = new PieceRotation(Axis.getRandomTumblingAxis(), random.nextBoolean());
-            MatrixUtil.rotate3DMatrix(playerPiece.getBoundingBox(), randomRotation);
+        initializeGameBoard();
+
+        PieceOrientationTable orientationTable = playerPiece.getOrientationTable();
+        int[] winningStates = winningConditions.findWinningStates(gameBoard, orientationTable);
+        if (winningStates.length == 0) {
+            throw new IllegalStateException("The winning conditions cannot be satisfied on an empty game board.");
         }
 
-        Cell[][] pieceFootprint = MatrixUtil.getPieceShapeFootprint(playerPiece.getBoundingBox());
+        BitBoard reservedCells = new BitBoard(gameBoard.getHeight(), gameBoard.getWidth());
+        int freeCellCount;
+        int[] path = new int[MAXIMUM_PATH_LENGTH + 1];
+        int pathLength;
+        int startingState;
 
-        int randomX;
-        int randomY;
+        do {
+            reservedCells.clear();
+            path[0] = winningStates[scenarioRandom.nextInt(winningStates.length)];
+            freeCellCount = gameBoard.getHeight() * gameBoard.getWidth() - reserveFootprint(reservedCells, path[0]);
+            pathLength = walkBackwards(path, 1 + scenarioRandom.nextInt(MAXIMUM_PATH_LENGTH),
+                    reservedCells, freeCellCount, scenarioRandom);
+
+            // The furthest state of the path, which is not a winning one already.
+            startingState = -1;
+            for (int step = pathLength; step > 0 && startingState < 0; step--) {
+                if (!isWinningState(path[step])) {
+                    startingState = path[step];
+                }
+            }
+        } while (startingState < 0);
 
-        boolean suitablePositionFound = false;
+        blockCellsRandomly(gameConfig.getBlockedCellCount(), reservedCells, scenarioRandom);
+        distanceField = computeDistanceField(moveRules);
 
-        /**
-         * Avoid putting the piece at one of the winning positions from the very beginning.
-         */
-        do {
-            randomX = random.nextInt(GAME_BOARD_SIZE - pieceFootprint.length + 1);
-            // We take the length of the first X row of the matrix, as the piece footprint
-            // should always be a rectangular matrix, due to fact that the piece can have an
-            // irregular, concave or convex shape, and we don't want to waste iterations for
-            // rows or columns that contain only empty cells.
-            randomY = random.nextInt(GAME_BOARD_SIZE - pieceFootprint[0].length + 1);
-
-            for (Position winningPosition : winningConditions.getWinningPositions()) {
-                suitablePositionFound = randomX != winningPosition.getX() && randomY != winningPosition.getY();
+        updatePlayerPiece(startingState);
+
+        SolverMetrics.getInstance().recordScenario(System.nanoTime() - generationTime);
+    }
+
+    /**
+     * Extends the path from its first state by following the player moves in reverse
+     * (see {@link MoveRules#precede(int, Direction)}) in random directions, without
+     * visiting any state twice and leaving enough free cells for the blocked cells.
+     *
+     * @param path          The path states, starting with a winning state.
+     * @param length        The requested number of moves.
+     * @param reservedCells The cells covered by the path so far, updated as the path grows.
+     * @param freeCellCount The number of cells not reserved so far.
+     * @param random
+     * @return The number of moves of the path, which may be shorter than requested.
+     */
+    private int walkBackwards(int[] path, int length, BitBoard reservedCells, int freeCellCount,
+                              SplittableRandom random) {
+        Direction[] directions = Direction.values();
+
+        for (int step = 1; step <= length; step++) {
+            int firstDirection = random.nextInt(directions.length);
+            int precedingState = -1;
+
+            for (int i = 0; i < directions.length && precedingState < 0; i++) {
+                Direction direction = directions[(firstDirection + i) % directions.length];
+                int candidateState = moveRules.precede(path[step - 1], direction);
+
+                if (candidateState >= 0 && !contains(path, step, candidateState)
+                        && freeCellCount - countUnreservedCells(reservedCells, candidateState)
+                        >= gameConfig.getBlockedCellCount()) {
+                    precedingState = candidateState;
+                }
             }
-        } while (!suitablePositionFound);
 
-        playerPiece.updatePosition(randomX, randomY);
+            if (precedingState < 0) {
+                return step - 1;
+            }
+
+            path[step] = precedingState;
+            freeCellCount -= reserveFootprint(reservedCells, precedingState);
+        }
 
-        overlayPieceFootprintOnBoard(playerPiece.getPosition(), pieceFootprint);
+        return length;
     }
 
-    private void blockCellsRandomly(int cellCount) {
-        int randomX;
-        int randomY;
-        int blockedCellsPlaced = 0;
+    /**
+     * @param reservedCells
+     * @param state
+     * @return The number of the cells of the player piece footprint at the given state,
+     * which are not reserved yet.
+     */
+    private int countUnreservedCells(BitBoard reservedCells, int state) {
+        Cell[][] footprint = playerPiece.getOrientationTable().getFootprint(moveRules.getOrientation(state));
+        int cellCount = 0;
+
+        for (int x = 0; x < footprint.length; x++) {
+            for (int y = 0; y < footprint[x].length; y++) {
+                if (footprint[x][y] == Cell.PLAYER
+                        && !reservedCells.isSet(moveRules.getX(state) + x, moveRules.getY(state) + y)) {
+                    cellCount++;
+                }
+            }
+        }
+
+        return cellCount;
+    }
+
+    /**
+     * @param reservedCells
+     * @param state
+     * @return The number of cells newly reserved.
+     */
+    private int reserveFootprint(BitBoard reservedCells, int state) {
+        int cellCount = countUnreservedCells(reservedCells, state);
+
+        Cell[][] footprint = playerPiece.getOrientationTable().getFootprint(moveRules.getOrientation(state));
+        for (int x = 0; x < footprint.length; x++) {
+            for (int y = 0; y < footprint[x].length; y++) {
+                if (footprint[x][y] == Cell.PLAYER) {
+                    reservedCells.set(moveRules.getX(state) + x, moveRules.getY(state) + y);
+                }
+            }
+        }
+
+        return cellCount;
+    }
+
+    private static boolean contains(int[] states, int count, int state) {
+        for (int i = 0; i < count; i++) {
+            if (states[i] == state) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isWinningState(int state) {
+        return winningConditions.evaluateWinningConditions(moveRules.getX(state), moveRules.getY(state),
+                winningConditions.getWinningOrientations(playerPiece.getOrientationTable()),
+                moveRules.getOrientation(state));
+    }
+
+    private void placePlayerPieceRandomly(SplittableRandom random) {
+        // The orientation is reset, so the scenario does not depend on the previous one.
+        playerPiece.setOrientation(0);
+
+        // Tumble the player piece randomly for a while before placing it.
+        PieceOrientationTable orientationTable = playerPiece.getOrientationTable();
+        for (int t = 0; t < RANDOM_TUMBLES; t++) {
+            PieceRotation randomRotation = new PieceRotation(Axis.getRandomTumblingAxis(random), random.nextBoolean());
+            playerPiece.setOrientation(orientationTable.getTransition(playerPiece.getOrientation(),
+                    Direction.fromRotation(randomRotation)));
+        }
 
         /**
-         * Look for positions not occupied by the player piece or
-         * other blocked cells.
+         * Avoid putting the piece on blocked cells or at one of the winning positions
+         * from the very beginning. Instead of trying random positions until a suitable
+         * one is found, all suitable positions are listed and one of them is picked,
+         * so this does not take longer as the game board fills up. If there are none,
+         * the next orientations are tried in turn.
          */
-        do {
-            ThreadLocalRandom random = ThreadLocalRandom.current();
-            randomX = random.nextInt(GAME_BOARD_SIZE);
-            randomY = random.nextInt(GAME_BOARD_SIZE);
-            if (gameBoard[randomX][randomY] == Cell.FREE) {
-                blockCell(randomX, randomY);
-                blockedCellsPlaced++;
+        int[] suitableCells = new int[gameBoard.getHeight() * gameBoard.getWidth()];
+
+        for (int attempt = 0; attempt < orientationTable.getOrientationCount(); attempt++) {
+            int orientation = playerPiece.getOrientation();
+            int suitableCellCount = 0;
+
+            for (int x = 0; x + orientationTable.getFootprintHeight(orientation) <= gameBoard.getHeight(); x++) {
+                for (int y = 0; y + orientationTable.getFootprintWidth(orientation) <= gameBoard.getWidth(); y++) {
+                    if (!winningConditions.isWinningPosition(x, y)
+                            && !moveRules.isPlacementBlocked(orientation, x, y)) {
+                        suitableCells[suitableCellCount++] = x * gameBoard.getWidth() + y;
+                    }
+                }
             }
-        } while (blockedCellsPlaced < cellCount);
+
+            if (suitableCellCount > 0) {
+                int randomCell = suitableCells[random.nextInt(suitableCellCount)];
+                playerPiece.updatePosition(randomCell / gameBoard.getWidth(), randomCell % gameBoard.getWidth());
+                return;
+            }
+
+            playerPiece.setOrientation((orientation + 1) % orientationTable.getOrientationCount());
+        }
+
+        throw new IllegalStateException("There is no room for the player piece on the game board.");
+    }
+
+    private void blockCellsRandomly(int cellCount, SplittableRandom random) {
+        blockCellsRandomly(cellCount, new BitBoard(gameBoard.getHeight(), gameBoard.getWidth()), random);
     }
 
     /**
-     * Should only be used after an attempted player move is successful.
+     * Blocks the given number of cells, picked from the cells which are neither blocked,
+     * nor reserved (a partial Fisher-Yates shuffle, so no cell is picked twice).
      *
-     * @param position
-     * @param pieceFootprint
-     */
-    private void overlayPieceFootprintOnBoard(Position position, Cell[][] pieceFootprint) {
-        for (int x = 0; x < GAME_BOARD_SIZE; x++) {
-            for (int y = 0; y < GAME_BOARD_SIZE; y++) {
-                if ((x < position.getX()) || (y < position.getY())
-                        || (x > position.getX() + pieceFootprint.length - 1)
-                            || (y > position.getY() + pieceFootprint[0].length - 1)) {
-                    if (gameBoard[x][y] == Cell.PLAYER) {
-                        gameBoard[x][y] = Cell.FREE;
-                    }
-                } else {
-                    gameBoard[x][y] =
-                            pieceFootprint[x - position.getX()][y - position.getY()];
+     * @param cellCount
+     * @param reservedCells
+     * @param random
+     */
+    private void blockCellsRandomly(int cellCount, BitBoard reservedCells, SplittableRandom random) {
+        int[] freeCells = new int[gameBoard.getHeight() * gameBoard.getWidth()];
+        int freeCellCount = 0;
+
+        for (int x = 0; x < gameBoard.getHeight(); x++) {
+            for (int y = 0; y < gameBoard.getWidth(); y++) {
+                if (!gameBoard.isSet(x, y) && !reservedCells.isSet(x, y)) {
+                    freeCells[freeCellCount++] = x * gameBoard.getWidth() + y;
                 }
             }
         }
+
+        for (int i = 0; i < cellCount && i < freeCellCount; i++) {
+            int picked = random.nextInt(i, freeCellCount);
+            int cell = freeCells[picked];
+            freeCells[picked] = freeCells[i];
+            freeCells[i] = cell;
+
+            blockCell(cell / gameBoard.getWidth(), cell % gameBoard.getWidth());
+        }
+    }
+
+    /**
+     * Calculates the distance field of the current game board, reusing the state store of the
+     * previous one, or creating it in the configured storage (see {@link GameConfig#getStateStorage()}
+     * and {@link DistanceField#compute(MoveRules, StateGraph, WinningConditions, DistanceField, IntFunction)}).
+     *
+     * @param stateGraph
+     * @return
+     */
+    private DistanceField computeDistanceField(StateGraph stateGraph) {
+        reusableDistanceField = DistanceField.compute(moveRules, stateGraph, winningConditions, reusableDistanceField,
+                gameConfig.getStateStorage()::createStateStore);
+        return reusableDistanceField;
+    }
+
+    /**
+     * Discards everything calculated for the previous state of the game board.
+     */
+    private void invalidateBoard() {
+        boardGraph = null;
+        distanceField = null;
+    }
+
+    private int getCurrentState() {
+        return moveRules.encodeState(
+                playerPiece.getPosition().getX(), playerPiece.getPosition().getY(), playerPiece.getOrientation());
+    }
+
+    private void updatePlayerPiece(int state) {
+        playerPiece.setOrientation(moveRules.getOrientation(state));
+        playerPiece.updatePosition(moveRules.getX(state), moveRules.getY(state));
+    }
+
+    /**
+     * The {@link Cell} matrix view of the game board is only updated for rendering,
+     * with the player piece footprint overlaid on top of the blocked cells.
+     *
+     * @return
+     */
+    private Cell[][] renderGameBoard(int state) {
+        return boardView.render(playerPiece.getOrientationTable().getFootprint(moveRules.getOrientation(state)),
+                moveRules.getX(state), moveRules.getY(state));
     }
 
     private void printGameBoard() {
+        printGameBoard(getCurrentState());
+    }
+
+    private void printGameBoard(int state) {
         System.out.println();
-        UserInterface.print2DMatrix(gameBoard);
+        UserInterface.print2DMatrix(renderGameBoard(state));
     }
-}
\ No newline at end of file
+}
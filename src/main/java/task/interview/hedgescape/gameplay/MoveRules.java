@@ -0,0 +1,252 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.positioning.Direction;
+
+/**
+ * This class implements the player move rules for a given game board and
+ * player piece shape, on "packed" game states.
+ * <p>
+ * Each game state (player piece position and orientation) is packed in a single
+ * integer as: (x * board width + y) * orientation count + orientation.
+ * The states of a game board are therefore numbered from 0 to {@link #getStateCount()},
+ * which allows the path-finding algorithms to keep all of their bookkeeping in
+ * primitive arrays indexed by state.
+ * <p>
+ * PLEASE NOTE:
+ * The game board is referenced (not copied), so any blocked cells added to it
+ * are taken into account immediately.
+ */
+public class MoveRules implements StateGraph {
+
+    /**
+     * Possible (negative) results of {@link #move(int, Direction)} for rejected moves.
+     */
+    public static final int NO_ROOM = -1;
+    public static final int OUT_OF_BOUNDS = -2;
+    public static final int BLOCKED = -3;
+
+    private final BitBoard gameBoard;
+    private final PieceOrientationTable orientationTable;
+    private final int orientationCount;
+
+    /**
+     * The footprint of each player piece orientation as a single shiftable mask,
+     * only available when the game board fits in a single word (see {@link BitBoard}).
+     */
+    private final long[] footprintShapeMasks;
+
+    public MoveRules(BitBoard gameBoard, PieceOrientationTable orientationTable) {
+        this.gameBoard = gameBoard;
+        this.orientationTable = orientationTable;
+
+        orientationCount = orientationTable.getOrientationCount();
+
+        if (gameBoard.isSingleWord()) {
+            footprintShapeMasks = new long[orientationCount];
+            for (int orientation = 0; orientation < orientationCount; orientation++) {
+                footprintShapeMasks[orientation] =
+                        gameBoard.getShapeMask(orientationTable.getFootprintRowMasks(orientation));
+            }
+        } else {
+            footprintShapeMasks = null;
+        }
+    }
+
+    public BitBoard getGameBoard() {
+        return gameBoard;
+    }
+
+    public PieceOrientationTable getOrientationTable() {
+        return orientationTable;
+    }
+
+    @Override
+    public int getStateCount() {
+        return gameBoard.getHeight() * gameBoard.getWidth() * orientationCount;
+    }
+
+    public int encodeState(int x, int y, int orientation) {
+        return (x * gameBoard.getWidth() + y) * orientationCount + orientation;
+    }
+
+    public int getX(int state) {
+        return state / orientationCount / gameBoard.getWidth();
+    }
+
+    public int getY(int state) {
+        return state / orientationCount % gameBoard.getWidth();
+    }
+
+    public int getOrientation(int state) {
+        return state % orientationCount;
+    }
+
+    /**
+     * Checks whether the player piece footprint at the given state is entirely
+     * within the game board boundaries and does not overlap any blocked cells.
+     *
+     * @param state
+     * @return
+     */
+    public boolean isValidState(int state) {
+        int orientation = getOrientation(state);
+        int x = getX(state);
+        int y = getY(state);
+
+        return isValidPlacement(orientation, x, y);
+    }
+
+    private boolean isValidPlacement(int orientation, int x, int y) {
+        return x >= 0 && y >= 0
+                && x + orientationTable.getFootprintHeight(orientation) <= gameBoard.getHeight()
+                && y + orientationTable.getFootprintWidth(orientation) <= gameBoard.getWidth()
+                && !isPlacementBlocked(orientation, x, y);
+    }
+
+    /**
+     * Checks whether the footprint of the given player piece orientation overlaps
+     * any blocked cells when placed at the given position.
+     * The footprint should fit within the game board boundaries.
+     *
+     * @param orientation
+     * @param x
+     * @param y
+     * @return
+     */
+    public boolean isPlacementBlocked(int orientation, int x, int y) {
+        if (footprintShapeMasks != null) {
+            return gameBoard.intersects(footprintShapeMasks[orientation], x, y);
+        }
+        return gameBoard.intersects(orientationTable.getFootprintRowMasks(orientation), x, y);
+    }
+
+    /**
+     * Calculates the result of tumbling the player piece in the given direction.
+     * <p>
+     * PLEASE NOTE:
+     * The given state should be valid (see {@link #isValidState(int)}). The footprint of
+     * an invalid state may stick out of the game board, so the result is undefined and
+     * the collision check may even read past the game board.
+     *
+     * @param state     The current (packed) game state.
+     * @param direction
+     * @return The resulting (packed) game state or one of {@link #NO_ROOM},
+     * {@link #OUT_OF_BOUNDS} or {@link #BLOCKED} if the move is not possible.
+     */
+    @Override
+    public int move(int state, Direction direction) {
+        int orientation = state % orientationCount;
+        int cell = state / orientationCount;
+        int x = cell / gameBoard.getWidth();
+        int y = cell % gameBoard.getWidth();
+
+        /**
+         * Immediately fail in the cases where the player piece touches any of the
+         * game board boundaries.
+         */
+        if ((y == gameBoard.getWidth() - 1 && direction == Direction.E)
+                || (x == 0 && direction == Direction.N)
+                || (y == 0 && direction == Direction.W)
+                || (x == gameBoard.getHeight() - 1 && direction == Direction.S)) {
+            return NO_ROOM;
+        }
+
+        int projectedOrientation = orientationTable.getTransition(orientation, direction);
+
+        int projectedX = x;
+        int projectedY = y;
+        boolean outOfBounds = false;
+
+        switch (direction) {
+            case E:
+                projectedY += orientationTable.getFootprintWidth(orientation) - 1;
+                outOfBounds = projectedY + orientationTable.getFootprintWidth(projectedOrientation) - 1
+                        > gameBoard.getWidth() - 1;
+                break;
+            case N:
+                projectedX -= orientationTable.getFootprintHeight(projectedOrientation) - 1;
+                outOfBounds = projectedX < 0;
+                break;
+            case W:
+                projectedY -= orientationTable.getFootprintWidth(projectedOrientation) - 1;
+                outOfBounds = projectedY < 0;
+                break;
+            case S:
+                projectedX += orientationTable.getFootprintHeight(orientation) - 1;
+                outOfBounds = projectedX + orientationTable.getFootprintHeight(projectedOrientation) - 1
+                        > gameBoard.getHeight() - 1;
+                break;
+        }
+
+        /**
+         * Fail in the cases where the projected footprint will fall outside of the
+         * game board boundaries.
+         */
+        if (outOfBounds) {
+            return OUT_OF_BOUNDS;
+        }
+
+        /**
+         * Check whether any blocked cells prevent the placement of the projected footprint.
+         */
+        if (isPlacementBlocked(projectedOrientation, projectedX, projectedY)) {
+            return BLOCKED;
+        }
+
+        return encodeState(projectedX, projectedY, projectedOrientation);
+    }
+
+    /**
+     * The reverse of {@link #move(int, Direction)} - calculates the state from which
+     * tumbling the player piece in the given direction results in the given state.
+     * <p>
+     * PLEASE NOTE:
+     * There is at most one such state, as the orientation transitions are injective
+     * (checked by {@link PieceOrientationTable#build}) and the position of the preceding
+     * state follows from its orientation.
+     *
+     * @param state     The resulting (packed) game state.
+     * @param direction The direction of the move leading to the given state.
+     * @return The preceding (packed) game state or '-1' if there is no such valid state.
+     */
+    @Override
+    public int precede(int state, Direction direction) {
+        int orientation = state % orientationCount;
+        int cell = state / orientationCount;
+        int x = cell / gameBoard.getWidth();
+        int y = cell % gameBoard.getWidth();
+
+        int precedingOrientation = orientationTable.getPrecedingTransition(orientation, direction);
+        if (precedingOrientation < 0) {
+            return -1;
+        }
+
+        int precedingX = x;
+        int precedingY = y;
+
+        switch (direction) {
+            case E:
+                precedingY -= orientationTable.getFootprintWidth(precedingOrientation) - 1;
+                break;
+            case N:
+                precedingX += orientationTable.getFootprintHeight(orientation) - 1;
+                break;
+            case W:
+                precedingY += orientationTable.getFootprintWidth(orientation) - 1;
+                break;
+            case S:
+                precedingX -= orientationTable.getFootprintHeight(precedingOrientation) - 1;
+                break;
+        }
+
+        if (!isValidPlacement(precedingOrientation, precedingX, precedingY)) {
+            return -1;
+        }
+
+        // The boundary checks of the forward move are not symmetrical, so it should be verified as well.
+        int precedingState = encodeState(precedingX, precedingY, precedingOrientation);
+        return move(precedingState, direction) == state ? precedingState : -1;
+    }
+}
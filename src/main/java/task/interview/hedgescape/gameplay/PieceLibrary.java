@@ -0,0 +1,130 @@
+package task.interview.hedgescape.gameplay;
+
+import com.google.gson.Gson;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.PieceShape;
+import task.interview.hedgescape.gameplay.model.PieceShapeFormat;
+import task.interview.hedgescape.gameplay.model.PieceTables;
+import task.interview.hedgescape.gameplay.model.SparsePieceShape;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.util.FileUtil;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the player piece shapes from the application resources, either in the
+ * compact binary format (see {@link PieceShapeFormat}) or in the JSON format
+ * (files ending with {@link #JSON_EXTENSION}).
+ * <p>
+ * The orientation tables of the loaded pieces are cached by resource name, so
+ * each piece is read and its orientations calculated only once per process, no
+ * matter how many games (or game controllers) use it.
+ * <p>
+ * The orientation tables of the pieces in the application resources are generated
+ * at build time (see {@link PieceTableGenerator}), so they are not even calculated
+ * once. Any other pieces (or all of them, if the project is built without the
+ * generated sources) fall back to calculating the tables at runtime.
+ * <p>
+ * PLEASE NOTE:
+ * The generated classes are named after the base name of the piece file only (see
+ * {@link #getTablesClassName(String)}), so a resource in another directory or with
+ * another extension may resolve to the tables of a different piece. The loaded shape
+ * is therefore always compared with the initial orientation of the generated tables,
+ * which are only used if they match.
+ */
+public class PieceLibrary {
+
+    public static final String JSON_EXTENSION = ".json";
+
+    /**
+     * The package of the classes generated by the {@link PieceTableGenerator}.
+     */
+    public static final String TABLES_PACKAGE = "task.interview.hedgescape.gameplay.tables";
+
+    private static final Map<String, PieceOrientationTable> ORIENTATION_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * @param resourceName
+     * @return The (cached) orientation table of the piece shape in the given resource.
+     * @throws UncheckedIOException If the resource cannot be read.
+     */
+    public static PieceOrientationTable getOrientationTable(String resourceName) {
+        return ORIENTATION_TABLES.computeIfAbsent(resourceName, name -> {
+            SparsePieceShape pieceShape = loadPieceShape(name);
+            PieceTables pieceTables = loadPieceTables(name);
+
+            return pieceTables != null && isGeneratedFrom(pieceTables, pieceShape)
+                    ? PieceOrientationTable.fromTables(pieceTables) : PieceOrientationTable.build(pieceShape);
+        });
+    }
+
+    /**
+     * @param pieceTables
+     * @param pieceShape
+     * @return Whether the given tables were generated from the given shape (which is
+     * their initial orientation - see {@link PieceOrientationTable#build(PieceShape)}).
+     */
+    public static boolean isGeneratedFrom(PieceTables pieceTables, PieceShape pieceShape) {
+        int[] initialVoxels = pieceTables.getOrientationVoxels()[0];
+
+        return SparsePieceShape.fromVoxels(pieceTables.getSize(), initialVoxels, initialVoxels.length)
+                .equals(pieceShape);
+    }
+
+    /**
+     * @param resourceName
+     * @return The tables generated at build time for a piece file with the same base name
+     * as the given resource or 'null' if there are none.
+     */
+    private static PieceTables loadPieceTables(String resourceName) {
+        try {
+            return (PieceTables) Class.forName(getTablesClassName(resourceName)).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param resourceName E.g. "defaultPlayerPiece.piece".
+     * @return The name of the class generated for the given piece resource,
+     * e.g. "task.interview.hedgescape.gameplay.tables.DefaultPlayerPieceTables".
+     */
+    public static String getTablesClassName(String resourceName) {
+        String baseName = resourceName.substring(resourceName.lastIndexOf('/') + 1);
+        if (baseName.indexOf('.') > 0) {
+            baseName = baseName.substring(0, baseName.indexOf('.'));
+        }
+
+        return TABLES_PACKAGE + "." + Character.toUpperCase(baseName.charAt(0)) + baseName.substring(1) + "Tables";
+    }
+
+    /**
+     * @param resourceName
+     * @return The piece shape in the given resource (not cached).
+     * @throws UncheckedIOException If the resource cannot be read.
+     */
+    public static SparsePieceShape loadPieceShape(String resourceName) {
+        if (resourceName.endsWith(JSON_EXTENSION)) {
+            return parseJson(FileUtil.readResourceAsString(resourceName));
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(FileUtil.openResource(resourceName))) {
+            return PieceShapeFormat.read(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the piece shape: " + resourceName, e);
+        }
+    }
+
+    /**
+     * @param pieceShapeJSON The player piece bounding box with named {@link Cell} values.
+     * @return
+     */
+    public static SparsePieceShape parseJson(String pieceShapeJSON) {
+        return SparsePieceShape.fromBoundingBox(new Gson().fromJson(pieceShapeJSON, Cell[][][].class));
+    }
+}
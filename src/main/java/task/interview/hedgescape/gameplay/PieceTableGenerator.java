@@ -0,0 +1,173 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.PieceShapeFormat;
+import task.interview.hedgescape.gameplay.model.PieceTables;
+import task.interview.hedgescape.gameplay.model.SparsePieceShape;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates the Java source of a {@link PieceTables} class per player piece file,
+ * holding its orientation table in static arrays (the voxels, transitions, preceding
+ * transitions and footprints of every orientation), so nothing but the sparse shapes
+ * is computed at runtime (see {@link PieceLibrary#getOrientationTable(String)}).
+ * <p>
+ * It is run by the build (see the "generate-piece-tables" execution in the pom.xml)
+ * on the piece resources, after the main classes are compiled, and the generated
+ * sources are compiled right after it.
+ */
+public class PieceTableGenerator {
+
+    /**
+     * Usage: output directory, piece file...
+     *
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: output directory, piece file...");
+        }
+
+        for (int i = 1; i < args.length; i++) {
+            generate(Paths.get(args[i]), Paths.get(args[0]));
+        }
+    }
+
+    /**
+     * @param pieceFile       A JSON or binary piece file (see {@link PieceLibrary}).
+     * @param outputDirectory The root of the generated sources.
+     * @throws IOException
+     */
+    public static void generate(Path pieceFile, Path outputDirectory) throws IOException {
+        String className = PieceLibrary.getTablesClassName(pieceFile.getFileName().toString());
+        int packageEnd = className.lastIndexOf('.');
+
+        Path sourceFile = outputDirectory.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+
+        PieceOrientationTable orientationTable = PieceOrientationTable.build(readPieceShape(pieceFile));
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(sourceFile, StandardCharsets.UTF_8))) {
+            writeSource(writer, className.substring(0, packageEnd), className.substring(packageEnd + 1),
+                    pieceFile.getFileName().toString(), orientationTable);
+        }
+    }
+
+    private static SparsePieceShape readPieceShape(Path pieceFile) throws IOException {
+        if (pieceFile.toString().endsWith(PieceLibrary.JSON_EXTENSION)) {
+            return PieceLibrary.parseJson(new String(Files.readAllBytes(pieceFile), StandardCharsets.UTF_8));
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(pieceFile))) {
+            return PieceShapeFormat.read(inputStream);
+        }
+    }
+
+    private static void writeSource(PrintWriter writer, String packageName, String simpleClassName,
+                                    String pieceFileName, PieceOrientationTable orientationTable) {
+        int orientationCount = orientationTable.getOrientationCount();
+
+        writer.println("package " + packageName + ";");
+        writer.println();
+        writer.println("import " + PieceTables.class.getName() + ";");
+        writer.println("import " + Cell.class.getName() + ";");
+        writer.println();
+        writer.println("/**");
+        writer.println(" * Generated by {@link " + PieceTableGenerator.class.getName() + "} from " + pieceFileName
+                + " - do not edit.");
+        writer.println(" */");
+        writer.println("public final class " + simpleClassName + " implements PieceTables {");
+        writer.println();
+        writer.println("    static final int SIZE = " + orientationTable.getShape(0).getSize() + ";");
+        writer.println();
+
+        writer.println("    static final int[][] ORIENTATION_VOXELS = {");
+        for (int orientation = 0; orientation < orientationCount; orientation++) {
+            SparsePieceShape shape = (SparsePieceShape) orientationTable.getShape(orientation);
+
+            StringBuilder voxels = new StringBuilder();
+            for (int voxel = 0; voxel < shape.getVoxelCount(); voxel++) {
+                voxels.append(voxel > 0 ? ", " : "").append(shape.getVoxel(voxel));
+            }
+            writer.println("            {" + voxels + "},");
+        }
+        writer.println("    };");
+        writer.println();
+
+        writer.println("    static final int[] TRANSITIONS = {");
+        for (int orientation = 0; orientation < orientationCount; orientation++) {
+            StringBuilder transitions = new StringBuilder();
+            for (Direction direction : Direction.values()) {
+                transitions.append(direction.ordinal() > 0 ? ", " : "")
+                        .append(orientationTable.getTransition(orientation, direction));
+            }
+            writer.println("            " + transitions + ",");
+        }
+        writer.println("    };");
+        writer.println();
+
+        writer.println("    static final int[] PRECEDING_TRANSITIONS = {");
+        for (int orientation = 0; orientation < orientationCount; orientation++) {
+            StringBuilder precedingTransitions = new StringBuilder();
+            for (Direction direction : Direction.values()) {
+                precedingTransitions.append(direction.ordinal() > 0 ? ", " : "")
+                        .append(orientationTable.getPrecedingTransition(orientation, direction));
+            }
+            writer.println("            " + precedingTransitions + ",");
+        }
+        writer.println("    };");
+        writer.println();
+
+        writer.println("    static final Cell[][][] FOOTPRINTS = {");
+        for (int orientation = 0; orientation < orientationCount; orientation++) {
+            StringBuilder footprint = new StringBuilder();
+            for (Cell[] footprintRow : orientationTable.getFootprint(orientation)) {
+                StringBuilder cells = new StringBuilder();
+                for (Cell cell : footprintRow) {
+                    cells.append(cells.length() > 0 ? ", " : "").append("Cell.").append(cell.name());
+                }
+                footprint.append(footprint.length() > 0 ? ", " : "").append('{').append(cells).append('}');
+            }
+            writer.println("            {" + footprint + "},");
+        }
+        writer.println("    };");
+        writer.println();
+
+        writer.println("    static final long[][] FOOTPRINT_ROW_MASKS = {");
+        for (int orientation = 0; orientation < orientationCount; orientation++) {
+            StringBuilder rowMasks = new StringBuilder();
+            for (long rowMask : orientationTable.getFootprintRowMasks(orientation)) {
+                rowMasks.append(rowMasks.length() > 0 ? ", " : "").append(rowMask).append('L');
+            }
+            writer.println("            {" + rowMasks + "},");
+        }
+        writer.println("    };");
+
+        writeGetter(writer, "int", "getSize", "SIZE");
+        writeGetter(writer, "int[][]", "getOrientationVoxels", "ORIENTATION_VOXELS");
+        writeGetter(writer, "int[]", "getTransitions", "TRANSITIONS");
+        writeGetter(writer, "int[]", "getPrecedingTransitions", "PRECEDING_TRANSITIONS");
+        writeGetter(writer, "Cell[][][]", "getFootprints", "FOOTPRINTS");
+        writeGetter(writer, "long[][]", "getFootprintRowMasks", "FOOTPRINT_ROW_MASKS");
+        writer.println("}");
+    }
+
+    private static void writeGetter(PrintWriter writer, String type, String name, String field) {
+        writer.println();
+        writer.println("    @Override");
+        writer.println("    public " + type + " " + name + "() {");
+        writer.println("        return " + field + ";");
+        writer.println("    }");
+    }
+}
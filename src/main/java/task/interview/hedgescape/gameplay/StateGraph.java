@@ -0,0 +1,35 @@
+package task.interview.hedgescape.gameplay;
+
+import task.interview.hedgescape.positioning.Direction;
+
+/**
+ * The graph of the (packed) game states of a game board, connected by player moves.
+ * <p>
+ * It is implemented either directly by the {@link MoveRules}, which calculate each
+ * move on demand, or by a {@link BoardGraph}, which is compiled once per game board
+ * (see {@link BoardGraphCompiler}) and then only looks moves up.
+ * Both implementations give exactly the same results.
+ */
+public interface StateGraph {
+
+    /**
+     * @return The number of (packed) game states, including the invalid ones.
+     */
+    int getStateCount();
+
+    /**
+     * @param state     The current (packed) game state, which should be valid
+     *                  (see {@link MoveRules#isValidState(int)}).
+     * @param direction
+     * @return The resulting (packed) game state or one of {@link MoveRules#NO_ROOM},
+     * {@link MoveRules#OUT_OF_BOUNDS} or {@link MoveRules#BLOCKED} if the move is not possible.
+     */
+    int move(int state, Direction direction);
+
+    /**
+     * @param state     The resulting (packed) game state.
+     * @param direction The direction of the move leading to the given state.
+     * @return The valid preceding (packed) game state or '-1' if there is none.
+     */
+    int precede(int state, Direction direction);
+}
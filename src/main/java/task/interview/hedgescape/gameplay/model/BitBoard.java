@@ -0,0 +1,233 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+
+import java.util.Arrays;
+
+/**
+ * A bitboard representation of the blocked cells of the game board.
+ * <p>
+ * Each cell is a single bit, stored row by row (along the 'X' axis) in an array
+ * of 64-bit words, the bit index of cell [x, y] being x * width + y.
+ * The default 7x7 game board fits in a single word.
+ * <p>
+ * The player piece footprints are represented as bit masks as well, so checking
+ * whether a piece placement is blocked requires a single AND operation for small
+ * boards (see {@link #getShapeMask(long[])}) or one AND per footprint row for
+ * larger ones.
+ */
+public class BitBoard implements Comparable<BitBoard> {
+
+    private final int height;
+    private final int width;
+
+    private final long[] words;
+
+    public BitBoard(int height, int width) {
+        this.height = height;
+        this.width = width;
+
+        words = new long[(height * width + 63) >>> 6];
+    }
+
+    public BitBoard(BitBoard bitBoard) {
+        height = bitBoard.height;
+        width = bitBoard.width;
+
+        words = bitBoard.words.clone();
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Whether the whole board fits in a single word, so footprint masks
+     * can be shifted directly to any position (see {@link #getShapeMask(long[])}).
+     */
+    public boolean isSingleWord() {
+        return words.length == 1;
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * @param index
+     * @return The 64 cells starting at bit index * 64 (see the class description).
+     */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    public void setWord(int index, long word) {
+        words[index] = word;
+    }
+
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0L;
+        }
+    }
+
+    public void set(int x, int y) {
+        int index = x * width + y;
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public boolean isSet(int x, int y) {
+        int index = x * width + y;
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Looks for the next set cell, in the order of the bit indices (x * width + y).
+     *
+     * @param fromIndex The bit index to start from (inclusive).
+     * @return The bit index of the next set cell or '-1' if there are none.
+     */
+    public int nextSetIndex(int fromIndex) {
+        int wordIndex = fromIndex >>> 6;
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+
+        long word = words[wordIndex] & (-1L << fromIndex);
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+
+        return wordIndex * 64 + Long.numberOfTrailingZeros(word);
+    }
+
+    public int getSetCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Combines the footprint row masks of a player piece orientation into a single
+     * mask of the footprint placed at [0, 0] of this board. The mask can then be
+     * shifted by (x * width + y) bits in order to place the footprint at [x, y].
+     * <p>
+     * PLEASE NOTE:
+     * Only applicable for boards, which fit in a single word.
+     *
+     * @param footprintRowMasks See {@link PieceOrientationTable#getFootprintRowMasks(int)}.
+     * @return
+     */
+    public long getShapeMask(long[] footprintRowMasks) {
+        long shapeMask = 0L;
+        for (int row = 0; row < footprintRowMasks.length; row++) {
+            shapeMask |= footprintRowMasks[row] << (row * width);
+        }
+        return shapeMask;
+    }
+
+    /**
+     * Single word version of {@link #intersects(long[], int, int)}.
+     * The footprint should fit within the board boundaries at the given position.
+     *
+     * @param shapeMask See {@link #getShapeMask(long[])}.
+     * @param x
+     * @param y
+     * @return Whether any of the footprint cells are set on this board.
+     */
+    public boolean intersects(long shapeMask, int x, int y) {
+        return (words[0] & (shapeMask << (x * width + y))) != 0;
+    }
+
+    /**
+     * Checks whether any of the footprint cells placed at [x, y] are set on this board.
+     * The footprint should fit within the board boundaries at the given position.
+     *
+     * @param footprintRowMasks See {@link PieceOrientationTable#getFootprintRowMasks(int)}.
+     * @param x
+     * @param y
+     * @return
+     */
+    public boolean intersects(long[] footprintRowMasks, int x, int y) {
+        for (int row = 0; row < footprintRowMasks.length; row++) {
+            if ((readWord((x + row) * width + y) & footprintRowMasks[row]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a {@link Cell} matrix view of the board for rendering purposes.
+     *
+     * @return
+     */
+    public Cell[][] toCellMatrix() {
+        Cell[][] matrix = new Cell[height][width];
+
+        for (int x = 0; x < height; x++) {
+            for (int y = 0; y < width; y++) {
+                matrix[x][y] = isSet(x, y) ? Cell.BLOCKED : Cell.FREE;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Orders the boards of the same size by their words (compared as unsigned numbers).
+     *
+     * @param bitBoard
+     * @return
+     */
+    @Override
+    public int compareTo(BitBoard bitBoard) {
+        for (int i = 0; i < Math.min(words.length, bitBoard.words.length); i++) {
+            if (words[i] != bitBoard.words[i]) {
+                return Long.compareUnsigned(words[i], bitBoard.words[i]);
+            }
+        }
+        return Integer.compare(words.length, bitBoard.words.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BitBoard)) {
+            return false;
+        }
+
+        BitBoard bitBoard = (BitBoard) o;
+        return height == bitBoard.height && width == bitBoard.width && Arrays.equals(words, bitBoard.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return (height * 31 + width) * 31 + Arrays.hashCode(words);
+    }
+
+    /**
+     * Reads the 64 bits starting at the given bit index (spanning at most 2 words).
+     *
+     * @param index
+     * @return
+     */
+    private long readWord(int index) {
+        int wordIndex = index >>> 6;
+        long word = words[wordIndex] >>> index;
+
+        if ((index & 63) != 0 && wordIndex + 1 < words.length) {
+            word |= words[wordIndex + 1] << -index;
+        }
+
+        return word;
+    }
+}
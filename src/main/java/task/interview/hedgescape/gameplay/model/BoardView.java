@@ -0,0 +1,101 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.util.MatrixUtil;
+
+/**
+ * An incrementally updated {@link Cell} matrix view of a game board and the
+ * player piece footprint on top of it, used for rendering.
+ * <p>
+ * The matrix is only built as a whole the first time (or after too many changes).
+ * Afterwards, rendering the next player piece placement restores the cells under
+ * the previous footprint and any cells of the game board changed in the meantime
+ * (see {@link #invalidateCell(int, int)}), so the work per move depends on the
+ * piece size and not on the game board size.
+ */
+public class BoardView {
+
+    private final BitBoard gameBoard;
+
+    private Cell[][] matrix;
+
+    /**
+     * The (bit) indices of the cells changed on the game board since the last render.
+     * If there are too many of them, the whole matrix is rebuilt instead.
+     */
+    private final int[] dirtyCells;
+    private int dirtyCellCount;
+    private boolean fullRefresh = true;
+
+    private Cell[][] pieceFootprint;
+    private int pieceX;
+    private int pieceY;
+
+    public BoardView(BitBoard gameBoard) {
+        this.gameBoard = gameBoard;
+
+        dirtyCells = new int[Math.max(64, gameBoard.getHeight() * gameBoard.getWidth() / 16)];
+    }
+
+    /**
+     * Should be called each time a cell of the game board is blocked or freed.
+     *
+     * @param x
+     * @param y
+     */
+    public void invalidateCell(int x, int y) {
+        if (fullRefresh) {
+            return;
+        }
+
+        if (dirtyCellCount == dirtyCells.length) {
+            fullRefresh = true;
+            dirtyCellCount = 0;
+        } else {
+            dirtyCells[dirtyCellCount++] = x * gameBoard.getWidth() + y;
+        }
+    }
+
+    /**
+     * Updates the view with the player piece footprint at the given position.
+     * <p>
+     * PLEASE NOTE:
+     * The returned matrix is reused by the following renders and should not be modified.
+     *
+     * @param pieceFootprint
+     * @param x
+     * @param y
+     * @return
+     */
+    public Cell[][] render(Cell[][] pieceFootprint, int x, int y) {
+        if (fullRefresh) {
+            matrix = gameBoard.toCellMatrix();
+            fullRefresh = false;
+        } else {
+            for (int i = 0; i < dirtyCellCount; i++) {
+                restoreCell(dirtyCells[i] / gameBoard.getWidth(), dirtyCells[i] % gameBoard.getWidth());
+            }
+
+            if (this.pieceFootprint != null) {
+                for (int footprintX = 0; footprintX < this.pieceFootprint.length; footprintX++) {
+                    for (int footprintY = 0; footprintY < this.pieceFootprint[footprintX].length; footprintY++) {
+                        restoreCell(pieceX + footprintX, pieceY + footprintY);
+                    }
+                }
+            }
+        }
+        dirtyCellCount = 0;
+
+        MatrixUtil.overlayFootprint(matrix, pieceFootprint, x, y);
+
+        this.pieceFootprint = pieceFootprint;
+        pieceX = x;
+        pieceY = y;
+
+        return matrix;
+    }
+
+    private void restoreCell(int x, int y) {
+        matrix[x][y] = gameBoard.isSet(x, y) ? Cell.BLOCKED : Cell.FREE;
+    }
+}
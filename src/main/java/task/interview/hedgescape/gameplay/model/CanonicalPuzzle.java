@@ -0,0 +1,257 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Direction;
+import task.interview.hedgescape.positioning.Symmetry;
+
+import java.util.Arrays;
+
+/**
+ * The canonical form of a puzzle (game board, player piece, starting state and
+ * winning states), shared by all of its rotated / reflected variants.
+ * <p>
+ * Each {@link Symmetry}, which maps the game board onto itself and under which the
+ * player piece moves are symmetrical (see {@link PieceOrientationTable#getSymmetricOrientations}),
+ * is applied to the puzzle and the lexicographically smallest variant (compared by
+ * blocked cells, starting state and winning states, in this order) is the canonical one.
+ * Two puzzles are therefore equivalent exactly when their canonical forms are equal.
+ * <p>
+ * The canonical form also has a 64-bit Zobrist-style hash (a XOR of pseudo-random
+ * keys of each blocked cell, the starting state and each winning state), which can
+ * be used on its own to detect duplicates in large puzzle corpora.
+ */
+public class CanonicalPuzzle {
+
+    private static final long STATE_KEY_SALT = 0x5354415445000000L;
+    private static final long GOAL_KEY_SALT = 0x474F414C00000000L;
+
+    private final PieceOrientationTable orientationTable;
+    private final int boardHeight;
+    private final int boardWidth;
+
+    private final BitBoard gameBoard;
+    private final int startingState;
+    private final int[] winningStates;
+
+    /**
+     * The symmetry transforming the original puzzle into the canonical one.
+     */
+    private final Symmetry symmetry;
+
+    private final long hash;
+
+    private CanonicalPuzzle(PieceOrientationTable orientationTable, BitBoard gameBoard, int startingState,
+                            int[] winningStates, Symmetry symmetry) {
+        this.orientationTable = orientationTable;
+        this.gameBoard = gameBoard;
+        this.startingState = startingState;
+        this.winningStates = winningStates;
+        this.symmetry = symmetry;
+
+        boardHeight = gameBoard.getHeight();
+        boardWidth = gameBoard.getWidth();
+
+        long hash = mix(boardHeight * 31L + boardWidth) ^ mix(orientationTable.getShape(0).hashCode());
+        for (int index = gameBoard.nextSetIndex(0); index >= 0; index = gameBoard.nextSetIndex(index + 1)) {
+            hash ^= mix(index);
+        }
+        hash ^= mix(STATE_KEY_SALT + startingState);
+        for (int winningState : winningStates) {
+            hash ^= mix(GOAL_KEY_SALT + winningState);
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * @param gameBoard
+     * @param orientationTable
+     * @param startingState     The (packed) starting state (see {@link task.interview.hedgescape.gameplay.MoveRules}).
+     * @param winningConditions
+     * @return
+     */
+    public static CanonicalPuzzle of(BitBoard gameBoard, PieceOrientationTable orientationTable, int startingState,
+                                     WinningConditions winningConditions) {
+        int[] winningStates = winningConditions.findWinningStates(gameBoard, orientationTable);
+
+        CanonicalPuzzle canonicalPuzzle = new CanonicalPuzzle(orientationTable, new BitBoard(gameBoard),
+                startingState, winningStates, Symmetry.IDENTITY);
+
+        for (Symmetry symmetry : Symmetry.values()) {
+            if (symmetry == Symmetry.IDENTITY || !symmetry.isApplicable(gameBoard.getHeight(), gameBoard.getWidth())
+                    || orientationTable.getSymmetricOrientations(symmetry) == null) {
+                continue;
+            }
+
+            BitBoard transformedBoard = transform(gameBoard, symmetry);
+            int transformedStartingState =
+                    transformState(orientationTable, gameBoard.getHeight(), gameBoard.getWidth(), startingState, symmetry);
+            int[] transformedWinningStates = new int[winningStates.length];
+            for (int i = 0; i < winningStates.length; i++) {
+                transformedWinningStates[i] = transformState(orientationTable,
+                        gameBoard.getHeight(), gameBoard.getWidth(), winningStates[i], symmetry);
+            }
+            Arrays.sort(transformedWinningStates);
+
+            if (compare(transformedBoard, transformedStartingState, transformedWinningStates, canonicalPuzzle) < 0) {
+                canonicalPuzzle = new CanonicalPuzzle(orientationTable, transformedBoard,
+                        transformedStartingState, transformedWinningStates, symmetry);
+            }
+        }
+
+        return canonicalPuzzle;
+    }
+
+    public BitBoard getGameBoard() {
+        return gameBoard;
+    }
+
+    public int getStartingState() {
+        return startingState;
+    }
+
+    public Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    /**
+     * @return The 64-bit Zobrist-style hash of the canonical puzzle.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @param state A (packed) game state of the original puzzle.
+     * @return The corresponding game state of the canonical puzzle.
+     */
+    public int toCanonicalState(int state) {
+        return transformState(orientationTable, boardHeight, boardWidth, state, symmetry);
+    }
+
+    /**
+     * @param state A (packed) game state of the canonical puzzle.
+     * @return The corresponding game state of the original puzzle.
+     */
+    public int fromCanonicalState(int state) {
+        return transformState(orientationTable, boardHeight, boardWidth, state, symmetry.getInverse());
+    }
+
+    /**
+     * @param solution A solution of the original puzzle.
+     * @return The corresponding solution of the canonical puzzle.
+     */
+    public SolutionPath toCanonicalSolution(SolutionPath solution) {
+        return transformSolution(solution, symmetry);
+    }
+
+    /**
+     * @param solution A solution of the canonical puzzle.
+     * @return The corresponding solution of the original puzzle.
+     */
+    public SolutionPath fromCanonicalSolution(SolutionPath solution) {
+        return transformSolution(solution, symmetry.getInverse());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CanonicalPuzzle)) {
+            return false;
+        }
+
+        CanonicalPuzzle canonicalPuzzle = (CanonicalPuzzle) o;
+        return hash == canonicalPuzzle.hash
+                && startingState == canonicalPuzzle.startingState
+                && Arrays.equals(winningStates, canonicalPuzzle.winningStates)
+                && gameBoard.equals(canonicalPuzzle.gameBoard)
+                && orientationTable.getShape(0).equals(canonicalPuzzle.orientationTable.getShape(0));
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private SolutionPath transformSolution(SolutionPath solution, Symmetry symmetry) {
+        if (solution == null || symmetry == Symmetry.IDENTITY) {
+            return solution;
+        }
+
+        int[] states = new int[solution.getMoveCount() + 1];
+        byte[] directions = new byte[solution.getMoveCount()];
+
+        for (int move = 0; move <= solution.getMoveCount(); move++) {
+            states[move] = transformState(orientationTable, boardHeight, boardWidth, solution.getState(move), symmetry);
+            if (move < solution.getMoveCount()) {
+                directions[move] = (byte) symmetry.transform(solution.getDirection(move)).ordinal();
+            }
+        }
+
+        return new SolutionPath(states, directions);
+    }
+
+    private static int transformState(PieceOrientationTable orientationTable, int boardHeight, int boardWidth,
+                                      int state, Symmetry symmetry) {
+        if (symmetry == Symmetry.IDENTITY) {
+            return state;
+        }
+
+        int orientationCount = orientationTable.getOrientationCount();
+        int orientation = state % orientationCount;
+        int x = state / orientationCount / boardWidth;
+        int y = state / orientationCount % boardWidth;
+        int height = orientationTable.getFootprintHeight(orientation);
+        int width = orientationTable.getFootprintWidth(orientation);
+
+        // Only the symmetries keeping the board dimensions are applied, so the width stays the same.
+        int transformedX = symmetry.transformX(x, y, height, width, boardHeight, boardWidth);
+        int transformedY = symmetry.transformY(x, y, height, width, boardHeight, boardWidth);
+        int transformedOrientation = orientationTable.getSymmetricOrientations(symmetry)[orientation];
+
+        return (transformedX * boardWidth + transformedY) * orientationCount + transformedOrientation;
+    }
+
+    private static BitBoard transform(BitBoard gameBoard, Symmetry symmetry) {
+        int height = gameBoard.getHeight();
+        int width = gameBoard.getWidth();
+        BitBoard transformedBoard = new BitBoard(height, width);
+
+        for (int index = gameBoard.nextSetIndex(0); index >= 0; index = gameBoard.nextSetIndex(index + 1)) {
+            int x = index / width;
+            int y = index % width;
+            transformedBoard.set(symmetry.transformX(x, y, 1, 1, height, width),
+                    symmetry.transformY(x, y, 1, 1, height, width));
+        }
+
+        return transformedBoard;
+    }
+
+    private static int compare(BitBoard gameBoard, int startingState, int[] winningStates,
+                               CanonicalPuzzle canonicalPuzzle) {
+        int comparison = gameBoard.compareTo(canonicalPuzzle.gameBoard);
+        if (comparison != 0) {
+            return comparison;
+        }
+        if (startingState != canonicalPuzzle.startingState) {
+            return Integer.compare(startingState, canonicalPuzzle.startingState);
+        }
+
+        for (int i = 0; i < Math.min(winningStates.length, canonicalPuzzle.winningStates.length); i++) {
+            if (winningStates[i] != canonicalPuzzle.winningStates[i]) {
+                return Integer.compare(winningStates[i], canonicalPuzzle.winningStates[i]);
+            }
+        }
+        return Integer.compare(winningStates.length, canonicalPuzzle.winningStates.length);
+    }
+
+    /**
+     * The SplitMix64 finalizer, which turns consecutive values into well distributed pseudo-random keys.
+     */
+    private static long mix(long value) {
+        long z = (value + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,57 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.model.PieceRotation;
+import task.interview.hedgescape.util.MatrixUtil;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PieceShape} backed by the original dense bounding box matrix, transformed
+ * with {@link MatrixUtil}. Rotations cost O(N^3) regardless of the number of cells
+ * actually occupied by the piece (see {@link SparsePieceShape}).
+ */
+public class DensePieceShape implements PieceShape {
+
+    private final Cell[][][] boundingBox;
+
+    /**
+     * @param boundingBox The bounding box is copied, the piece shape should already be aligned in it.
+     */
+    public DensePieceShape(Cell[][][] boundingBox) {
+        this.boundingBox = MatrixUtil.copy3DMatrix(boundingBox);
+    }
+
+    @Override
+    public int getSize() {
+        return boundingBox.length;
+    }
+
+    @Override
+    public PieceShape rotate(PieceRotation pieceRotation) {
+        DensePieceShape rotatedShape = new DensePieceShape(boundingBox);
+        MatrixUtil.rotate3DMatrix(rotatedShape.boundingBox, pieceRotation);
+
+        return rotatedShape;
+    }
+
+    @Override
+    public Cell[][] getFootprint() {
+        return MatrixUtil.getPieceShapeFootprint(boundingBox);
+    }
+
+    @Override
+    public Cell[][][] toBoundingBox() {
+        return MatrixUtil.copy3DMatrix(boundingBox);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DensePieceShape && Arrays.deepEquals(boundingBox, ((DensePieceShape) o).boundingBox);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(boundingBox);
+    }
+}
@@ -0,0 +1,311 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.Direction;
+import task.interview.hedgescape.positioning.Symmetry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds every orientation the player piece can reach by tumbling,
+ * together with the orientation reached after each possible tumble.
+ * <p>
+ * A cube has only 24 distinct orientations in 3D space, so instead of copying
+ * and rotating the bounding box on every player move, all reachable orientations
+ * are calculated once per piece shape and identified by an integer id.
+ * A player move then becomes a simple lookup in the transition array.
+ * <p>
+ * The orientation with id '0' is always the initial piece shape.
+ */
+public class PieceOrientationTable {
+
+    private static final int DIRECTIONS_COUNT = Direction.values().length;
+
+    /**
+     * The shape of the player piece in each orientation.
+     */
+    private final PieceShape[] shapes;
+
+    /**
+     * The cached footprint of the player piece for each orientation
+     * (see {@link PieceShape#getFootprint()}).
+     */
+    private final Cell[][][] footprints;
+
+    /**
+     * The footprint of each orientation as a bit mask per footprint row ('X' axis),
+     * with bit 'y' set for {@link Cell.PLAYER} cells (see {@link BitBoard}).
+     */
+    private final long[][] footprintRowMasks;
+
+    /**
+     * The resulting orientation id for each (orientation id, {@link Direction}) pair,
+     * indexed as: orientation * 4 + direction ordinal.
+     */
+    private final int[] transitions;
+
+    /**
+     * The reverse of the transitions array - the orientation id, from which the piece
+     * reaches each (orientation id, {@link Direction}) pair, or '-1' if there is none.
+     * <p>
+     * PLEASE NOTE:
+     * A single preceding orientation is enough, as tumbling a shape aligned in its bounding
+     * box is reversible (by tumbling in the opposite direction), so no two orientations reach
+     * the same orientation in the same direction. This is checked when the table is built.
+     */
+    private final int[] precedingTransitions;
+
+    /**
+     * The orientation ids mapped by each {@link Symmetry} (see {@link #getSymmetricOrientations(Symmetry)}),
+     * calculated on first use.
+     */
+    private volatile int[][] symmetricOrientations;
+
+    private PieceOrientationTable(PieceShape[] shapes, int[] transitions, int[] precedingTransitions,
+                                  Cell[][][] footprints, long[][] footprintRowMasks) {
+        this.shapes = shapes;
+        this.transitions = transitions;
+        this.precedingTransitions = precedingTransitions;
+        this.footprints = footprints;
+        this.footprintRowMasks = footprintRowMasks;
+    }
+
+    /**
+     * @param transitions
+     * @return
+     * @throws IllegalArgumentException If two orientations reach the same orientation in the
+     *                                  same direction (the initial shape is not aligned).
+     */
+    private static int[] calculatePrecedingTransitions(int[] transitions) {
+        int[] precedingTransitions = new int[transitions.length];
+        Arrays.fill(precedingTransitions, -1);
+
+        for (int transition = 0; transition < transitions.length; transition++) {
+            int precedingTransition = transitions[transition] * DIRECTIONS_COUNT + transition % DIRECTIONS_COUNT;
+
+            if (precedingTransitions[precedingTransition] >= 0) {
+                throw new IllegalArgumentException("Orientations " + precedingTransitions[precedingTransition]
+                        + " and " + transition / DIRECTIONS_COUNT + " tumble to the same orientation - the initial"
+                        + " piece shape should be aligned in its bounding box.");
+            }
+            precedingTransitions[precedingTransition] = transition / DIRECTIONS_COUNT;
+        }
+
+        return precedingTransitions;
+    }
+
+    private static Cell[][][] calculateFootprints(PieceShape[] shapes) {
+        Cell[][][] footprints = new Cell[shapes.length][][];
+
+        for (int orientation = 0; orientation < shapes.length; orientation++) {
+            footprints[orientation] = shapes[orientation].getFootprint();
+        }
+
+        return footprints;
+    }
+
+    private static long[][] calculateFootprintRowMasks(Cell[][][] footprints) {
+        long[][] footprintRowMasks = new long[footprints.length][];
+
+        for (int orientation = 0; orientation < footprints.length; orientation++) {
+            Cell[][] footprint = footprints[orientation];
+
+            footprintRowMasks[orientation] = new long[footprint.length];
+            for (int x = 0; x < footprint.length; x++) {
+                for (int y = 0; y < footprint[x].length; y++) {
+                    if (footprint[x][y] == Cell.PLAYER) {
+                        footprintRowMasks[orientation][x] |= 1L << y;
+                    }
+                }
+            }
+        }
+
+        return footprintRowMasks;
+    }
+
+    /**
+     * Builds the orientation table of a dense player piece bounding box
+     * (see {@link DensePieceShape}).
+     *
+     * @param pieceShape The initial player piece bounding box.
+     * @return The orientation table for the given shape.
+     * @throws IllegalArgumentException If the shape is not aligned in its bounding box.
+     */
+    public static PieceOrientationTable build(Cell[][][] pieceShape) {
+        return build(new DensePieceShape(pieceShape));
+    }
+
+    /**
+     * Explores all orientations reachable from the given piece shape, by tumbling
+     * it in each of the 4 cardinal directions, until no new orientations are found.
+     *
+     * @param pieceShape The initial player piece shape.
+     * @return The orientation table for the given shape.
+     * @throws IllegalArgumentException If the shape is not aligned in its bounding box
+     *                                  (see {@link PieceShape}).
+     */
+    public static PieceOrientationTable build(PieceShape pieceShape) {
+        List<PieceShape> orientations = new ArrayList<>();
+        Map<PieceShape, Integer> orientationIds = new HashMap<>();
+        List<Integer> transitions = new ArrayList<>();
+
+        orientations.add(pieceShape);
+        orientationIds.put(pieceShape, 0);
+
+        // The list grows while it is being explored (breadth-first).
+        for (int orientation = 0; orientation < orientations.size(); orientation++) {
+            for (Direction direction : Direction.values()) {
+                PieceShape reorientedPiece = orientations.get(orientation).rotate(direction.getRotation());
+
+                Integer reorientedId = orientationIds.get(reorientedPiece);
+                if (reorientedId == null) {
+                    reorientedId = orientations.size();
+                    orientations.add(reorientedPiece);
+                    orientationIds.put(reorientedPiece, reorientedId);
+                }
+
+                transitions.add(reorientedId);
+            }
+        }
+
+        int[] transitionArray = new int[transitions.size()];
+        for (int i = 0; i < transitionArray.length; i++) {
+            transitionArray[i] = transitions.get(i);
+        }
+
+        PieceShape[] shapes = orientations.toArray(new PieceShape[0]);
+        Cell[][][] footprints = calculateFootprints(shapes);
+
+        return new PieceOrientationTable(shapes, transitionArray, calculatePrecedingTransitions(transitionArray),
+                footprints, calculateFootprintRowMasks(footprints));
+    }
+
+    /**
+     * Restores the orientation table of a piece shape from the tables precomputed at
+     * build time, without exploring its orientations (only the sparse shapes are
+     * wrapped around the precomputed voxels).
+     *
+     * @param pieceTables
+     * @return The orientation table for the precomputed shape.
+     */
+    public static PieceOrientationTable fromTables(PieceTables pieceTables) {
+        int[][] orientationVoxels = pieceTables.getOrientationVoxels();
+
+        PieceShape[] shapes = new PieceShape[orientationVoxels.length];
+        for (int orientation = 0; orientation < shapes.length; orientation++) {
+            shapes[orientation] = SparsePieceShape.fromVoxels(pieceTables.getSize(),
+                    orientationVoxels[orientation], orientationVoxels[orientation].length);
+        }
+
+        return new PieceOrientationTable(shapes, pieceTables.getTransitions(), pieceTables.getPrecedingTransitions(),
+                pieceTables.getFootprints(), pieceTables.getFootprintRowMasks());
+    }
+
+    public int getOrientationCount() {
+        return shapes.length;
+    }
+
+    public int getTransition(int orientation, Direction direction) {
+        return transitions[orientation * DIRECTIONS_COUNT + direction.ordinal()];
+    }
+
+    public int getPrecedingTransition(int orientation, Direction direction) {
+        return precedingTransitions[orientation * DIRECTIONS_COUNT + direction.ordinal()];
+    }
+
+    public PieceShape getShape(int orientation) {
+        return shapes[orientation];
+    }
+
+    /**
+     * @param orientation
+     * @return A new dense bounding box matrix of the given orientation.
+     */
+    public Cell[][][] getBoundingBox(int orientation) {
+        return shapes[orientation].toBoundingBox();
+    }
+
+    public Cell[][] getFootprint(int orientation) {
+        return footprints[orientation];
+    }
+
+    public int getFootprintHeight(int orientation) {
+        return footprints[orientation].length;
+    }
+
+    public int getFootprintWidth(int orientation) {
+        return footprints[orientation][0].length;
+    }
+
+    public long[] getFootprintRowMasks(int orientation) {
+        return footprintRowMasks[orientation];
+    }
+
+    /**
+     * Maps each orientation to the orientation of the piece reflected / rotated by
+     * the given symmetry, if tumbling the piece is symmetrical as well:
+     * - the transformed shape of each orientation should be one of the orientations
+     * (not the case with reflections of chiral pieces);
+     * - the footprints should be transformed along with the shape and have no side
+     * of a single cell (the boundary checks of {@link task.interview.hedgescape.gameplay.MoveRules}
+     * are not symmetrical for them);
+     * - tumbling in the transformed direction should lead to the transformed orientation.
+     *
+     * @param symmetry
+     * @return The symmetric orientation ids indexed by orientation id, or 'null' if the
+     * player piece moves are not symmetrical under the given symmetry.
+     */
+    public int[] getSymmetricOrientations(Symmetry symmetry) {
+        int[][] orientations = symmetricOrientations;
+
+        if (orientations == null) {
+            orientations = new int[Symmetry.values().length][];
+            for (Symmetry s : Symmetry.values()) {
+                orientations[s.ordinal()] = mapSymmetricOrientations(s);
+            }
+            symmetricOrientations = orientations;
+        }
+
+        return orientations[symmetry.ordinal()];
+    }
+
+    private int[] mapSymmetricOrientations(Symmetry symmetry) {
+        int[] orientations = new int[shapes.length];
+
+        for (int orientation = 0; orientation < shapes.length; orientation++) {
+            if (getFootprintHeight(orientation) < 2 || getFootprintWidth(orientation) < 2) {
+                return null;
+            }
+
+            Cell[][][] transformedBox = symmetry.transform(getBoundingBox(orientation));
+            orientations[orientation] = -1;
+            for (int candidate = 0; candidate < shapes.length; candidate++) {
+                if (Arrays.deepEquals(transformedBox, getBoundingBox(candidate))) {
+                    orientations[orientation] = candidate;
+                    break;
+                }
+            }
+
+            if (orientations[orientation] < 0
+                    || !Arrays.deepEquals(symmetry.transform(footprints[orientation]),
+                    footprints[orientations[orientation]])) {
+                return null;
+            }
+        }
+
+        for (int orientation = 0; orientation < shapes.length; orientation++) {
+            for (Direction direction : Direction.values()) {
+                if (getTransition(orientations[orientation], symmetry.transform(direction))
+                        != orientations[getTransition(orientation, direction)]) {
+                    return null;
+                }
+            }
+        }
+
+        return orientations;
+    }
+}
@@ -0,0 +1,39 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.model.PieceRotation;
+
+/**
+ * The 3-dimensional shape of the player piece in a single orientation, always
+ * aligned with the starting point of its (cubic) bounding box.
+ * <p>
+ * Implementations are immutable and compare equal when they describe the same
+ * shape in the same orientation, so the distinct orientations of a piece can be
+ * collected in a hash map (see {@link PieceOrientationTable#build(PieceShape)}).
+ */
+public interface PieceShape {
+
+    /**
+     * @return The length of each side of the bounding box.
+     */
+    int getSize();
+
+    /**
+     * @param pieceRotation
+     * @return The shape rotated to 90º around the given axis and realigned in its bounding box.
+     */
+    PieceShape rotate(PieceRotation pieceRotation);
+
+    /**
+     * The bottommost (z=0) X/Y layer of the shape, containing {@link Cell.PLAYER}
+     * and {@link Cell.FREE} positions, but without any empty rows or columns.
+     *
+     * @return
+     */
+    Cell[][] getFootprint();
+
+    /**
+     * @return A new dense bounding box matrix of the shape.
+     */
+    Cell[][][] toBoundingBox();
+}
@@ -0,0 +1,118 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes player piece shapes in a compact binary format:
+ * [int magic number] [byte format version] [byte bounding box size N]
+ * [N^3 bits, set for {@link Cell.PLAYER} cells, in x, y, z order, from the lowest bit of each byte]
+ * <p>
+ * The default 3x3x3 piece takes 10 bytes, instead of the ~400 bytes of the JSON
+ * bounding box with named {@link Cell} values, and is read byte by byte straight
+ * into a {@link SparsePieceShape}, without any reflection.
+ * <p>
+ * PLEASE NOTE:
+ * The JSON format is still the one to author pieces in - the binary files are
+ * converted from it (see {@link task.interview.hedgescape.Main}).
+ */
+public class PieceShapeFormat {
+
+    public static final int MAGIC_NUMBER = 0x48504345;
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * @param inputStream Not closed.
+     * @return
+     * @throws IOException If the stream does not contain a piece shape in this format.
+     */
+    public static SparsePieceShape read(InputStream inputStream) throws IOException {
+        int magicNumber = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            magicNumber = magicNumber << 8 | readByte(inputStream);
+        }
+        if (magicNumber != MAGIC_NUMBER) {
+            throw new IOException("Not a piece shape file.");
+        }
+        if (readByte(inputStream) != FORMAT_VERSION) {
+            throw new IOException("Unsupported piece shape file version.");
+        }
+
+        int size = readByte(inputStream);
+        if (size == 0) {
+            throw new IOException("Invalid piece shape size: " + size);
+        }
+
+        int[] voxels = new int[size * size * size];
+        int voxelCount = 0;
+        int cell = 0;
+        int cellBits = 0;
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (cell % 8 == 0) {
+                        cellBits = readByte(inputStream);
+                    }
+                    if ((cellBits & 1 << (cell % 8)) != 0) {
+                        voxels[voxelCount++] = SparsePieceShape.packVoxel(x, y, z);
+                    }
+                    cell++;
+                }
+            }
+        }
+
+        return SparsePieceShape.fromVoxels(size, voxels, voxelCount);
+    }
+
+    /**
+     * @param boundingBox  The piece shape should already be aligned in the bounding box.
+     * @param outputStream Not closed.
+     * @throws IOException
+     */
+    public static void write(Cell[][][] boundingBox, OutputStream outputStream) throws IOException {
+        int size = boundingBox.length;
+        if (size == 0 || size > 0xFF) {
+            throw new IllegalArgumentException("Invalid piece shape size: " + size);
+        }
+
+        for (int i = Integer.BYTES - 1; i >= 0; i--) {
+            outputStream.write(MAGIC_NUMBER >>> (i * 8));
+        }
+        outputStream.write(FORMAT_VERSION);
+        outputStream.write(size);
+
+        int cell = 0;
+        int cellBits = 0;
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (boundingBox[x][y][z] == Cell.PLAYER) {
+                        cellBits |= 1 << (cell % 8);
+                    }
+                    if (++cell % 8 == 0) {
+                        outputStream.write(cellBits);
+                        cellBits = 0;
+                    }
+                }
+            }
+        }
+        if (cell % 8 != 0) {
+            outputStream.write(cellBits);
+        }
+    }
+
+    private static int readByte(InputStream inputStream) throws IOException {
+        int value = inputStream.read();
+        if (value < 0) {
+            throw new EOFException("Incomplete piece shape file.");
+        }
+
+        return value;
+    }
+}
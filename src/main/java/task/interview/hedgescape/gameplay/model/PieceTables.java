@@ -0,0 +1,44 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+
+/**
+ * The orientation table of a player piece shape, precomputed at build time (see
+ * {@link task.interview.hedgescape.gameplay.PieceTableGenerator}) and kept in
+ * static primitive arrays of a generated class implementing this interface.
+ * <p>
+ * The arrays are returned as they are (not copied) and should not be modified.
+ */
+public interface PieceTables {
+
+    /**
+     * @return The length of each side of the piece bounding box.
+     */
+    int getSize();
+
+    /**
+     * @return The packed voxels of each orientation, in ascending order (see {@link SparsePieceShape}).
+     */
+    int[][] getOrientationVoxels();
+
+    /**
+     * @return The resulting orientation ids, indexed as: orientation * 4 + direction ordinal.
+     */
+    int[] getTransitions();
+
+    /**
+     * @return The preceding orientation ids, indexed as: orientation * 4 + direction ordinal
+     * (see {@link PieceOrientationTable#getPrecedingTransition}).
+     */
+    int[] getPrecedingTransitions();
+
+    /**
+     * @return The footprint of each orientation (see {@link PieceShape#getFootprint()}).
+     */
+    Cell[][][] getFootprints();
+
+    /**
+     * @return The footprint row masks of each orientation (see {@link PieceOrientationTable#getFootprintRowMasks}).
+     */
+    long[][] getFootprintRowMasks();
+}
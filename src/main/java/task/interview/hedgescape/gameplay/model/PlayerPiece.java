@@ -9,18 +9,20 @@ import task.interview.hedgescape.positioning.model.Position;
  */
 public class PlayerPiece {
     /**
-     * This array represents the "bounding box" of the player piece.
+     * All orientations of the piece shape, which are reachable by tumbling.
      * The 3-dimensional shape of the piece itself is defined by the cells
-     * holding {@link Cell.PLAYER} values.
-     * <p>
-     * The contents of the bounding box should be updated with the correct
-     * orientation of the initially defined shape each time the piece tumbles (moves).
+     * holding {@link Cell.PLAYER} values in each orientation's bounding box.
+     */
+    private PieceOrientationTable orientationTable;
+
+    /**
+     * The id of the current orientation of the initially defined shape
+     * in the {@link PieceOrientationTable}.
      * <p>
-     * This is done as an optimization, so the current shape does not have
-     * to be derived by the orientation alone after performing the player move
-     * calculations.
+     * This should be updated each time the piece tumbles (moves), so the
+     * current shape does not have to be derived by rotating the bounding box.
      */
-    private Cell[][][] boundingBox;
+    private int orientation;
 
     /**
      * This field holds the x/y coordinates of the player piece on the game grid.
@@ -29,17 +31,35 @@ public class PlayerPiece {
      */
     private Position position;
 
-    public PlayerPiece(Cell[][][] pieceShape) {
-        boundingBox = pieceShape;
+    public PlayerPiece(PieceOrientationTable orientationTable) {
+        this.orientationTable = orientationTable;
         position = new Position(0, 0);
     }
 
+    /**
+     * PLEASE NOTE:
+     * A new bounding box matrix is created on each call (see {@link PieceShape#toBoundingBox()}).
+     *
+     * @return The bounding box of the piece in its current orientation.
+     */
     public Cell[][][] getBoundingBox() {
-        return boundingBox;
+        return orientationTable.getBoundingBox(orientation);
+    }
+
+    public Cell[][] getFootprint() {
+        return orientationTable.getFootprint(orientation);
+    }
+
+    public PieceOrientationTable getOrientationTable() {
+        return orientationTable;
+    }
+
+    public int getOrientation() {
+        return orientation;
     }
 
-    public void setBoundingBox(Cell[][][] boundingBox) {
-        this.boundingBox = boundingBox;
+    public void setOrientation(int orientation) {
+        this.orientation = orientation;
     }
 
     public Position getPosition() {
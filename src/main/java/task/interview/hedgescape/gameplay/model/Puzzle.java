@@ -0,0 +1,102 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.util.MatrixUtil;
+
+/**
+ * An immutable snapshot of a generated puzzle: the blocked cells of the game board,
+ * the starting position and orientation of the player piece and the solution
+ * (if one was found).
+ * <p>
+ * Random puzzles also keep the seed they were generated from, so they can be
+ * generated again from the seed alone (see {@link #getSeed()}).
+ */
+public class Puzzle {
+
+    private final BitBoard gameBoard;
+    private final PieceOrientationTable orientationTable;
+
+    private final int startingX;
+    private final int startingY;
+    private final int startingOrientation;
+
+    private final SolutionPath solution;
+
+    private final Long seed;
+
+    public Puzzle(BitBoard gameBoard, PieceOrientationTable orientationTable,
+                  int startingX, int startingY, int startingOrientation, SolutionPath solution) {
+        this(gameBoard, orientationTable, startingX, startingY, startingOrientation, solution, null);
+    }
+
+    public Puzzle(BitBoard gameBoard, PieceOrientationTable orientationTable,
+                  int startingX, int startingY, int startingOrientation, SolutionPath solution, Long seed) {
+        this.gameBoard = new BitBoard(gameBoard);
+        this.orientationTable = orientationTable;
+        this.startingX = startingX;
+        this.startingY = startingY;
+        this.startingOrientation = startingOrientation;
+        this.solution = solution;
+        this.seed = seed;
+    }
+
+    public BitBoard getGameBoard() {
+        return gameBoard;
+    }
+
+    public PieceOrientationTable getOrientationTable() {
+        return orientationTable;
+    }
+
+    public int getStartingX() {
+        return startingX;
+    }
+
+    public int getStartingY() {
+        return startingY;
+    }
+
+    public int getStartingOrientation() {
+        return startingOrientation;
+    }
+
+    public boolean isSolvable() {
+        return solution != null;
+    }
+
+    public SolutionPath getSolution() {
+        return solution;
+    }
+
+    /**
+     * PLEASE NOTE:
+     * The seed only determines the puzzle together with the {@link task.interview.hedgescape.gameplay.GameConfig},
+     * player piece and winning conditions of the game controller, and the method that generated it
+     * (see {@link task.interview.hedgescape.gameplay.GameController#generateRandomScenario(long)}).
+     *
+     * @return The seed the puzzle was generated from or 'null' if it was not generated randomly.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param solution
+     * @return A copy of this puzzle with the given solution.
+     */
+    public Puzzle withSolution(SolutionPath solution) {
+        return new Puzzle(gameBoard, orientationTable, startingX, startingY, startingOrientation, solution, seed);
+    }
+
+    /**
+     * Creates a {@link Cell} matrix view of the puzzle (at its starting state) for rendering purposes.
+     *
+     * @return
+     */
+    public Cell[][] toCellMatrix() {
+        Cell[][] boardView = gameBoard.toCellMatrix();
+        MatrixUtil.overlayFootprint(boardView, orientationTable.getFootprint(startingOrientation), startingX, startingY);
+
+        return boardView;
+    }
+}
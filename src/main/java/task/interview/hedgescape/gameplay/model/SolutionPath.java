@@ -0,0 +1,92 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The sequence of player moves solving a puzzle, kept as primitive arrays of
+ * (packed) game states and move directions.
+ */
+public class SolutionPath {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * All game states along the path, from the starting to the winning one.
+     */
+    private final int[] states;
+
+    /**
+     * The direction ordinal of the move leading to each game state after the first one.
+     */
+    private final byte[] directions;
+
+    public SolutionPath(int[] states, byte[] directions) {
+        this.states = states;
+        this.directions = directions;
+    }
+
+    /**
+     * Reconstructs the path leading to the given game state by following the
+     * preceding move recorded for each state by the path-finding algorithm.
+     *
+     * @param precedingMoves The preceding state of each game state and the direction of the
+     *                       move made from it, packed as: state * 4 + direction ordinal,
+     *                       or '-1' for the starting state.
+     * @param state          The final game state.
+     * @return
+     */
+    public static SolutionPath trace(int[] precedingMoves, int state) {
+        return trace(s -> precedingMoves[s], state);
+    }
+
+    /**
+     * Same as {@link #trace(int[], int)}, but the preceding moves are looked up by the
+     * given function, e.g. from a store outside of the heap.
+     *
+     * @param precedingMoves The preceding move of each game state, packed as above.
+     * @param state          The final game state.
+     * @return
+     */
+    public static SolutionPath trace(IntUnaryOperator precedingMoves, int state) {
+        int moveCount = 0;
+        for (int s = state; precedingMoves.applyAsInt(s) >= 0; s = precedingMoves.applyAsInt(s) >>> 2) {
+            moveCount++;
+        }
+
+        int[] states = new int[moveCount + 1];
+        byte[] directions = new byte[moveCount];
+
+        int s = state;
+        for (int move = moveCount; move > 0; move--) {
+            int precedingMove = precedingMoves.applyAsInt(s);
+            states[move] = s;
+            directions[move - 1] = (byte) (precedingMove & 3);
+            s = precedingMove >>> 2;
+        }
+        states[0] = s;
+
+        return new SolutionPath(states, directions);
+    }
+
+    public int getMoveCount() {
+        return directions.length;
+    }
+
+    /**
+     * @param index From 0 (the starting state) to {@link #getMoveCount()} (the winning state).
+     * @return
+     */
+    public int getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * @param move From 0 to {@link #getMoveCount()} - 1.
+     * @return
+     */
+    public Direction getDirection(int move) {
+        return DIRECTIONS[directions[move]];
+    }
+}
@@ -0,0 +1,229 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.model.PieceRotation;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PieceShape} backed by the list of {@link Cell.PLAYER} cells (voxels)
+ * only, each one packed in a single integer as: x << 20 | y << 10 | z.
+ * <p>
+ * As the (sorted) voxel array is the whole representation:
+ * - a rotation is a permutation of two of the coordinates, one of them mirrored;
+ * - the realignment is a subtraction of the lowest coordinate along each axis;
+ * - the footprint consists of the voxels with z == 0.
+ * So large pieces with few occupied cells (e.g. thin shells) rotate in O(voxels)
+ * instead of O(N^3) and take a fraction of the memory of the dense bounding box.
+ */
+public class SparsePieceShape implements PieceShape {
+
+    private static final int COORDINATE_BITS = 10;
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+
+    /**
+     * The largest supported bounding box size (limited by the packed coordinates).
+     */
+    public static final int MAXIMUM_SIZE = 1 << COORDINATE_BITS;
+
+    private final int size;
+
+    /**
+     * The packed voxel coordinates, in ascending order.
+     */
+    private final int[] voxels;
+
+    private SparsePieceShape(int size, int[] voxels) {
+        this.size = size;
+        this.voxels = voxels;
+    }
+
+    /**
+     * @param boundingBox The piece shape should already be aligned in the bounding box.
+     * @return
+     */
+    public static SparsePieceShape fromBoundingBox(Cell[][][] boundingBox) {
+        if (boundingBox.length > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("The bounding box is larger than " + MAXIMUM_SIZE + ": "
+                    + boundingBox.length);
+        }
+
+        int[] voxels = new int[boundingBox.length * boundingBox.length * boundingBox.length];
+        int voxelCount = 0;
+
+        for (int x = 0; x < boundingBox.length; x++) {
+            for (int y = 0; y < boundingBox.length; y++) {
+                for (int z = 0; z < boundingBox.length; z++) {
+                    if (boundingBox[x][y][z] == Cell.PLAYER) {
+                        voxels[voxelCount++] = packVoxel(x, y, z);
+                    }
+                }
+            }
+        }
+
+        // The voxels are already sorted, as they are packed in the order of iteration.
+        return new SparsePieceShape(boundingBox.length, Arrays.copyOf(voxels, voxelCount));
+    }
+
+    /**
+     * @param size       The size of the bounding box.
+     * @param voxels     The packed coordinates of the voxels, in ascending order
+     *                   (see {@link #packVoxel(int, int, int)}).
+     * @param voxelCount The number of voxels used from the array.
+     * @return
+     */
+    public static SparsePieceShape fromVoxels(int size, int[] voxels, int voxelCount) {
+        if (size > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("The bounding box is larger than " + MAXIMUM_SIZE + ": " + size);
+        }
+
+        return new SparsePieceShape(size, Arrays.copyOf(voxels, voxelCount));
+    }
+
+    public static int packVoxel(int x, int y, int z) {
+        return x << (2 * COORDINATE_BITS) | y << COORDINATE_BITS | z;
+    }
+
+    public static int getVoxelX(int voxel) {
+        return voxel >>> (2 * COORDINATE_BITS);
+    }
+
+    public static int getVoxelY(int voxel) {
+        return (voxel >>> COORDINATE_BITS) & COORDINATE_MASK;
+    }
+
+    public static int getVoxelZ(int voxel) {
+        return voxel & COORDINATE_MASK;
+    }
+
+    public int getVoxelCount() {
+        return voxels.length;
+    }
+
+    /**
+     * @param index
+     * @return The packed coordinates of the voxel (see {@link #packVoxel(int, int, int)}).
+     */
+    public int getVoxel(int index) {
+        return voxels[index];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Follows the same rules as {@link task.interview.hedgescape.util.MatrixUtil#rotate3DMatrix}:
+     * - X axis (Y / Z plane) clockwise: [y, z] -> [z, N - 1 - y], counter-clockwise: [y, z] -> [N - 1 - z, y];
+     * - Y axis (X / Z plane) clockwise: [x, z] -> [z, N - 1 - x], counter-clockwise: [x, z] -> [N - 1 - z, x];
+     * - Z axis - not rotated (only realigned).
+     *
+     * @param pieceRotation
+     * @return
+     */
+    @Override
+    public PieceShape rotate(PieceRotation pieceRotation) {
+        int[] rotatedVoxels = new int[voxels.length];
+        int minimumX = Integer.MAX_VALUE;
+        int minimumY = Integer.MAX_VALUE;
+        int minimumZ = Integer.MAX_VALUE;
+
+        boolean clockwise = pieceRotation.isClockwise();
+
+        for (int i = 0; i < voxels.length; i++) {
+            int x = getVoxelX(voxels[i]);
+            int y = getVoxelY(voxels[i]);
+            int z = getVoxelZ(voxels[i]);
+            int rotatedX = x;
+            int rotatedY = y;
+            int rotatedZ = z;
+
+            switch (pieceRotation.getAxis()) {
+                case X:
+                    rotatedY = clockwise ? z : size - 1 - z;
+                    rotatedZ = clockwise ? size - 1 - y : y;
+                    break;
+                case Y:
+                    rotatedX = clockwise ? z : size - 1 - z;
+                    rotatedZ = clockwise ? size - 1 - x : x;
+                    break;
+                case Z:
+                    break;
+            }
+
+            minimumX = Math.min(minimumX, rotatedX);
+            minimumY = Math.min(minimumY, rotatedY);
+            minimumZ = Math.min(minimumZ, rotatedZ);
+            rotatedVoxels[i] = packVoxel(rotatedX, rotatedY, rotatedZ);
+        }
+
+        // Realign the shape in the bounding box (the packed coordinates can be offset directly).
+        int offset = voxels.length == 0 ? 0 : packVoxel(minimumX, minimumY, minimumZ);
+        for (int i = 0; i < rotatedVoxels.length; i++) {
+            rotatedVoxels[i] -= offset;
+        }
+        Arrays.sort(rotatedVoxels);
+
+        return new SparsePieceShape(size, rotatedVoxels);
+    }
+
+    @Override
+    public Cell[][] getFootprint() {
+        int footprintHeight = 0;
+        int footprintWidth = 0;
+
+        for (int voxel : voxels) {
+            if (getVoxelZ(voxel) == 0) {
+                footprintHeight = Math.max(footprintHeight, getVoxelX(voxel) + 1);
+                footprintWidth = Math.max(footprintWidth, getVoxelY(voxel) + 1);
+            }
+        }
+
+        // Not an aligned shape, keep the whole layer (as MatrixUtil#getPieceShapeFootprint does).
+        if (footprintHeight == 0) {
+            footprintHeight = size;
+            footprintWidth = size;
+        }
+
+        Cell[][] footprint = new Cell[footprintHeight][footprintWidth];
+        for (Cell[] footprintRow : footprint) {
+            Arrays.fill(footprintRow, Cell.FREE);
+        }
+
+        for (int voxel : voxels) {
+            if (getVoxelZ(voxel) == 0) {
+                footprint[getVoxelX(voxel)][getVoxelY(voxel)] = Cell.PLAYER;
+            }
+        }
+
+        return footprint;
+    }
+
+    @Override
+    public Cell[][][] toBoundingBox() {
+        Cell[][][] boundingBox = new Cell[size][size][size];
+        for (Cell[][] layer : boundingBox) {
+            for (Cell[] row : layer) {
+                Arrays.fill(row, Cell.FREE);
+            }
+        }
+
+        for (int voxel : voxels) {
+            boundingBox[getVoxelX(voxel)][getVoxelY(voxel)][getVoxelZ(voxel)] = Cell.PLAYER;
+        }
+
+        return boundingBox;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SparsePieceShape
+                && size == ((SparsePieceShape) o).size && Arrays.equals(voxels, ((SparsePieceShape) o).voxels);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(voxels);
+    }
+}
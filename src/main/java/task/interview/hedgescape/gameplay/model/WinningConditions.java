@@ -5,15 +5,35 @@ import task.interview.hedgescape.positioning.model.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * This class holds the position(s) and exact configuration(s) of the player piece
  * required to win the game (the configuration is defined by the initial piece shape
  * and its spacial orientation).
+ * <p>
+ * As the winning conditions are evaluated after every player move, they are also
+ * compiled into a goal index as they are added:
+ * - the winning positions are kept in an open-addressing hash set of packed (x, y) keys;
+ * - the winning configurations are resolved to a bit mask of orientation ids for each
+ * {@link PieceOrientationTable} they are evaluated against (see {@link #getWinningOrientations}).
+ * This way checking a game state is a bit test and a single hash probe, regardless of
+ * the number of winning positions and configurations.
  */
 public class WinningConditions {
 
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The number of bits of the winning orientation mask (more than the 24 rotations
+     * of any piece shape - see {@link PieceOrientationTable}).
+     */
+    public static final int MAXIMUM_ORIENTATION_COUNT = Long.SIZE;
+
     public List<Position> getWinningPositions() {
         return winningPositions;
     }
@@ -21,24 +41,186 @@ public class WinningConditions {
     private List<Position> winningPositions = new ArrayList<>();
     private List<Cell[][][]> winningPieceConfigurations = new ArrayList<>();
 
+    /**
+     * The hash set of the winning positions (see {@link #getPositionKey(int, int)}),
+     * with a power of 2 capacity and {@link #EMPTY_KEY} marking the empty slots.
+     */
+    private long[] positionKeys = createPositionKeys(INITIAL_CAPACITY);
+    private int positionKeyCount;
+
+    /**
+     * The winning orientations, resolved for each evaluated orientation table (weakly
+     * referenced, so the tables no longer in use are dropped). Synchronized, so the
+     * winning conditions can be evaluated from multiple threads.
+     */
+    private final Map<PieceOrientationTable, Long> compiledOrientations =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     public void addPosition(Position position) {
         winningPositions.add(position);
+        addPositionKey(getPositionKey(position.getX(), position.getY()));
     }
 
     public void addPieceConfiguration(Cell[][][] pieceConfiguration) {
         winningPieceConfigurations.add(pieceConfiguration);
+        compiledOrientations.clear();
     }
 
     public boolean evaluateWinningConditions(Position position, Cell[][][] pieceConfiguration) {
-        for (Position winningPosition : winningPositions) {
+        if (!isWinningPosition(position.getX(), position.getY())) {
+            return false;
+        }
+
+        for (Cell[][][] winningPieceConfiguration : winningPieceConfigurations) {
+            if (Arrays.deepEquals(winningPieceConfiguration, pieceConfiguration)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A faster version of {@link #evaluateWinningConditions(Position, Cell[][][])} for
+     * player piece orientations from a {@link PieceOrientationTable}.
+     *
+     * @param x
+     * @param y
+     * @param winningOrientations See {@link #getWinningOrientations(PieceOrientationTable)}.
+     * @param orientation
+     * @return
+     */
+    public boolean evaluateWinningConditions(int x, int y, long winningOrientations, int orientation) {
+        return (winningOrientations & (1L << orientation)) != 0 && isWinningPosition(x, y);
+    }
+
+    public boolean isWinningPosition(int x, int y) {
+        long key = getPositionKey(x, y);
+
+        int mask = positionKeys.length - 1;
+        for (int slot = getSlot(key, mask); positionKeys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+            if (positionKeys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the winning piece configurations to orientation ids of the given table.
+     * The result is cached per table, until another configuration is added.
+     *
+     * @param orientationTable
+     * @return A bit mask with bit 'n' set if orientation 'n' is a winning configuration.
+     * @throws IllegalArgumentException If the table has more orientations than the bits of the mask.
+     */
+    public long getWinningOrientations(PieceOrientationTable orientationTable) {
+        Long compiled = compiledOrientations.get(orientationTable);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        if (orientationTable.getOrientationCount() > MAXIMUM_ORIENTATION_COUNT) {
+            throw new IllegalArgumentException("The winning orientations of more than " + MAXIMUM_ORIENTATION_COUNT
+                    + " orientations are not supported: " + orientationTable.getOrientationCount());
+        }
+
+        long winningOrientations = 0;
+        for (int orientation = 0; orientation < orientationTable.getOrientationCount(); orientation++) {
             for (Cell[][][] winningPieceConfiguration : winningPieceConfigurations) {
-                if (winningPosition.equals(position)) {
-                    if (Arrays.deepEquals(winningPieceConfiguration, pieceConfiguration)) {
-                        return true;
-                    }
+                if (Arrays.deepEquals(winningPieceConfiguration, orientationTable.getBoundingBox(orientation))) {
+                    winningOrientations |= 1L << orientation;
                 }
             }
         }
-        return false;
+
+        compiledOrientations.put(orientationTable, winningOrientations);
+        return winningOrientations;
+    }
+
+    /**
+     * Lists the valid game states (within the game board and not blocked), which
+     * satisfy the winning conditions, in ascending order.
+     *
+     * @param gameBoard
+     * @param orientationTable
+     * @return The (packed) winning states (see {@link task.interview.hedgescape.gameplay.MoveRules}).
+     */
+    public int[] findWinningStates(BitBoard gameBoard, PieceOrientationTable orientationTable) {
+        int orientationCount = orientationTable.getOrientationCount();
+        long winningOrientations = getWinningOrientations(orientationTable);
+        int[] winningStates = new int[winningPositions.size() * orientationCount];
+        int winningStateCount = 0;
+
+        for (Position winningPosition : winningPositions) {
+            int x = winningPosition.getX();
+            int y = winningPosition.getY();
+
+            for (int orientation = 0; orientation < orientationCount; orientation++) {
+                if ((winningOrientations & (1L << orientation)) != 0 && x >= 0 && y >= 0
+                        && x + orientationTable.getFootprintHeight(orientation) <= gameBoard.getHeight()
+                        && y + orientationTable.getFootprintWidth(orientation) <= gameBoard.getWidth()
+                        && !gameBoard.intersects(orientationTable.getFootprintRowMasks(orientation), x, y)) {
+                    winningStates[winningStateCount++] = (x * gameBoard.getWidth() + y) * orientationCount + orientation;
+                }
+            }
+        }
+
+        winningStates = Arrays.copyOf(winningStates, winningStateCount);
+        Arrays.sort(winningStates);
+        // The same winning position can be added more than once.
+        int distinctCount = 0;
+        for (int i = 0; i < winningStates.length; i++) {
+            if (i == 0 || winningStates[i] != winningStates[i - 1]) {
+                winningStates[distinctCount++] = winningStates[i];
+            }
+        }
+
+        return Arrays.copyOf(winningStates, distinctCount);
+    }
+
+    private void addPositionKey(long key) {
+        if (isWinningPosition((int) (key >> 32), (int) key)) {
+            return;
+        }
+
+        // Keep the load factor of the hash set under 1/2.
+        if ((positionKeyCount + 1) * 2 > positionKeys.length) {
+            long[] previousKeys = positionKeys;
+            positionKeys = createPositionKeys(previousKeys.length * 2);
+
+            for (long previousKey : previousKeys) {
+                if (previousKey != EMPTY_KEY) {
+                    insertPositionKey(previousKey);
+                }
+            }
+        }
+
+        insertPositionKey(key);
+        positionKeyCount++;
+    }
+
+    private void insertPositionKey(long key) {
+        int mask = positionKeys.length - 1;
+        int slot = getSlot(key, mask);
+
+        while (positionKeys[slot] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        positionKeys[slot] = key;
+    }
+
+    private static long[] createPositionKeys(int capacity) {
+        long[] positionKeys = new long[capacity];
+        Arrays.fill(positionKeys, EMPTY_KEY);
+        return positionKeys;
+    }
+
+    private static long getPositionKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int getSlot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
     }
-}
\ No newline at end of file
+}
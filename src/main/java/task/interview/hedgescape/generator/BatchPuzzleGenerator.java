@@ -0,0 +1,217 @@
+package task.interview.hedgescape.generator;
+
+import task.interview.hedgescape.corpus.PuzzleRecordWriter;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.CanonicalPuzzle;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.solver.AStarSolver;
+import task.interview.hedgescape.solver.PuzzleSolver;
+import task.interview.hedgescape.solver.SearchProblem;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pipeline for generating large puzzle corpora, consisting of 3 stages:
+ * <p>
+ * 1. Producers - generate puzzles, which are solvable by construction (each producer with
+ * its own {@link GameController} - see {@link GameController#generateSolvablePuzzle(long)}).
+ * 2. Solvers - skip the duplicate puzzles and solve any puzzles without a solution,
+ * passing on only the solvable ones.
+ * 3. Writer - streams the solvable puzzles to a {@link PuzzleRecordWriter} (on the calling thread).
+ * <p>
+ * The stages are connected with bounded queues, so the producers and solvers
+ * block while the following stage is busy and the memory usage stays the same,
+ * regardless of the size of the corpus.
+ * <p>
+ * Rotated / reflected variants of the puzzles already generated are skipped by the
+ * solvers (see {@link CanonicalPuzzle}), so each puzzle appears in the corpus only once.
+ * <p>
+ * Each producer draws the scenario seeds from its own stream, split from the stream
+ * of the generator, so every puzzle can be generated again from its seed
+ * (see {@link Puzzle#getSeed()}).
+ * <p>
+ * PLEASE NOTE:
+ * The duplicates are detected by the 64-bit canonical puzzle hashes, which are
+ * kept for the whole generation in a {@link PuzzleHashSet} sized for the requested
+ * number of puzzles (16 - 32 bytes per puzzle). A distinct puzzle with the same hash
+ * as one generated before is skipped as well (see {@link PuzzleHashSet} for the odds).
+ */
+public class BatchPuzzleGenerator {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final GameConfig gameConfig;
+    private final int producerCount;
+    private final int solverCount;
+    private final int queueCapacity;
+
+    /**
+     * The stream the producer streams are split from (only used on the calling thread).
+     */
+    private final SplittableRandom random;
+
+    private final LongAdder scenariosEvaluated = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+
+    public BatchPuzzleGenerator(int producerCount, int solverCount, int queueCapacity) {
+        this(GameConfig.DEFAULT, producerCount, solverCount, queueCapacity);
+    }
+
+    public BatchPuzzleGenerator(GameConfig gameConfig, int producerCount, int solverCount, int queueCapacity) {
+        this(gameConfig, producerCount, solverCount, queueCapacity, new SplittableRandom());
+    }
+
+    /**
+     * @param gameConfig
+     * @param producerCount
+     * @param solverCount
+     * @param queueCapacity
+     * @param random        The stream the seeds of all scenarios are derived from.
+     */
+    public BatchPuzzleGenerator(GameConfig gameConfig, int producerCount, int solverCount, int queueCapacity,
+                                SplittableRandom random) {
+        this.random = random;
+        this.gameConfig = gameConfig;
+        this.producerCount = producerCount;
+        this.solverCount = solverCount;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Runs the pipeline until the requested number of solvable puzzles are written.
+     *
+     * @param puzzleCount
+     * @param recordWriter The writer is not closed after the generation is complete.
+     * @return The number of puzzles written.
+     * @throws IOException          If writing any of the puzzles fails.
+     * @throws IllegalArgumentException If the puzzle hashes of the corpus do not fit in memory
+     *                                  (see {@link PuzzleHashSet#MAXIMUM_SLOT_COUNT}).
+     * @throws InterruptedException If the calling thread is interrupted while waiting for puzzles.
+     */
+    public long generate(long puzzleCount, PuzzleRecordWriter recordWriter) throws IOException, InterruptedException {
+        BlockingQueue<Puzzle> scenarios = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Puzzle> solvablePuzzles = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<RuntimeException> stageFailure = new AtomicReference<>();
+        // Every puzzle added to the set is solvable, so at most the ones written, queued
+        // and held by the solvers are added before the pipeline shuts down.
+        PuzzleHashSet puzzleHashes = new PuzzleHashSet(puzzleCount + queueCapacity + solverCount);
+
+        GameController gameController = new GameController(gameConfig);
+        gameController.initializeGame();
+        WinningConditions winningConditions = gameController.getWinningConditions();
+
+        ExecutorService stageExecutor = Executors.newFixedThreadPool(producerCount + solverCount);
+        try {
+            for (int producer = 0; producer < producerCount; producer++) {
+                SplittableRandom producerRandom = random.split();
+                stageExecutor.execute(() -> produceScenarios(scenarios, producerRandom, stageFailure));
+            }
+            for (int solver = 0; solver < solverCount; solver++) {
+                stageExecutor.execute(() ->
+                        solveScenarios(scenarios, solvablePuzzles, winningConditions, puzzleHashes, stageFailure));
+            }
+
+            long puzzlesWritten = 0;
+            while (puzzlesWritten < puzzleCount) {
+                Puzzle puzzle = solvablePuzzles.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (puzzle == null) {
+                    if (stageFailure.get() != null) {
+                        throw stageFailure.get();
+                    }
+                    continue;
+                }
+
+                recordWriter.write(puzzle);
+                puzzlesWritten++;
+            }
+
+            return puzzlesWritten;
+        } finally {
+            // Interrupts all producers and solvers blocked on the queues.
+            stageExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The total number of scenarios solved (solvable or not) by all solvers.
+     */
+    public long getScenariosEvaluated() {
+        return scenariosEvaluated.sum();
+    }
+
+    /**
+     * @return The total number of scenarios skipped as variants of the ones evaluated before.
+     */
+    public long getDuplicatesSkipped() {
+        return duplicatesSkipped.sum();
+    }
+
+    private void produceScenarios(BlockingQueue<Puzzle> scenarios, SplittableRandom producerRandom,
+                                  AtomicReference<RuntimeException> stageFailure) {
+        try {
+            GameController gameController = new GameController(gameConfig);
+            gameController.initializeGame();
+            gameController.setRandom(producerRandom);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                scenarios.put(gameController.generateSolvablePuzzle());
+            }
+        } catch (InterruptedException e) {
+            // The pipeline is shutting down.
+        } catch (RuntimeException e) {
+            stageFailure.compareAndSet(null, e);
+        }
+    }
+
+    private void solveScenarios(BlockingQueue<Puzzle> scenarios, BlockingQueue<Puzzle> solvablePuzzles,
+                                WinningConditions winningConditions, PuzzleHashSet puzzleHashes,
+                                AtomicReference<RuntimeException> stageFailure) {
+        try {
+            PuzzleSolver puzzleSolver = new AStarSolver(gameConfig.getStateStorage()::createStateStore);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Puzzle scenario = scenarios.take();
+
+                MoveRules moveRules = new MoveRules(scenario.getGameBoard(), scenario.getOrientationTable());
+                int startingState = moveRules.encodeState(
+                        scenario.getStartingX(), scenario.getStartingY(), scenario.getStartingOrientation());
+
+                CanonicalPuzzle canonicalPuzzle = CanonicalPuzzle.of(scenario.getGameBoard(),
+                        scenario.getOrientationTable(), startingState, winningConditions);
+                if (!puzzleHashes.add(canonicalPuzzle.getHash())) {
+                    duplicatesSkipped.increment();
+                    continue;
+                }
+
+                scenariosEvaluated.increment();
+                if (scenario.isSolvable()) {
+                    solvablePuzzles.put(scenario);
+                    continue;
+                }
+
+                SolutionPath solution =
+                        puzzleSolver.solve(new SearchProblem(moveRules, winningConditions, startingState));
+                if (solution != null) {
+                    solvablePuzzles.put(scenario.withSolution(solution));
+                }
+            }
+        } catch (InterruptedException e) {
+            // The pipeline is shutting down.
+        } catch (RuntimeException e) {
+            stageFailure.compareAndSet(null, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package task.interview.hedgescape.generator;
+
+/**
+ * The combinatorial number system for the layouts of a fixed number of blocked cells
+ * on a game board - each of the C(cell count, blocked cell count) layouts has a rank,
+ * from which it can be restored directly, without enumerating the preceding ones.
+ * <p>
+ * A layout is an ascending array of cell indices (x * width + y) c[0] < c[1] < ... and
+ * its rank is the sum of C(c[i], i + 1), so the layouts are ranked in colexicographic
+ * order and the next layout can be calculated from the previous one (see {@link #next(int[])}).
+ */
+public class BlockedCellLayouts {
+
+    private final int cellCount;
+    private final int blockedCellCount;
+
+    /**
+     * The binomial coefficients C(n, k) indexed as [n][k].
+     */
+    private final long[][] binomials;
+
+    public BlockedCellLayouts(int cellCount, int blockedCellCount) {
+        this.cellCount = cellCount;
+        this.blockedCellCount = blockedCellCount;
+
+        binomials = new long[cellCount + 1][blockedCellCount + 1];
+        for (int n = 0; n <= cellCount; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, blockedCellCount); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+                if (binomials[n][k] < 0) {
+                    throw new IllegalArgumentException("Too many blocked cell layouts: C("
+                            + cellCount + ", " + blockedCellCount + ")");
+                }
+            }
+        }
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getBlockedCellCount() {
+        return blockedCellCount;
+    }
+
+    public long getLayoutCount() {
+        return binomials[cellCount][blockedCellCount];
+    }
+
+    /**
+     * Restores the layout with the given rank.
+     *
+     * @param rank
+     * @param layout The array to store the ascending cell indices of the layout in.
+     * @return The same array.
+     */
+    public int[] unrank(long rank, int[] layout) {
+        int cell = cellCount;
+
+        for (int i = blockedCellCount - 1; i >= 0; i--) {
+            // The largest cell index with C(cell, i + 1) <= rank.
+            do {
+                cell--;
+            } while (binomials[cell][i + 1] > rank);
+
+            layout[i] = cell;
+            rank -= binomials[cell][i + 1];
+        }
+
+        return layout;
+    }
+
+    /**
+     * @param layout The ascending cell indices of the layout.
+     * @return The rank of the layout.
+     */
+    public long rank(int[] layout) {
+        long rank = 0;
+        for (int i = 0; i < blockedCellCount; i++) {
+            rank += binomials[layout[i]][i + 1];
+        }
+
+        return rank;
+    }
+
+    /**
+     * Replaces the given layout with the one following it (with rank + 1).
+     *
+     * @param layout
+     * @return 'false' if the given layout was the last one.
+     */
+    public boolean next(int[] layout) {
+        for (int i = 0; i < blockedCellCount; i++) {
+            int limit = i + 1 < blockedCellCount ? layout[i + 1] : cellCount;
+
+            if (layout[i] + 1 < limit) {
+                layout[i]++;
+                for (int j = 0; j < i; j++) {
+                    layout[j] = j;
+                }
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package task.interview.hedgescape.generator;
+
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates random solvable puzzles on multiple threads.
+ * <p>
+ * The puzzles are solvable by construction (see {@link GameController#generateSolvablePuzzle(long)}),
+ * so none of the generated ones are thrown away.
+ * <p>
+ * Each worker owns a separate {@link GameController} (and therefore a separate
+ * game board and player piece), so the workers do not share any mutable state
+ * apart from the collection of generated puzzles.
+ * <p>
+ * Each worker draws the puzzle seeds from its own stream, split from the stream
+ * of the generator, so every puzzle can be generated again from its seed
+ * (see {@link Puzzle#getSeed()}).
+ */
+public class ParallelPuzzleGenerator {
+
+    private final GameConfig gameConfig;
+    private final int workerCount;
+    private final ForkJoinPool workerPool;
+
+    /**
+     * The stream the worker streams are split from (only used on the calling thread).
+     */
+    private final SplittableRandom random;
+
+    private final LongAdder scenariosEvaluated = new LongAdder();
+
+    public ParallelPuzzleGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelPuzzleGenerator(int workerCount) {
+        this(GameConfig.DEFAULT, workerCount);
+    }
+
+    public ParallelPuzzleGenerator(GameConfig gameConfig, int workerCount) {
+        this(gameConfig, workerCount, new SplittableRandom());
+    }
+
+    /**
+     * @param gameConfig
+     * @param workerCount
+     * @param random      The stream the seeds of all puzzles are derived from.
+     */
+    public ParallelPuzzleGenerator(GameConfig gameConfig, int workerCount, SplittableRandom random) {
+        this.gameConfig = gameConfig;
+        this.workerCount = workerCount;
+        this.random = random;
+        workerPool = new ForkJoinPool(workerCount);
+    }
+
+    /**
+     * Starts generating puzzles on all workers, until the requested number of
+     * solvable ones are collected.
+     *
+     * @param puzzleCount
+     * @return A future completed with the solvable puzzles, in order of completion.
+     * @throws IllegalArgumentException If the puzzle count is negative.
+     */
+    public CompletableFuture<List<Puzzle>> generateSolvablePuzzles(int puzzleCount) {
+        if (puzzleCount < 0) {
+            throw new IllegalArgumentException("The puzzle count cannot be negative: " + puzzleCount);
+        }
+        if (puzzleCount == 0) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        PuzzleCollector puzzleCollector = new PuzzleCollector(puzzleCount);
+
+        for (int worker = 0; worker < workerCount; worker++) {
+            SplittableRandom workerRandom = random.split();
+            workerPool.execute(() -> generatePuzzles(puzzleCollector, workerRandom));
+        }
+
+        return puzzleCollector.result;
+    }
+
+    /**
+     * @return A future completed with the first solvable puzzle found by any of the workers.
+     */
+    public CompletableFuture<Puzzle> generateSolvablePuzzle() {
+        return generateSolvablePuzzles(1).thenApply(puzzles -> puzzles.get(0));
+    }
+
+    /**
+     * @return The total number of puzzles generated by all workers (including the ones
+     * generated after the requested number was reached).
+     */
+    public long getScenariosEvaluated() {
+        return scenariosEvaluated.sum();
+    }
+
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private void generatePuzzles(PuzzleCollector puzzleCollector, SplittableRandom workerRandom) {
+        try {
+            GameController gameController = new GameController(gameConfig);
+            gameController.initializeGame();
+            gameController.setRandom(workerRandom);
+
+            while (!puzzleCollector.result.isDone()) {
+                Puzzle puzzle = gameController.generateSolvablePuzzle();
+                scenariosEvaluated.increment();
+
+                puzzleCollector.collect(puzzle);
+            }
+        } catch (Throwable e) {
+            // Errors are passed on as well, otherwise the result would never complete.
+            puzzleCollector.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Collects the solvable puzzles from all workers without locking - each puzzle
+     * claims a slot in the results array and the last one completes the result.
+     */
+    private static class PuzzleCollector {
+
+        private final Puzzle[] puzzles;
+        private final AtomicInteger slotsClaimed = new AtomicInteger();
+        private final AtomicInteger slotsFilled = new AtomicInteger();
+
+        private final CompletableFuture<List<Puzzle>> result = new CompletableFuture<>();
+
+        private PuzzleCollector(int puzzleCount) {
+            puzzles = new Puzzle[puzzleCount];
+        }
+
+        private void collect(Puzzle puzzle) {
+            int slot = slotsClaimed.getAndIncrement();
+            if (slot >= puzzles.length) {
+                return;
+            }
+
+            puzzles[slot] = puzzle;
+
+            if (slotsFilled.incrementAndGet() == puzzles.length) {
+                result.complete(Arrays.asList(puzzles));
+            }
+        }
+    }
+}
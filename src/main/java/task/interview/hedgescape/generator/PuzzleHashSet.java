@@ -0,0 +1,91 @@
+package task.interview.hedgescape.generator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-capacity set of 64-bit puzzle hashes, which can be added to from multiple
+ * threads without locking.
+ * <p>
+ * The hashes are stored in a single open-addressing table (linear probing), where
+ * each hash claims an empty slot with a compare-and-set - 8 bytes per slot, instead
+ * of the ~50+ bytes per boxed entry of a {@link java.util.concurrent.ConcurrentHashMap} key set.
+ * The table is allocated at most half full, so it takes 16 - 32 bytes per hash.
+ * <p>
+ * PLEASE NOTE:
+ * Only the hashes are stored, so two distinct puzzles with the same hash are
+ * treated as the same one (false positive). With 64-bit hashes the chance of any
+ * collision among n puzzles is about n^2 / 2^65 (~1 in 37 million for 1 million puzzles).
+ */
+class PuzzleHashSet {
+
+    /**
+     * The largest number of slots of the table (2^30 slots, 8 GB).
+     */
+    static final int MAXIMUM_SLOT_COUNT = 1 << 30;
+
+    /**
+     * Marks an empty slot - the hash 0 is kept separately.
+     */
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray slots;
+    private final int slotMask;
+    private final long capacity;
+
+    private final AtomicBoolean containsZero = new AtomicBoolean();
+
+    /**
+     * @param capacity The largest number of hashes the set can hold.
+     * @throws IllegalArgumentException If the capacity needs more than {@link #MAXIMUM_SLOT_COUNT} slots.
+     */
+    PuzzleHashSet(long capacity) {
+        if (capacity < 0 || capacity > MAXIMUM_SLOT_COUNT / 2) {
+            throw new IllegalArgumentException("Unsupported puzzle hash set capacity: " + capacity);
+        }
+
+        int slotCount = Integer.highestOneBit((int) Math.max(capacity * 2 - 1, 1)) << 1;
+        this.slots = new AtomicLongArray(slotCount);
+        this.slotMask = slotCount - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param hash
+     * @return 'true' if the hash was not in the set before.
+     * @throws IllegalStateException If all slots are taken (far more hashes were added than the capacity).
+     */
+    boolean add(long hash) {
+        if (hash == EMPTY) {
+            return containsZero.compareAndSet(false, true);
+        }
+
+        int slot = spread(hash) & slotMask;
+        for (int probes = 0; probes < slots.length(); probes++) {
+            long slotHash = slots.get(slot);
+
+            if (slotHash == EMPTY) {
+                if (slots.compareAndSet(slot, EMPTY, hash)) {
+                    return true;
+                }
+                // Another thread claimed the slot first - check its hash.
+                slotHash = slots.get(slot);
+            }
+            if (slotHash == hash) {
+                return false;
+            }
+
+            slot = (slot + 1) & slotMask;
+        }
+
+        throw new IllegalStateException("The puzzle hash set is full (capacity " + capacity + ").");
+    }
+
+    /**
+     * @param hash
+     * @return The home slot of the hash (the high bits mixed into the low ones).
+     */
+    private static int spread(long hash) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
@@ -0,0 +1,206 @@
+package task.interview.hedgescape.generator;
+
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.solver.DistanceField;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Enumerates the whole puzzle space of a game configuration - every layout of the
+ * blocked cells (C(49, 4) = 211876 for the default 7x7 game board) with every valid
+ * starting state of the player piece.
+ * <p>
+ * The layouts are identified by their ranks (see {@link BlockedCellLayouts}), so the
+ * whole rank range is split recursively into fork / join tasks, each of which restores
+ * only its first layout and steps through the following ones. A single distance field
+ * per layout (see {@link DistanceField}) gives the number of moves required from all
+ * starting states at once.
+ * <p>
+ * PLEASE NOTE:
+ * The number of layouts grows very quickly with the game board size and number of
+ * blocked cells, so this is only feasible for configurations close to the default one.
+ */
+public class PuzzleSpaceEnumerator {
+
+    /**
+     * The number of layouts below which a task is not split any further.
+     */
+    private static final int LEAF_LAYOUT_COUNT = 4096;
+
+    private final GameConfig gameConfig;
+    private final ForkJoinPool forkJoinPool;
+
+    private final BlockedCellLayouts layouts;
+    private final PieceOrientationTable orientationTable;
+    private final WinningConditions winningConditions;
+
+    public PuzzleSpaceEnumerator(GameConfig gameConfig, ForkJoinPool forkJoinPool) {
+        this.gameConfig = gameConfig;
+        this.forkJoinPool = forkJoinPool;
+
+        layouts = new BlockedCellLayouts(gameConfig.getBoardHeight() * gameConfig.getBoardWidth(),
+                gameConfig.getBlockedCellCount());
+        if (layouts.getLayoutCount() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many blocked cell layouts to enumerate: "
+                    + layouts.getLayoutCount());
+        }
+
+        GameController gameController = new GameController(gameConfig);
+        gameController.initializeGame();
+        orientationTable = gameController.getMoveRules().getOrientationTable();
+        winningConditions = gameController.getWinningConditions();
+    }
+
+    public long getLayoutCount() {
+        return layouts.getLayoutCount();
+    }
+
+    /**
+     * @param indexLayouts Whether to collect the solvable layouts as well
+     *                     (see {@link PuzzleSpaceStatistics#getSolvableLayoutIndex()}).
+     * @return The statistics of the whole puzzle space.
+     */
+    public PuzzleSpaceStatistics enumerate(boolean indexLayouts) {
+        LayoutRange layoutRange = forkJoinPool.invoke(
+                new LayoutRangeTask(0, (int) layouts.getLayoutCount(), indexLayouts));
+
+        if (indexLayouts) {
+            layoutRange.statistics.setSolvableLayoutIndex(new SolvableLayoutIndex(gameConfig.getBoardHeight(),
+                    gameConfig.getBoardWidth(), gameConfig.getBlockedCellCount(), orientationTable, winningConditions,
+                    Arrays.copyOf(layoutRange.layoutRanks, layoutRange.indexedCount),
+                    Arrays.copyOf(layoutRange.startingStates, layoutRange.indexedCount),
+                    Arrays.copyOf(layoutRange.distances, layoutRange.indexedCount)));
+        }
+
+        return layoutRange.statistics;
+    }
+
+    /**
+     * Enumerates the layouts with ranks from 'fromRank' (inclusive) to 'toRank' (exclusive).
+     */
+    private LayoutRange enumerateRange(int fromRank, int toRank, boolean indexLayouts) {
+        LayoutRange layoutRange = new LayoutRange(indexLayouts ? toRank - fromRank : 0);
+        PuzzleSpaceStatistics statistics = layoutRange.statistics;
+
+        BitBoard gameBoard = new BitBoard(gameConfig.getBoardHeight(), gameConfig.getBoardWidth());
+        MoveRules moveRules = new MoveRules(gameBoard, orientationTable);
+        int[] layout = layouts.unrank(fromRank, new int[layouts.getBlockedCellCount()]);
+        DistanceField distanceField = null;
+
+        for (int rank = fromRank; rank < toRank; rank++) {
+            gameBoard.clear();
+            for (int cell : layout) {
+                gameBoard.set(cell / gameBoard.getWidth(), cell % gameBoard.getWidth());
+            }
+
+            // All layouts have the same number of states, so the state store is created once per range.
+            distanceField = DistanceField.compute(moveRules, moveRules, winningConditions, distanceField,
+                    gameConfig.getStateStorage()::createStateStore);
+            int farthestState = -1;
+
+            for (int state = 0; state < moveRules.getStateCount(); state++) {
+                if (!moveRules.isValidState(state)) {
+                    continue;
+                }
+
+                int distance = distanceField.getDistance(state);
+                statistics.recordState(distance);
+
+                if (farthestState < 0 || distance > distanceField.getDistance(farthestState)) {
+                    farthestState = state;
+                }
+            }
+
+            int maximumDistance = farthestState >= 0 ? distanceField.getDistance(farthestState) : -1;
+            statistics.recordLayout(maximumDistance);
+
+            if (indexLayouts && maximumDistance > 0) {
+                layoutRange.layoutRanks[layoutRange.indexedCount] = rank;
+                layoutRange.startingStates[layoutRange.indexedCount] = farthestState;
+                layoutRange.distances[layoutRange.indexedCount] = maximumDistance;
+                layoutRange.indexedCount++;
+            }
+
+            layouts.next(layout);
+        }
+
+        return layoutRange;
+    }
+
+    /**
+     * The statistics (and solvable layouts, in rank order) of a range of layouts.
+     */
+    private static class LayoutRange {
+
+        private final PuzzleSpaceStatistics statistics = new PuzzleSpaceStatistics();
+
+        private int[] layoutRanks;
+        private int[] startingStates;
+        private int[] distances;
+        private int indexedCount;
+
+        private LayoutRange(int capacity) {
+            layoutRanks = new int[capacity];
+            startingStates = new int[capacity];
+            distances = new int[capacity];
+        }
+
+        /**
+         * Appends the given range, which should follow this one.
+         */
+        private LayoutRange merge(LayoutRange layoutRange) {
+            statistics.merge(layoutRange.statistics);
+
+            layoutRanks = concatenate(layoutRanks, indexedCount, layoutRange.layoutRanks, layoutRange.indexedCount);
+            startingStates = concatenate(startingStates, indexedCount,
+                    layoutRange.startingStates, layoutRange.indexedCount);
+            distances = concatenate(distances, indexedCount, layoutRange.distances, layoutRange.indexedCount);
+            indexedCount += layoutRange.indexedCount;
+
+            return this;
+        }
+
+        private static int[] concatenate(int[] first, int firstCount, int[] second, int secondCount) {
+            int[] result = Arrays.copyOf(first, firstCount + secondCount);
+            System.arraycopy(second, 0, result, firstCount, secondCount);
+
+            return result;
+        }
+    }
+
+    private class LayoutRangeTask extends RecursiveTask<LayoutRange> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromRank;
+        private final int toRank;
+        private final boolean indexLayouts;
+
+        private LayoutRangeTask(int fromRank, int toRank, boolean indexLayouts) {
+            this.fromRank = fromRank;
+            this.toRank = toRank;
+            this.indexLayouts = indexLayouts;
+        }
+
+        @Override
+        protected LayoutRange compute() {
+            if (toRank - fromRank <= LEAF_LAYOUT_COUNT) {
+                return enumerateRange(fromRank, toRank, indexLayouts);
+            }
+
+            int middleRank = (fromRank + toRank) >>> 1;
+            LayoutRangeTask secondHalf = new LayoutRangeTask(middleRank, toRank, indexLayouts);
+            secondHalf.fork();
+
+            LayoutRange firstRange = new LayoutRangeTask(fromRank, middleRank, indexLayouts).compute();
+            return firstRange.merge(secondHalf.join());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package task.interview.hedgescape.generator;
+
+import java.util.Arrays;
+
+/**
+ * The aggregate statistics of an enumerated puzzle space (see {@link PuzzleSpaceEnumerator}),
+ * which are collected per range of blocked cell layouts and merged afterwards.
+ */
+public class PuzzleSpaceStatistics {
+
+    private long layoutCount;
+    private long solvableLayoutCount;
+
+    private long validStateCount;
+    private long winningStateCount;
+    private long solvableStateCount;
+
+    /**
+     * The number of valid starting states by the number of moves required to win the game.
+     */
+    private long[] distanceHistogram = new long[0];
+
+    /**
+     * The number of layouts by the largest number of moves required to win the game
+     * from any of their starting states.
+     */
+    private long[] maximumDistanceHistogram = new long[0];
+
+    private SolvableLayoutIndex solvableLayoutIndex;
+
+    /**
+     * @return The number of blocked cell layouts enumerated.
+     */
+    public long getLayoutCount() {
+        return layoutCount;
+    }
+
+    /**
+     * @return The number of layouts, on which the game can be won from at least
+     * one starting state (other than the winning ones).
+     */
+    public long getSolvableLayoutCount() {
+        return solvableLayoutCount;
+    }
+
+    /**
+     * @return The number of player piece placements which are not blocked, over all layouts.
+     */
+    public long getValidStateCount() {
+        return validStateCount;
+    }
+
+    public long getWinningStateCount() {
+        return winningStateCount;
+    }
+
+    /**
+     * @return The number of valid starting states (other than the winning ones) the game
+     * can be won from, over all layouts.
+     */
+    public long getSolvableStateCount() {
+        return solvableStateCount;
+    }
+
+    /**
+     * @param distance
+     * @return The number of valid starting states requiring exactly the given number of moves.
+     */
+    public long getStateCount(int distance) {
+        return distance < distanceHistogram.length ? distanceHistogram[distance] : 0;
+    }
+
+    /**
+     * @param maximumDistance
+     * @return The number of layouts with the given largest number of moves required.
+     */
+    public long getLayoutCount(int maximumDistance) {
+        return maximumDistance < maximumDistanceHistogram.length ? maximumDistanceHistogram[maximumDistance] : 0;
+    }
+
+    /**
+     * @return The index of the solvable layouts or 'null' if it was not requested.
+     */
+    public SolvableLayoutIndex getSolvableLayoutIndex() {
+        return solvableLayoutIndex;
+    }
+
+    void setSolvableLayoutIndex(SolvableLayoutIndex solvableLayoutIndex) {
+        this.solvableLayoutIndex = solvableLayoutIndex;
+    }
+
+    void recordLayout(int maximumDistance) {
+        layoutCount++;
+        if (maximumDistance > 0) {
+            solvableLayoutCount++;
+        }
+        if (maximumDistance >= 0) {
+            maximumDistanceHistogram = increment(maximumDistanceHistogram, maximumDistance, 1);
+        }
+    }
+
+    /**
+     * @param distance The distance of a valid state or -1 if the game cannot be won from it.
+     */
+    void recordState(int distance) {
+        validStateCount++;
+
+        if (distance == 0) {
+            winningStateCount++;
+        } else if (distance > 0) {
+            solvableStateCount++;
+        }
+
+        if (distance >= 0) {
+            distanceHistogram = increment(distanceHistogram, distance, 1);
+        }
+    }
+
+    void merge(PuzzleSpaceStatistics statistics) {
+        layoutCount += statistics.layoutCount;
+        solvableLayoutCount += statistics.solvableLayoutCount;
+        validStateCount += statistics.validStateCount;
+        winningStateCount += statistics.winningStateCount;
+        solvableStateCount += statistics.solvableStateCount;
+
+        for (int distance = 0; distance < statistics.distanceHistogram.length; distance++) {
+            distanceHistogram = increment(distanceHistogram, distance, statistics.distanceHistogram[distance]);
+        }
+        for (int distance = 0; distance < statistics.maximumDistanceHistogram.length; distance++) {
+            maximumDistanceHistogram = increment(maximumDistanceHistogram,
+                    distance, statistics.maximumDistanceHistogram[distance]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("LAYOUTS: ").append(layoutCount)
+                .append(", SOLVABLE: ").append(solvableLayoutCount)
+                .append(" (").append(formatPercentage(solvableLayoutCount, layoutCount)).append(")\n");
+        report.append("VALID STATES: ").append(validStateCount)
+                .append(", WINNING: ").append(winningStateCount)
+                .append(", SOLVABLE: ").append(solvableStateCount)
+                .append(" (").append(formatPercentage(solvableStateCount, validStateCount)).append(")\n");
+
+        report.append("STATES BY DISTANCE:");
+        appendHistogram(report, distanceHistogram);
+        report.append("\nLAYOUTS BY MAXIMUM DISTANCE:");
+        appendHistogram(report, maximumDistanceHistogram);
+
+        return report.toString();
+    }
+
+    private static void appendHistogram(StringBuilder report, long[] histogram) {
+        for (int distance = 0; distance < histogram.length; distance++) {
+            if (histogram[distance] > 0) {
+                report.append(' ').append(distance).append(": ").append(histogram[distance]);
+            }
+        }
+    }
+
+    private static String formatPercentage(long count, long total) {
+        return total == 0 ? "0%" : String.format("%.2f%%", count * 100.0 / total);
+    }
+
+    private static long[] increment(long[] histogram, int index, long count) {
+        if (index >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(index + 1, histogram.length * 2));
+        }
+
+        histogram[index] += count;
+        return histogram;
+    }
+}
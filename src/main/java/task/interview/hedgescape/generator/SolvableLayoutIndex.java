@@ -0,0 +1,218 @@
+package task.interview.hedgescape.generator;
+
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The solvable blocked cell layouts found by the {@link PuzzleSpaceEnumerator}, each
+ * one with the starting state farthest from winning the game, so solvable puzzles can
+ * be served by picking a random entry, without solving anything.
+ * <p>
+ * The layouts are kept as their ranks (see {@link BlockedCellLayouts}), in ascending order.
+ * <p>
+ * The binary format is:
+ * [int magic number] [int format version] [int game board height] [int game board width]
+ * [int blocked cell count] [int orientation count] [long winning orientations]
+ * [int winning position count] followed by an [int x] [int y] pair per winning position,
+ * [int entry count] followed by an [int layout rank] [int starting state] [int distance]
+ * record per entry.
+ * <p>
+ * The starting states and distances are only valid for the same player piece orientations
+ * and winning conditions, so these are checked when the index is read.
+ */
+public class SolvableLayoutIndex {
+
+    public static final int MAGIC_NUMBER = 0x48534C49;
+    public static final int FORMAT_VERSION = 2;
+
+    private final int boardHeight;
+    private final int boardWidth;
+    private final BlockedCellLayouts layouts;
+
+    private final int orientationCount;
+    private final long winningOrientations;
+
+    /**
+     * The winning positions packed as: x << 32 | y, in ascending order.
+     */
+    private final long[] winningPositions;
+
+    private final int[] layoutRanks;
+    private final int[] startingStates;
+    private final int[] distances;
+
+    SolvableLayoutIndex(int boardHeight, int boardWidth, int blockedCellCount,
+                        PieceOrientationTable orientationTable, WinningConditions winningConditions,
+                        int[] layoutRanks, int[] startingStates, int[] distances) {
+        this(boardHeight, boardWidth, blockedCellCount, orientationTable.getOrientationCount(),
+                winningConditions.getWinningOrientations(orientationTable), packWinningPositions(winningConditions),
+                layoutRanks, startingStates, distances);
+    }
+
+    private SolvableLayoutIndex(int boardHeight, int boardWidth, int blockedCellCount,
+                                int orientationCount, long winningOrientations, long[] winningPositions,
+                                int[] layoutRanks, int[] startingStates, int[] distances) {
+        this.boardHeight = boardHeight;
+        this.boardWidth = boardWidth;
+        this.layouts = new BlockedCellLayouts(boardHeight * boardWidth, blockedCellCount);
+        this.orientationCount = orientationCount;
+        this.winningOrientations = winningOrientations;
+        this.winningPositions = winningPositions;
+        this.layoutRanks = layoutRanks;
+        this.startingStates = startingStates;
+        this.distances = distances;
+    }
+
+    public int getEntryCount() {
+        return layoutRanks.length;
+    }
+
+    public int getLayoutRank(int entry) {
+        return layoutRanks[entry];
+    }
+
+    /**
+     * @param entry
+     * @return The (packed) starting state (see {@link task.interview.hedgescape.gameplay.MoveRules}).
+     */
+    public int getStartingState(int entry) {
+        return startingStates[entry];
+    }
+
+    /**
+     * @param entry
+     * @return The number of moves of the shortest solution from the starting state.
+     */
+    public int getDistance(int entry) {
+        return distances[entry];
+    }
+
+    /**
+     * @param random
+     * @return A random entry.
+     */
+    public int pickRandomEntry(SplittableRandom random) {
+        return random.nextInt(layoutRanks.length);
+    }
+
+    /**
+     * Restores the blocked cells of the given entry.
+     *
+     * @param entry
+     * @param gameBoard An empty game board of the same size as the enumerated one.
+     */
+    public void copyGameBoard(int entry, BitBoard gameBoard) {
+        int[] layout = layouts.unrank(layoutRanks[entry], new int[layouts.getBlockedCellCount()]);
+
+        for (int cell : layout) {
+            gameBoard.set(cell / boardWidth, cell % boardWidth);
+        }
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        dataOutputStream.writeInt(MAGIC_NUMBER);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+        dataOutputStream.writeInt(boardHeight);
+        dataOutputStream.writeInt(boardWidth);
+        dataOutputStream.writeInt(layouts.getBlockedCellCount());
+        dataOutputStream.writeInt(orientationCount);
+        dataOutputStream.writeLong(winningOrientations);
+        dataOutputStream.writeInt(winningPositions.length);
+        for (long winningPosition : winningPositions) {
+            dataOutputStream.writeInt((int) (winningPosition >> 32));
+            dataOutputStream.writeInt((int) winningPosition);
+        }
+        dataOutputStream.writeInt(layoutRanks.length);
+
+        for (int entry = 0; entry < layoutRanks.length; entry++) {
+            dataOutputStream.writeInt(layoutRanks[entry]);
+            dataOutputStream.writeInt(startingStates[entry]);
+            dataOutputStream.writeInt(distances[entry]);
+        }
+
+        dataOutputStream.flush();
+    }
+
+    /**
+     * @param inputStream
+     * @param orientationTable  The orientations of the player piece the index is used with.
+     * @param winningConditions The winning conditions the index is used with.
+     * @return
+     * @throws IOException If the stream is not a solvable layout index or it was created for
+     *                     different player piece orientations or winning conditions.
+     */
+    public static SolvableLayoutIndex read(InputStream inputStream, PieceOrientationTable orientationTable,
+                                           WinningConditions winningConditions) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (dataInputStream.readInt() != MAGIC_NUMBER) {
+            throw new IOException("Not a solvable layout index.");
+        }
+        if (dataInputStream.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported solvable layout index version.");
+        }
+
+        int boardHeight = dataInputStream.readInt();
+        int boardWidth = dataInputStream.readInt();
+        int blockedCellCount = dataInputStream.readInt();
+
+        int orientationCount = dataInputStream.readInt();
+        long winningOrientations = dataInputStream.readLong();
+        long[] winningPositions = new long[dataInputStream.readInt()];
+        for (int position = 0; position < winningPositions.length; position++) {
+            winningPositions[position] = packWinningPosition(dataInputStream.readInt(), dataInputStream.readInt());
+        }
+
+        if (orientationCount != orientationTable.getOrientationCount()) {
+            throw new IOException("The solvable layouts were indexed for " + orientationCount
+                    + " player piece orientations instead of " + orientationTable.getOrientationCount() + ".");
+        }
+        if (winningOrientations != winningConditions.getWinningOrientations(orientationTable)
+                || !Arrays.equals(winningPositions, packWinningPositions(winningConditions))) {
+            throw new IOException("The solvable layouts were indexed for different winning conditions.");
+        }
+
+        int entryCount = dataInputStream.readInt();
+
+        int[] layoutRanks = new int[entryCount];
+        int[] startingStates = new int[entryCount];
+        int[] distances = new int[entryCount];
+        for (int entry = 0; entry < entryCount; entry++) {
+            layoutRanks[entry] = dataInputStream.readInt();
+            startingStates[entry] = dataInputStream.readInt();
+            distances[entry] = dataInputStream.readInt();
+        }
+
+        return new SolvableLayoutIndex(boardHeight, boardWidth, blockedCellCount,
+                orientationCount, winningOrientations, winningPositions, layoutRanks, startingStates, distances);
+    }
+
+    /**
+     * @param winningConditions
+     * @return The distinct winning positions, packed and in ascending order.
+     */
+    private static long[] packWinningPositions(WinningConditions winningConditions) {
+        return winningConditions.getWinningPositions().stream()
+                .mapToLong(position -> packWinningPosition(position.getX(), position.getY()))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private static long packWinningPosition(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,91 @@
+package task.interview.hedgescape.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power of 2 buckets - bucket 'n' counts
+ * the latencies between 2^(n-1) and 2^n - 1 nanoseconds.
+ * <p>
+ * Each bucket is a striped counter ({@link LongAdder}), so recording from many
+ * threads at the same time does not cause contention.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[BUCKET_COUNT - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+        totalNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = buckets[bucket].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum());
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+
+    /**
+     * The state of a histogram at a given moment.
+     * As the buckets are read one by one, concurrent updates may be partially included.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        private Snapshot(long[] counts, long totalNanos) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return The upper bound of the bucket containing the given percentile.
+         */
+        public long getPercentileNanos(double percentile) {
+            long rank = (long) Math.ceil(count * percentile / 100);
+
+            long cumulativeCount = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                cumulativeCount += counts[bucket];
+                if (cumulativeCount >= rank && cumulativeCount > 0) {
+                    return bucket == 0 ? 0 : (1L << bucket) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package task.interview.hedgescape.metrics;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Takes periodic snapshots of the {@link SolverMetrics} on a single daemon thread
+ * and passes them to the given consumer (e.g. a log or the console).
+ */
+public class MetricsReporter implements Closeable {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsReporter(SolverMetrics solverMetrics, long period, TimeUnit unit,
+                           Consumer<MetricsSnapshot> snapshotConsumer) {
+        scheduler.scheduleAtFixedRate(() -> snapshotConsumer.accept(solverMetrics.snapshot()),
+                period, period, unit);
+    }
+
+    /**
+     * Stops the reporting, without taking a final snapshot.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
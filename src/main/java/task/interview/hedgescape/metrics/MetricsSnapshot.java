@@ -0,0 +1,89 @@
+package task.interview.hedgescape.metrics;
+
+/**
+ * The values of all {@link SolverMetrics} at a given moment.
+ */
+public class MetricsSnapshot {
+
+    private final long timestamp;
+
+    private final long statesExpanded;
+    private final long goalChecks;
+    private final long movesRejectedNoRoom;
+    private final long movesRejectedOutOfBounds;
+    private final long movesRejectedBlocked;
+    private final long scenariosEvaluated;
+
+    private final LatencyHistogram.Snapshot solveLatency;
+    private final LatencyHistogram.Snapshot generateLatency;
+
+    MetricsSnapshot(long timestamp, long statesExpanded, long goalChecks,
+                    long movesRejectedNoRoom, long movesRejectedOutOfBounds, long movesRejectedBlocked,
+                    long scenariosEvaluated,
+                    LatencyHistogram.Snapshot solveLatency, LatencyHistogram.Snapshot generateLatency) {
+        this.timestamp = timestamp;
+        this.statesExpanded = statesExpanded;
+        this.goalChecks = goalChecks;
+        this.movesRejectedNoRoom = movesRejectedNoRoom;
+        this.movesRejectedOutOfBounds = movesRejectedOutOfBounds;
+        this.movesRejectedBlocked = movesRejectedBlocked;
+        this.scenariosEvaluated = scenariosEvaluated;
+        this.solveLatency = solveLatency;
+        this.generateLatency = generateLatency;
+    }
+
+    /**
+     * @return The time of the snapshot in milliseconds (see {@link System#currentTimeMillis()}).
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getStatesExpanded() {
+        return statesExpanded;
+    }
+
+    public long getGoalChecks() {
+        return goalChecks;
+    }
+
+    public long getMovesRejectedNoRoom() {
+        return movesRejectedNoRoom;
+    }
+
+    public long getMovesRejectedOutOfBounds() {
+        return movesRejectedOutOfBounds;
+    }
+
+    public long getMovesRejectedBlocked() {
+        return movesRejectedBlocked;
+    }
+
+    public long getScenariosEvaluated() {
+        return scenariosEvaluated;
+    }
+
+    public LatencyHistogram.Snapshot getSolveLatency() {
+        return solveLatency;
+    }
+
+    public LatencyHistogram.Snapshot getGenerateLatency() {
+        return generateLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "STATES EXPANDED: " + statesExpanded
+                + ", GOAL CHECKS: " + goalChecks
+                + ", MOVES REJECTED: " + movesRejectedNoRoom + " NO ROOM / "
+                + movesRejectedOutOfBounds + " OUT OF BOUNDS / " + movesRejectedBlocked + " BLOCKED"
+                + ", SCENARIOS EVALUATED: " + scenariosEvaluated
+                + ", GENERATE: " + formatLatency(generateLatency)
+                + ", SOLVE: " + formatLatency(solveLatency);
+    }
+
+    private static String formatLatency(LatencyHistogram.Snapshot latency) {
+        return latency.getCount() + " x " + Math.round(latency.getMeanNanos() / 1000) + " µs"
+                + " (p99 < " + (latency.getPercentileNanos(99) + 1) / 1000 + " µs)";
+    }
+}
@@ -0,0 +1,84 @@
+package task.interview.hedgescape.metrics;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+
+/**
+ * Plain (non thread-safe) counters for a single search, which are only added to
+ * the shared {@link SolverMetrics} once the search is finished. This way the inner
+ * loops of the path-finding algorithms never touch the shared counters.
+ * <p>
+ * Each solver instance should own a separate instance of this class.
+ */
+public class SearchCounters {
+
+    private final SolverMetrics solverMetrics;
+
+    private long statesExpanded;
+    private long goalChecks;
+    private long movesRejectedNoRoom;
+    private long movesRejectedOutOfBounds;
+    private long movesRejectedBlocked;
+
+    private long searchStartTime;
+
+    public SearchCounters() {
+        this(SolverMetrics.getInstance());
+    }
+
+    public SearchCounters(SolverMetrics solverMetrics) {
+        this.solverMetrics = solverMetrics;
+    }
+
+    public void startSearch() {
+        statesExpanded = 0;
+        goalChecks = 0;
+        movesRejectedNoRoom = 0;
+        movesRejectedOutOfBounds = 0;
+        movesRejectedBlocked = 0;
+
+        searchStartTime = System.nanoTime();
+    }
+
+    public void stateExpanded() {
+        statesExpanded++;
+    }
+
+    public void goalChecked() {
+        goalChecks++;
+    }
+
+    /**
+     * @param moveResult The result of {@link MoveRules#move}, rejected moves are counted by reason.
+     */
+    public void moveAttempted(int moveResult) {
+        switch (moveResult) {
+            case MoveRules.NO_ROOM:
+                movesRejectedNoRoom++;
+                break;
+            case MoveRules.OUT_OF_BOUNDS:
+                movesRejectedOutOfBounds++;
+                break;
+            case MoveRules.BLOCKED:
+                movesRejectedBlocked++;
+                break;
+        }
+    }
+
+    /**
+     * Adds the counts of another (e.g. per worker) instance to this one.
+     *
+     * @param searchCounters
+     */
+    public void add(SearchCounters searchCounters) {
+        statesExpanded += searchCounters.statesExpanded;
+        goalChecks += searchCounters.goalChecks;
+        movesRejectedNoRoom += searchCounters.movesRejectedNoRoom;
+        movesRejectedOutOfBounds += searchCounters.movesRejectedOutOfBounds;
+        movesRejectedBlocked += searchCounters.movesRejectedBlocked;
+    }
+
+    public void finishSearch() {
+        solverMetrics.recordSearch(System.nanoTime() - searchStartTime, statesExpanded, goalChecks,
+                movesRejectedNoRoom, movesRejectedOutOfBounds, movesRejectedBlocked);
+    }
+}
@@ -0,0 +1,186 @@
+package task.interview.hedgescape.metrics;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latency histograms of the puzzle generation and solving,
+ * shared by all threads of the application.
+ * <p>
+ * All counters are striped ({@link LongAdder}), so they can be updated from many
+ * generator / solver threads without contention. The path-finding algorithms
+ * count in plain fields first (see {@link SearchCounters}) and add the totals here
+ * once per search.
+ * <p>
+ * The metrics can be read as a whole via {@link #snapshot()}, periodically via
+ * {@link MetricsReporter} or remotely via JMX (see {@link #registerMBean()}).
+ */
+public class SolverMetrics implements SolverMetricsMBean {
+
+    public static final String MBEAN_NAME = "task.interview.hedgescape:type=SolverMetrics";
+
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    private final LongAdder statesExpanded = new LongAdder();
+    private final LongAdder goalChecks = new LongAdder();
+    private final LongAdder movesRejectedNoRoom = new LongAdder();
+    private final LongAdder movesRejectedOutOfBounds = new LongAdder();
+    private final LongAdder movesRejectedBlocked = new LongAdder();
+    private final LongAdder scenariosEvaluated = new LongAdder();
+
+    private final LatencyHistogram solveLatency = new LatencyHistogram();
+    private final LatencyHistogram generateLatency = new LatencyHistogram();
+
+    public static SolverMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the shared instance with the platform MBean server (if not registered already).
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(INSTANCE, objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register " + MBEAN_NAME, e);
+        }
+    }
+
+    /**
+     * Adds the totals of a single search (see {@link SearchCounters}).
+     *
+     * @param nanos
+     * @param statesExpanded
+     * @param goalChecks
+     * @param movesRejectedNoRoom
+     * @param movesRejectedOutOfBounds
+     * @param movesRejectedBlocked
+     */
+    public void recordSearch(long nanos, long statesExpanded, long goalChecks,
+                             long movesRejectedNoRoom, long movesRejectedOutOfBounds, long movesRejectedBlocked) {
+        solveLatency.record(nanos);
+        this.statesExpanded.add(statesExpanded);
+        this.goalChecks.add(goalChecks);
+        this.movesRejectedNoRoom.add(movesRejectedNoRoom);
+        this.movesRejectedOutOfBounds.add(movesRejectedOutOfBounds);
+        this.movesRejectedBlocked.add(movesRejectedBlocked);
+    }
+
+    /**
+     * Counts a single move rejected outside of a search (e.g. an interactive player move).
+     *
+     * @param moveResult See {@link SearchCounters#moveAttempted(int)}.
+     */
+    public void recordMove(int moveResult) {
+        switch (moveResult) {
+            case MoveRules.NO_ROOM:
+                movesRejectedNoRoom.increment();
+                break;
+            case MoveRules.OUT_OF_BOUNDS:
+                movesRejectedOutOfBounds.increment();
+                break;
+            case MoveRules.BLOCKED:
+                movesRejectedBlocked.increment();
+                break;
+        }
+    }
+
+    /**
+     * Counts a single generated scenario (game board and player piece placement).
+     *
+     * @param nanos The time it took to generate it.
+     */
+    public void recordScenario(long nanos) {
+        scenariosEvaluated.increment();
+        generateLatency.record(nanos);
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(System.currentTimeMillis(),
+                statesExpanded.sum(), goalChecks.sum(),
+                movesRejectedNoRoom.sum(), movesRejectedOutOfBounds.sum(), movesRejectedBlocked.sum(),
+                scenariosEvaluated.sum(), solveLatency.snapshot(), generateLatency.snapshot());
+    }
+
+    @Override
+    public long getStatesExpanded() {
+        return statesExpanded.sum();
+    }
+
+    @Override
+    public long getMovesRejectedNoRoom() {
+        return movesRejectedNoRoom.sum();
+    }
+
+    @Override
+    public long getMovesRejectedOutOfBounds() {
+        return movesRejectedOutOfBounds.sum();
+    }
+
+    @Override
+    public long getMovesRejectedBlocked() {
+        return movesRejectedBlocked.sum();
+    }
+
+    @Override
+    public long getGoalChecks() {
+        return goalChecks.sum();
+    }
+
+    @Override
+    public long getScenariosEvaluated() {
+        return scenariosEvaluated.sum();
+    }
+
+    @Override
+    public long getSearches() {
+        return solveLatency.snapshot().getCount();
+    }
+
+    @Override
+    public double getSolveMeanMicros() {
+        return solveLatency.snapshot().getMeanNanos() / 1000;
+    }
+
+    @Override
+    public double getSolve99thPercentileMicros() {
+        return (double) solveLatency.snapshot().getPercentileNanos(99) / 1000;
+    }
+
+    @Override
+    public long getGenerations() {
+        return generateLatency.snapshot().getCount();
+    }
+
+    @Override
+    public double getGenerateMeanMicros() {
+        return generateLatency.snapshot().getMeanNanos() / 1000;
+    }
+
+    @Override
+    public double getGenerate99thPercentileMicros() {
+        return (double) generateLatency.snapshot().getPercentileNanos(99) / 1000;
+    }
+
+    @Override
+    public void reset() {
+        statesExpanded.reset();
+        goalChecks.reset();
+        movesRejectedNoRoom.reset();
+        movesRejectedOutOfBounds.reset();
+        movesRejectedBlocked.reset();
+        scenariosEvaluated.reset();
+        solveLatency.reset();
+        generateLatency.reset();
+    }
+}
@@ -0,0 +1,33 @@
+package task.interview.hedgescape.metrics;
+
+/**
+ * The JMX management interface of {@link SolverMetrics}.
+ */
+public interface SolverMetricsMBean {
+
+    long getStatesExpanded();
+
+    long getMovesRejectedNoRoom();
+
+    long getMovesRejectedOutOfBounds();
+
+    long getMovesRejectedBlocked();
+
+    long getGoalChecks();
+
+    long getScenariosEvaluated();
+
+    long getSearches();
+
+    double getSolveMeanMicros();
+
+    double getSolve99thPercentileMicros();
+
+    long getGenerations();
+
+    double getGenerateMeanMicros();
+
+    double getGenerate99thPercentileMicros();
+
+    void reset();
+}
@@ -1,6 +1,6 @@
 package task.interview.hedgescape.positioning;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 public enum Axis {
     X,
@@ -11,10 +11,11 @@ public enum Axis {
      * An utility method for getting either the X or Y axis, as these are
      * the only two allowed axes for the player piece movement.
      *
+     * @param random The (seeded) source of randomness of the caller.
      * @return Random {@link Axis ) value.
      */
-    public static Axis getRandomTumblingAxis() {
-        int randomIndex = ThreadLocalRandom.current().nextInt(2);
+    public static Axis getRandomTumblingAxis(SplittableRandom random) {
+        int randomIndex = random.nextInt(2);
         return values()[randomIndex];
     }
 }
@@ -1,5 +1,7 @@
 package task.interview.hedgescape.positioning;
 
+import task.interview.hedgescape.positioning.model.PieceRotation;
+
 /**
  * Enumeration defining the 4 possible player piece movement directions:
  * "E" - East
@@ -22,6 +24,43 @@ public enum Direction {
         return values()[ordinal() < values().length - 1 ? ordinal() + 1 : 0];
     }
 
+    public Direction getOpposite() {
+        return values()[(ordinal() + 2) % values().length];
+    }
+
+    /**
+     * Each tumble of the player piece is a 90º rotation around either the 'X'
+     * or the 'Y' axis, depending on the movement direction.
+     *
+     * @return The {@link PieceRotation} corresponding to this direction.
+     */
+    public PieceRotation getRotation() {
+        switch (this) {
+            case E:
+                return new PieceRotation(Axis.X, true);
+            case N:
+                return new PieceRotation(Axis.Y, true);
+            case W:
+                return new PieceRotation(Axis.X, false);
+            case S:
+                return new PieceRotation(Axis.Y, false);
+        }
+        return null;
+    }
+
+    /**
+     * The reverse of {@link #getRotation()}.
+     *
+     * @param pieceRotation
+     * @return The movement direction resulting in the given rotation.
+     */
+    public static Direction fromRotation(PieceRotation pieceRotation) {
+        if (pieceRotation.getAxis() == Axis.X) {
+            return pieceRotation.isClockwise() ? E : W;
+        }
+        return pieceRotation.isClockwise() ? N : S;
+    }
+
     public String getIndicator(boolean outline) {
         switch (this) {
             case E:
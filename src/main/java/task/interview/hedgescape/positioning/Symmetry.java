@@ -0,0 +1,165 @@
+package task.interview.hedgescape.positioning;
+
+import java.util.Arrays;
+
+/**
+ * Enumeration defining the 8 symmetries of a square game board (the rotations
+ * and reflections in the X / Y plane).
+ * <p>
+ * Each symmetry is applied to the [x, y] coordinates as an (optional) swap of the
+ * coordinates, followed by (optional) reflections along the 'X' and 'Y' axes.
+ * Only the symmetries without a swap keep the dimensions of rectangular boards.
+ * <p>
+ * The 'Z' axis (height above the game board) is never affected.
+ */
+public enum Symmetry {
+    IDENTITY(false, false, false),
+    ROTATE_90(true, false, true),
+    ROTATE_180(false, true, true),
+    ROTATE_270(true, true, false),
+    REFLECT_X(false, true, false),
+    REFLECT_Y(false, false, true),
+    TRANSPOSE(true, false, false),
+    ANTI_TRANSPOSE(true, true, true);
+
+    private final boolean swap;
+    private final boolean reflectX;
+    private final boolean reflectY;
+
+    Symmetry(boolean swap, boolean reflectX, boolean reflectY) {
+        this.swap = swap;
+        this.reflectX = reflectX;
+        this.reflectY = reflectY;
+    }
+
+    /**
+     * @param height
+     * @param width
+     * @return Whether the symmetry maps a game board of the given size onto itself.
+     */
+    public boolean isApplicable(int height, int width) {
+        return !swap || height == width;
+    }
+
+    public Symmetry getInverse() {
+        switch (this) {
+            case ROTATE_90:
+                return ROTATE_270;
+            case ROTATE_270:
+                return ROTATE_90;
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * Calculates the 'X' coordinate of the top-left cell of a rectangle, after the
+     * symmetry is applied to the whole game board.
+     *
+     * @param x                 The top-left cell of the rectangle.
+     * @param y
+     * @param rectangleHeight
+     * @param rectangleWidth
+     * @param boardHeight       The size of the game board (before the symmetry is applied).
+     * @param boardWidth
+     * @return
+     */
+    public int transformX(int x, int y, int rectangleHeight, int rectangleWidth, int boardHeight, int boardWidth) {
+        if (swap) {
+            return reflectX ? boardWidth - y - rectangleWidth : y;
+        }
+        return reflectX ? boardHeight - x - rectangleHeight : x;
+    }
+
+    /**
+     * See {@link #transformX(int, int, int, int, int, int)}.
+     */
+    public int transformY(int x, int y, int rectangleHeight, int rectangleWidth, int boardHeight, int boardWidth) {
+        if (swap) {
+            return reflectY ? boardHeight - x - rectangleHeight : x;
+        }
+        return reflectY ? boardWidth - y - rectangleWidth : y;
+    }
+
+    public Direction transform(Direction direction) {
+        int dx = direction == Direction.S ? 1 : direction == Direction.N ? -1 : 0;
+        int dy = direction == Direction.E ? 1 : direction == Direction.W ? -1 : 0;
+
+        if (swap) {
+            int temp = dx;
+            dx = dy;
+            dy = temp;
+        }
+        if (reflectX) {
+            dx = -dx;
+        }
+        if (reflectY) {
+            dy = -dy;
+        }
+
+        return dx > 0 ? Direction.S : dx < 0 ? Direction.N : dy > 0 ? Direction.E : Direction.W;
+    }
+
+    /**
+     * @param matrix A rectangular 2D matrix (e.g. a player piece footprint).
+     * @return A new, transformed matrix.
+     */
+    public Cell[][] transform(Cell[][] matrix) {
+        int height = matrix.length;
+        int width = matrix[0].length;
+        Cell[][] transformedMatrix = swap ? new Cell[width][height] : new Cell[height][width];
+
+        for (int x = 0; x < height; x++) {
+            for (int y = 0; y < width; y++) {
+                transformedMatrix[transformX(x, y, 1, 1, height, width)][transformY(x, y, 1, 1, height, width)] =
+                        matrix[x][y];
+            }
+        }
+
+        return transformedMatrix;
+    }
+
+    /**
+     * Transforms each X / Y layer of the given player piece bounding box and aligns
+     * the shape with the starting point of the bounding box again.
+     *
+     * @param boundingBox
+     * @return A new, transformed bounding box.
+     */
+    public Cell[][][] transform(Cell[][][] boundingBox) {
+        int size = boundingBox.length;
+        Cell[][][] transformedBox = new Cell[size][size][size];
+
+        int startingX = size;
+        int startingY = size;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (boundingBox[x][y][z] == Cell.PLAYER) {
+                        startingX = Math.min(startingX, transformX(x, y, 1, 1, size, size));
+                        startingY = Math.min(startingY, transformY(x, y, 1, 1, size, size));
+                    }
+                }
+            }
+        }
+
+        for (Cell[][] layer : transformedBox) {
+            for (Cell[] row : layer) {
+                Arrays.fill(row, Cell.FREE);
+            }
+        }
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (boundingBox[x][y][z] == Cell.PLAYER) {
+                        transformedBox[transformX(x, y, 1, 1, size, size) - startingX]
+                                [transformY(x, y, 1, 1, size, size) - startingY][z] = Cell.PLAYER;
+                    }
+                }
+            }
+        }
+
+        return transformedBox;
+    }
+}
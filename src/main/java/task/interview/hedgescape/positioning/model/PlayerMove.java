@@ -1,8 +1,6 @@
 package task.interview.hedgescape.positioning.model;
 
-import com.sun.istack.internal.NotNull;
-import task.interview.hedgescape.positioning.Axis;
-import task.interview.hedgescape.positioning.Cell;
+import org.jetbrains.annotations.NotNull;
 import task.interview.hedgescape.positioning.Direction;
 
 /**
@@ -55,27 +53,6 @@ public class PlayerMove {
     }
 
     public PieceRotation getRotationBasedOnDirection() {
-        /**
-         * Maybe some other type of initialization instead of the 'null' value
-         * should be implemented as the direction itself can never be null (see constructor).
-         */
-        PieceRotation pieceRotation = null;
-
-        switch (direction) {
-            case E:
-                pieceRotation = new PieceRotation(Axis.X, true);
-                break;
-            case N:
-                pieceRotation = new PieceRotation(Axis.Y, true);
-                break;
-            case W:
-                pieceRotation = new PieceRotation(Axis.X, false);
-                break;
-            case S:
-                pieceRotation = new PieceRotation(Axis.Y, false);
-                break;
-        }
-
-        return pieceRotation;
+        return direction.getRotation();
     }
 }
@@ -0,0 +1,115 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.function.IntFunction;
+
+/**
+ * An A* search over the (packed) game states.
+ * <p>
+ * The heuristic is the Manhattan distance to the closest winning position, scaled
+ * down so it never overestimates the remaining number of moves (see {@link ManhattanHeuristic}),
+ * so the solutions found are optimal.
+ * <p>
+ * The closed states, preceding moves and move counts are kept in a {@link StateStore},
+ * which can be moved out of the heap for the largest game boards (see {@link DirectStateStore}).
+ * Only the open states stay in the heap, as they are a small fraction of all states.
+ */
+public class AStarSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final IntFunction<StateStore> stateStoreFactory;
+
+    /**
+     * The bookkeeping of the search, indexed by game state (see {@link MoveRules}), with
+     * the number of moves each state was reached with as the search values.
+     * It is reused between puzzles with the same number of states.
+     */
+    private StateStore stateStore;
+
+    private StateHeap openStates = new StateHeap(1024);
+
+    private final SearchCounters searchCounters = new SearchCounters();
+
+    public AStarSolver() {
+        this(HeapStateStore::new);
+    }
+
+    /**
+     * @param stateStoreFactory Creates the state store for a given number of states,
+     *                          e.g. {@link DirectStateStore#allocate(int)}.
+     */
+    public AStarSolver(IntFunction<StateStore> stateStoreFactory) {
+        this.stateStoreFactory = stateStoreFactory;
+    }
+
+    @Override
+    public SolutionPath solve(SearchProblem searchProblem) {
+        searchCounters.startSearch();
+        SolutionPath solution = search(searchProblem);
+        searchCounters.finishSearch();
+
+        return solution;
+    }
+
+    private SolutionPath search(SearchProblem searchProblem) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        StateGraph stateGraph = searchProblem.getStateGraph();
+        prepareSearch(moveRules.getStateCount());
+        ManhattanHeuristic heuristic = new ManhattanHeuristic(searchProblem);
+
+        int startingState = searchProblem.getStartingState();
+        stateStore.setSearchValue(startingState, 0);
+        stateStore.setPrecedingMove(startingState, -1);
+        openStates.add(startingState, heuristic.estimateMoves(startingState));
+
+        while (!openStates.isEmpty()) {
+            int state = openStates.poll();
+
+            // The same state can be added more than once, with a lower move count.
+            if (stateStore.isVisited(state)) {
+                continue;
+            }
+            stateStore.markVisited(state);
+            searchCounters.stateExpanded();
+
+            searchCounters.goalChecked();
+            if (searchProblem.isWinningState(state)) {
+                return stateStore.tracePath(state);
+            }
+
+            int nextMoveCount = stateStore.getSearchValue(state) + 1;
+
+            for (Direction direction : DIRECTIONS) {
+                int nextState = stateGraph.move(state, direction);
+                searchCounters.moveAttempted(nextState);
+                if (nextState < 0 || stateStore.isVisited(nextState)
+                        || stateStore.getSearchValue(nextState) <= nextMoveCount) {
+                    continue;
+                }
+
+                stateStore.setSearchValue(nextState, nextMoveCount);
+                stateStore.setPrecedingMove(nextState, state << 2 | direction.ordinal());
+                openStates.add(nextState, nextMoveCount + heuristic.estimateMoves(nextState));
+            }
+        }
+
+        return null;
+    }
+
+    private void prepareSearch(int stateCount) {
+        if (stateStore == null || stateStore.getStateCount() != stateCount) {
+            stateStore = stateStoreFactory.apply(stateCount);
+        } else {
+            stateStore.clear();
+        }
+
+        stateStore.fillSearchValues(Integer.MAX_VALUE);
+        openStates.clear();
+    }
+}
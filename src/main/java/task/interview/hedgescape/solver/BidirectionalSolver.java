@@ -0,0 +1,250 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.function.IntFunction;
+
+/**
+ * A bidirectional breadth-first search over the (packed) game states - forward
+ * from the starting state and backward from all winning states at the same time
+ * (following the player moves in reverse - see {@link MoveRules#precede(int, Direction)}).
+ * <p>
+ * The searches take turns expanding a whole level, always the one with the smaller
+ * frontier, until they reach the same state. The shortest path through the states
+ * reached by both searches within that level is the solution. As each search only
+ * goes about half of the solution deep, far fewer states are explored for long
+ * solutions than by the {@link BreadthFirstSolver}.
+ * <p>
+ * PLEASE NOTE:
+ * If either search runs out of states without meeting the other one, the puzzle
+ * cannot be solved - usually the backward one, which is done at once if all
+ * winning states are blocked.
+ * <p>
+ * The reached states, the moves connecting them and the queue of each search are
+ * kept in its own {@link StateStore}, which can be moved out of the heap for the
+ * largest game boards (see {@link DirectStateStore}).
+ */
+public class BidirectionalSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SearchSide forwardSide;
+    private final SearchSide backwardSide;
+
+    /**
+     * The state on the shortest path found so far, reached by both searches, and its length.
+     */
+    private int meetingState;
+    private int meetingMoveCount;
+
+    private final SearchCounters searchCounters = new SearchCounters();
+
+    public BidirectionalSolver() {
+        this(HeapStateStore::new);
+    }
+
+    /**
+     * @param stateStoreFactory Creates the state store of each search for a given number
+     *                          of states, e.g. {@link DirectStateStore#allocate(int)}.
+     */
+    public BidirectionalSolver(IntFunction<StateStore> stateStoreFactory) {
+        forwardSide = new SearchSide(stateStoreFactory);
+        backwardSide = new SearchSide(stateStoreFactory);
+    }
+
+    @Override
+    public SolutionPath solve(SearchProblem searchProblem) {
+        searchCounters.startSearch();
+        SolutionPath solution = search(searchProblem);
+        searchCounters.finishSearch();
+
+        return solution;
+    }
+
+    private SolutionPath search(SearchProblem searchProblem) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        StateGraph stateGraph = searchProblem.getStateGraph();
+
+        forwardSide.prepare(moveRules.getStateCount());
+        backwardSide.prepare(moveRules.getStateCount());
+        meetingState = -1;
+        meetingMoveCount = Integer.MAX_VALUE;
+
+        forwardSide.reach(searchProblem.getStartingState(), -1);
+        for (int winningState : searchProblem.getWinningConditions().findWinningStates(
+                moveRules.getGameBoard(), moveRules.getOrientationTable())) {
+            if (!backwardSide.isReached(winningState)) {
+                backwardSide.reach(winningState, -1);
+            }
+        }
+
+        searchCounters.goalChecked();
+        if (backwardSide.isReached(searchProblem.getStartingState())) {
+            return tracePath(searchProblem.getStartingState());
+        }
+
+        while (forwardSide.getFrontierSize() > 0 && backwardSide.getFrontierSize() > 0) {
+            if (forwardSide.getFrontierSize() <= backwardSide.getFrontierSize()) {
+                expandLevel(stateGraph, forwardSide, backwardSide, true);
+            } else {
+                expandLevel(stateGraph, backwardSide, forwardSide, false);
+            }
+
+            if (meetingState >= 0) {
+                return tracePath(meetingState);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Expands all frontier states of one of the searches, recording the shortest
+     * path through any of the newly reached states already reached by the other search.
+     *
+     * @param stateGraph
+     * @param side
+     * @param oppositeSide
+     * @param forward      Whether the player moves are followed forward or in reverse.
+     */
+    private void expandLevel(StateGraph stateGraph, SearchSide side, SearchSide oppositeSide, boolean forward) {
+        int levelEnd = side.queueTail;
+        int nextDistance = ++side.levelDistance;
+
+        while (side.queueHead < levelEnd) {
+            int state = side.stateStore.getSearchValue(side.queueHead++);
+            searchCounters.stateExpanded();
+
+            for (Direction direction : DIRECTIONS) {
+                int nextState = forward ? stateGraph.move(state, direction) : stateGraph.precede(state, direction);
+                // The reverse moves do not tell why a move is not possible.
+                if (forward) {
+                    searchCounters.moveAttempted(nextState);
+                }
+                if (nextState < 0 || side.isReached(nextState)) {
+                    continue;
+                }
+
+                side.reach(nextState, state << 2 | direction.ordinal());
+
+                searchCounters.goalChecked();
+                if (oppositeSide.isReached(nextState)) {
+                    int moveCount = nextDistance + oppositeSide.getDistance(nextState);
+                    if (moveCount < meetingMoveCount) {
+                        meetingState = nextState;
+                        meetingMoveCount = moveCount;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins the forward path from the starting state to the given state with the
+     * backward path from it to a winning state.
+     *
+     * @param meetingState A state reached by both searches.
+     * @return
+     */
+    private SolutionPath tracePath(int meetingState) {
+        int forwardMoveCount = forwardSide.getDistance(meetingState);
+        int moveCount = forwardMoveCount + backwardSide.getDistance(meetingState);
+
+        int[] states = new int[moveCount + 1];
+        byte[] directions = new byte[moveCount];
+
+        int state = meetingState;
+        states[forwardMoveCount] = state;
+        for (int move = forwardMoveCount; move > 0; move--) {
+            int precedingMove = forwardSide.stateStore.getPrecedingMove(state);
+            directions[move - 1] = (byte) (precedingMove & 3);
+            state = precedingMove >>> 2;
+            states[move - 1] = state;
+        }
+
+        state = meetingState;
+        for (int move = forwardMoveCount; move < moveCount; move++) {
+            int precedingMove = backwardSide.stateStore.getPrecedingMove(state);
+            directions[move] = (byte) (precedingMove & 3);
+            state = precedingMove >>> 2;
+            states[move + 1] = state;
+        }
+
+        return new SolutionPath(states, directions);
+    }
+
+    /**
+     * The bookkeeping of one of the searches, indexed by game state (see {@link MoveRules}).
+     * The visited states of its store are the reached ones and the search values hold its
+     * queue (each state is queued at most once). The preceding moves connect each state to
+     * the previous one on its path, packed as: previous state * 4 + direction ordinal, or '-1'
+     * for the initial states. The move is made from the previous state (forward) or from the
+     * state itself (backward). The store is reused between puzzles with the same number of states.
+     */
+    private static class SearchSide {
+
+        private final IntFunction<StateStore> stateStoreFactory;
+        private StateStore stateStore;
+
+        private int queueHead;
+        private int queueTail;
+
+        /**
+         * The number of moves from the starting state (forward) or to the closest
+         * winning state (backward) of the states in the frontier.
+         */
+        private int levelDistance;
+
+        private SearchSide(IntFunction<StateStore> stateStoreFactory) {
+            this.stateStoreFactory = stateStoreFactory;
+        }
+
+        private void prepare(int stateCount) {
+            if (stateStore == null || stateStore.getStateCount() != stateCount) {
+                stateStore = stateStoreFactory.apply(stateCount);
+            } else {
+                stateStore.clear();
+            }
+
+            queueHead = 0;
+            queueTail = 0;
+            levelDistance = 0;
+        }
+
+        private boolean isReached(int state) {
+            return stateStore.isVisited(state);
+        }
+
+        private void reach(int state, int move) {
+            stateStore.markVisited(state);
+            stateStore.setPrecedingMove(state, move);
+            stateStore.setSearchValue(queueTail++, state);
+        }
+
+        /**
+         * The distances are not stored, but follow from the length of the path, which
+         * is only needed for the few states reached by both searches.
+         *
+         * @param state A reached state.
+         * @return The number of moves from the starting state (forward) or to the closest
+         * winning state (backward).
+         */
+        private int getDistance(int state) {
+            int distance = 0;
+            for (int move = stateStore.getPrecedingMove(state); move >= 0;
+                 move = stateStore.getPrecedingMove(move >>> 2)) {
+                distance++;
+            }
+
+            return distance;
+        }
+
+        private int getFrontierSize() {
+            return queueTail - queueHead;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.function.IntFunction;
+
+/**
+ * A breadth-first search over the (packed) game states. As all player moves have
+ * the same cost, the first winning state reached is always the closest one.
+ * <p>
+ * The visited states, preceding moves and the state queue are kept in a {@link StateStore},
+ * which can be moved out of the heap for the largest game boards (see {@link DirectStateStore}).
+ */
+public class BreadthFirstSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final IntFunction<StateStore> stateStoreFactory;
+
+    /**
+     * The bookkeeping of the search, indexed by game state (see {@link MoveRules}), with
+     * the state queue as the search values (each state is queued at most once).
+     * It is reused between puzzles with the same number of states.
+     */
+    private StateStore stateStore;
+
+    private final SearchCounters searchCounters = new SearchCounters();
+
+    public BreadthFirstSolver() {
+        this(HeapStateStore::new);
+    }
+
+    /**
+     * @param stateStoreFactory Creates the state store for a given number of states,
+     *                          e.g. {@link DirectStateStore#allocate(int)}.
+     */
+    public BreadthFirstSolver(IntFunction<StateStore> stateStoreFactory) {
+        this.stateStoreFactory = stateStoreFactory;
+    }
+
+    @Override
+    public SolutionPath solve(SearchProblem searchProblem) {
+        searchCounters.startSearch();
+        SolutionPath solution = search(searchProblem);
+        searchCounters.finishSearch();
+
+        return solution;
+    }
+
+    private SolutionPath search(SearchProblem searchProblem) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        StateGraph stateGraph = searchProblem.getStateGraph();
+        prepareSearch(moveRules.getStateCount());
+
+        int startingState = searchProblem.getStartingState();
+        stateStore.markVisited(startingState);
+        stateStore.setPrecedingMove(startingState, -1);
+
+        int queueHead = 0;
+        int queueTail = 0;
+        stateStore.setSearchValue(queueTail++, startingState);
+
+        while (queueHead < queueTail) {
+            int state = stateStore.getSearchValue(queueHead++);
+            searchCounters.stateExpanded();
+
+            searchCounters.goalChecked();
+            if (searchProblem.isWinningState(state)) {
+                return stateStore.tracePath(state);
+            }
+
+            for (Direction direction : DIRECTIONS) {
+                int nextState = stateGraph.move(state, direction);
+                searchCounters.moveAttempted(nextState);
+                if (nextState < 0 || stateStore.isVisited(nextState)) {
+                    continue;
+                }
+
+                stateStore.markVisited(nextState);
+                stateStore.setPrecedingMove(nextState, state << 2 | direction.ordinal());
+                stateStore.setSearchValue(queueTail++, nextState);
+            }
+        }
+
+        return null;
+    }
+
+    private void prepareSearch(int stateCount) {
+        if (stateStore == null || stateStore.getStateCount() != stateCount) {
+            stateStore = stateStoreFactory.apply(stateCount);
+        } else {
+            stateStore.clear();
+        }
+    }
+}
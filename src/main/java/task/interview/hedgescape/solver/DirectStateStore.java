@@ -0,0 +1,150 @@
+package task.interview.hedgescape.solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link StateStore} kept outside of the heap, in a single buffer holding the
+ * visited state bits, followed by the preceding moves and the search values
+ * (4 + 4 bytes per state).
+ * <p>
+ * The buffer is either allocated directly (see {@link #allocate(int)}), or mapped
+ * from a temporary file (see {@link #map(int)}), so the operating system can page
+ * it out when the memory runs low.
+ * <p>
+ * PLEASE NOTE:
+ * The largest game board (see {@link task.interview.hedgescape.gameplay.GameConfig})
+ * with 24 player piece orientations has about 25M states, which take about 200MB,
+ * well below the 2GB limit of a single buffer. The memory is released when the store
+ * is garbage collected.
+ */
+public class DirectStateStore implements StateStore {
+
+    private final int stateCount;
+    private final int precedingMovesOffset;
+    private final int searchValuesOffset;
+    private final ByteBuffer buffer;
+
+    private DirectStateStore(int stateCount, ByteBuffer buffer) {
+        this.stateCount = stateCount;
+        this.precedingMovesOffset = getVisitedStatesSize(stateCount);
+        this.searchValuesOffset = precedingMovesOffset + stateCount * Integer.BYTES;
+        this.buffer = buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @param stateCount
+     * @return A store in a newly allocated direct buffer.
+     */
+    public static DirectStateStore allocate(int stateCount) {
+        return new DirectStateStore(stateCount, ByteBuffer.allocateDirect(getBufferSize(stateCount)));
+    }
+
+    /**
+     * The temporary file is deleted right after it is mapped (the mapping stays valid),
+     * so nothing is left behind, even if the application does not exit normally.
+     * <p>
+     * PLEASE NOTE:
+     * A mapped file cannot be deleted on Windows until it is unmapped (when the store is
+     * garbage collected), so there it is only deleted when the application exits.
+     *
+     * @param stateCount
+     * @return A store in a newly mapped temporary file.
+     * @throws UncheckedIOException If the file cannot be created or mapped.
+     */
+    public static DirectStateStore map(int stateCount) {
+        Path path;
+        try {
+            path = Files.createTempFile("hedgescape-states", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create the state store file.", e);
+        }
+
+        try {
+            DirectStateStore stateStore;
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                stateStore = new DirectStateStore(stateCount,
+                        fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, getBufferSize(stateCount)));
+            }
+
+            deleteFile(path);
+            return stateStore;
+        } catch (IOException e) {
+            deleteFile(path);
+            throw new UncheckedIOException("Unable to map the state store.", e);
+        }
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Still mapped (on Windows).
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private static int getVisitedStatesSize(int stateCount) {
+        return ((stateCount + 63) >>> 6) * Long.BYTES;
+    }
+
+    private static int getBufferSize(int stateCount) {
+        return getVisitedStatesSize(stateCount) + 2 * stateCount * Integer.BYTES;
+    }
+
+    @Override
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    @Override
+    public boolean isVisited(int state) {
+        return (buffer.getLong((state >>> 6) * Long.BYTES) & (1L << state)) != 0;
+    }
+
+    @Override
+    public void markVisited(int state) {
+        int index = (state >>> 6) * Long.BYTES;
+        buffer.putLong(index, buffer.getLong(index) | 1L << state);
+    }
+
+    @Override
+    public int getPrecedingMove(int state) {
+        return buffer.getInt(precedingMovesOffset + state * Integer.BYTES);
+    }
+
+    @Override
+    public void setPrecedingMove(int state, int precedingMove) {
+        buffer.putInt(precedingMovesOffset + state * Integer.BYTES, precedingMove);
+    }
+
+    @Override
+    public int getSearchValue(int index) {
+        return buffer.getInt(searchValuesOffset + index * Integer.BYTES);
+    }
+
+    @Override
+    public void setSearchValue(int index, int value) {
+        buffer.putInt(searchValuesOffset + index * Integer.BYTES, value);
+    }
+
+    @Override
+    public void fillSearchValues(int value) {
+        for (int index = 0; index < stateCount; index++) {
+            setSearchValue(index, value);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int index = 0; index < precedingMovesOffset; index += Long.BYTES) {
+            buffer.putLong(index, 0L);
+        }
+    }
+}
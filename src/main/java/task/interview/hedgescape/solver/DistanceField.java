@@ -0,0 +1,256 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.BoardGraph;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.metrics.SolverMetrics;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * The number of moves required to win the game from every (packed) game state
+ * of a given game board.
+ * <p>
+ * The distances are calculated once per game board, by a single backward
+ * breadth-first search starting from all winning states at the same time
+ * (following the player moves in reverse - see {@link MoveRules#precede(int, Direction)}).
+ * Afterwards, checking whether the puzzle is solvable from any starting state
+ * is a single array lookup and the solution itself can be followed move by move.
+ * <p>
+ * Each calculation is recorded in the {@link SolverMetrics} as a search, with every
+ * dequeued state counted as an expanded one.
+ * <p>
+ * The distances and the queue of the backward search are kept in a {@link StateStore},
+ * which can be moved out of the heap for the largest game boards (see {@link DirectStateStore}).
+ */
+public class DistanceField {
+
+    public static final int UNREACHABLE = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private StateGraph stateGraph;
+
+    /**
+     * The reached states, with the number of moves required to win the game as their
+     * search values. The backward search records no preceding moves (the next move
+     * follows from the distances), so its queue takes their place. The store is reused
+     * for the next game board (see {@link #compute(MoveRules, StateGraph, WinningConditions, DistanceField)}).
+     */
+    private final StateStore stateStore;
+
+    private int maximumDistance;
+
+    private DistanceField(StateStore stateStore) {
+        this.stateStore = stateStore;
+    }
+
+    /**
+     * Calculates the distance field for the current blocked cells of the game board.
+     *
+     * @param moveRules
+     * @param winningConditions
+     * @return
+     */
+    public static DistanceField compute(MoveRules moveRules, WinningConditions winningConditions) {
+        return compute(moveRules, moveRules, winningConditions);
+    }
+
+    /**
+     * Calculates the distance field by traversing the given state graph (see {@link BoardGraph}).
+     *
+     * @param moveRules
+     * @param stateGraph        Should be compiled from the given move rules.
+     * @param winningConditions
+     * @return
+     */
+    public static DistanceField compute(MoveRules moveRules, StateGraph stateGraph,
+                                        WinningConditions winningConditions) {
+        return compute(moveRules, stateGraph, winningConditions, null);
+    }
+
+    /**
+     * Same as {@link #compute(MoveRules, StateGraph, WinningConditions)}, but the buffers of
+     * a distance field that is no longer used are reused, if it has the same number of
+     * states (e.g. the previous game board of the same size), instead of allocating new ones.
+     * <p>
+     * PLEASE NOTE:
+     * The reused distance field is overwritten, so it should not be referenced anywhere else.
+     *
+     * @param moveRules
+     * @param stateGraph        Should be compiled from the given move rules.
+     * @param winningConditions
+     * @param reusedField       A distance field that is no longer used or 'null'.
+     * @return The reused distance field or a new one.
+     */
+    public static DistanceField compute(MoveRules moveRules, StateGraph stateGraph,
+                                        WinningConditions winningConditions, DistanceField reusedField) {
+        return compute(moveRules, stateGraph, winningConditions, reusedField, HeapStateStore::new);
+    }
+
+    /**
+     * Same as {@link #compute(MoveRules, StateGraph, WinningConditions, DistanceField)}, but
+     * a new distance field is kept in a state store created by the given factory.
+     * A reused distance field keeps its own state store.
+     *
+     * @param moveRules
+     * @param stateGraph        Should be compiled from the given move rules.
+     * @param winningConditions
+     * @param reusedField       A distance field that is no longer used or 'null'.
+     * @param stateStoreFactory Creates the state store for a given number of states,
+     *                          e.g. {@link DirectStateStore#allocate(int)}.
+     * @return The reused distance field or a new one.
+     */
+    public static DistanceField compute(MoveRules moveRules, StateGraph stateGraph,
+                                        WinningConditions winningConditions, DistanceField reusedField,
+                                        IntFunction<StateStore> stateStoreFactory) {
+        SearchCounters searchCounters = new SearchCounters();
+        searchCounters.startSearch();
+
+        DistanceField distanceField;
+        if (reusedField != null && reusedField.stateStore.getStateCount() == stateGraph.getStateCount()) {
+            distanceField = reusedField;
+            distanceField.stateStore.clear();
+        } else {
+            distanceField = new DistanceField(stateStoreFactory.apply(stateGraph.getStateCount()));
+        }
+        distanceField.stateGraph = stateGraph;
+        distanceField.maximumDistance = 0;
+
+        StateStore stateStore = distanceField.stateStore;
+        int queueHead = 0;
+        int queueTail = 0;
+
+        for (int winningState : winningConditions.findWinningStates(
+                moveRules.getGameBoard(), moveRules.getOrientationTable())) {
+            stateStore.markVisited(winningState);
+            stateStore.setSearchValue(winningState, 0);
+            stateStore.setPrecedingMove(queueTail++, winningState);
+        }
+
+        while (queueHead < queueTail) {
+            int state = stateStore.getPrecedingMove(queueHead++);
+            int precedingDistance = stateStore.getSearchValue(state) + 1;
+            searchCounters.stateExpanded();
+
+            for (Direction direction : DIRECTIONS) {
+                int precedingState = stateGraph.precede(state, direction);
+                if (precedingState < 0 || stateStore.isVisited(precedingState)) {
+                    continue;
+                }
+
+                stateStore.markVisited(precedingState);
+                stateStore.setSearchValue(precedingState, precedingDistance);
+                distanceField.maximumDistance = precedingDistance;
+                stateStore.setPrecedingMove(queueTail++, precedingState);
+            }
+        }
+
+        searchCounters.finishSearch();
+        return distanceField;
+    }
+
+    /**
+     * @param state
+     * @return The number of moves required to win the game or {@link #UNREACHABLE}.
+     */
+    public int getDistance(int state) {
+        return stateStore.isVisited(state) ? stateStore.getSearchValue(state) : UNREACHABLE;
+    }
+
+    public boolean isSolvable(int state) {
+        return stateStore.isVisited(state);
+    }
+
+    public int getMaximumDistance() {
+        return maximumDistance;
+    }
+
+    /**
+     * Picks a random game state requiring exactly the given number of moves to win the game.
+     *
+     * @param distance
+     * @param random
+     * @return The (packed) game state or '-1' if there are no states at the given distance.
+     */
+    public int pickRandomState(int distance, SplittableRandom random) {
+        int stateCount = 0;
+        for (int state = 0; state < stateStore.getStateCount(); state++) {
+            if (getDistance(state) == distance) {
+                stateCount++;
+            }
+        }
+
+        if (stateCount == 0) {
+            return -1;
+        }
+
+        int pickedIndex = random.nextInt(stateCount);
+        for (int state = 0; state < stateStore.getStateCount(); state++) {
+            if (getDistance(state) == distance && pickedIndex-- == 0) {
+                return state;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param state
+     * @return The direction of a move one move closer to winning the game or 'null'
+     * if the game cannot be won from the given state (or is already won).
+     */
+    public Direction getNextDirection(int state) {
+        int distance = getDistance(state);
+        if (distance <= 0) {
+            return null;
+        }
+
+        for (Direction direction : DIRECTIONS) {
+            int nextState = stateGraph.move(state, direction);
+
+            if (nextState >= 0 && getDistance(nextState) == distance - 1) {
+                return direction;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Follows the distance field from the given state, always moving to a state
+     * one move closer to winning the game.
+     *
+     * @param startingState
+     * @return The shortest solution or 'null' if the game cannot be won from the given state.
+     */
+    public SolutionPath getSolution(int startingState) {
+        if (!isSolvable(startingState)) {
+            return null;
+        }
+
+        int moveCount = getDistance(startingState);
+        int[] states = new int[moveCount + 1];
+        byte[] directions = new byte[moveCount];
+
+        states[0] = startingState;
+        for (int move = 0; move < moveCount; move++) {
+            for (Direction direction : DIRECTIONS) {
+                int nextState = stateGraph.move(states[move], direction);
+
+                if (nextState >= 0 && getDistance(nextState) == moveCount - move - 1) {
+                    states[move + 1] = nextState;
+                    directions[move] = (byte) direction.ordinal();
+                    break;
+                }
+            }
+        }
+
+        return new SolutionPath(states, directions);
+    }
+}
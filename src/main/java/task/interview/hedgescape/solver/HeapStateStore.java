@@ -0,0 +1,65 @@
+package task.interview.hedgescape.solver;
+
+import java.util.Arrays;
+
+/**
+ * A {@link StateStore} kept in primitive arrays in the heap - the fastest one
+ * for the game boards, whose states easily fit in it.
+ */
+public class HeapStateStore implements StateStore {
+
+    private final long[] visitedStates;
+    private final int[] precedingMoves;
+    private final int[] searchValues;
+
+    public HeapStateStore(int stateCount) {
+        visitedStates = new long[(stateCount + 63) >>> 6];
+        precedingMoves = new int[stateCount];
+        searchValues = new int[stateCount];
+    }
+
+    @Override
+    public int getStateCount() {
+        return precedingMoves.length;
+    }
+
+    @Override
+    public boolean isVisited(int state) {
+        return (visitedStates[state >>> 6] & (1L << state)) != 0;
+    }
+
+    @Override
+    public void markVisited(int state) {
+        visitedStates[state >>> 6] |= 1L << state;
+    }
+
+    @Override
+    public int getPrecedingMove(int state) {
+        return precedingMoves[state];
+    }
+
+    @Override
+    public void setPrecedingMove(int state, int precedingMove) {
+        precedingMoves[state] = precedingMove;
+    }
+
+    @Override
+    public int getSearchValue(int index) {
+        return searchValues[index];
+    }
+
+    @Override
+    public void setSearchValue(int index, int value) {
+        searchValues[index] = value;
+    }
+
+    @Override
+    public void fillSearchValues(int value) {
+        Arrays.fill(searchValues, value);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(visitedStates, 0L);
+    }
+}
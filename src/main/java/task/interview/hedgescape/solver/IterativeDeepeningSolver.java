@@ -0,0 +1,277 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.Arrays;
+
+/**
+ * An iterative deepening A* (IDA*) search over the (packed) game states.
+ * <p>
+ * Each iteration is a depth-first search, which abandons any path as soon as its
+ * length plus the heuristic estimate (see {@link ManhattanHeuristic}) exceeds a
+ * threshold. The threshold starts at the estimate of the starting state and is
+ * raised to the lowest exceeding value after each unsuccessful iteration, so the
+ * first solution found is the shortest one.
+ * <p>
+ * Unlike the {@link AStarSolver} and {@link BreadthFirstSolver}, nothing is kept per
+ * game state - only the current path (memory proportional to the solution length)
+ * and an optional fixed-size transposition table, so boards with more states than
+ * would fit in the heap can still be solved.
+ * <p>
+ * PLEASE NOTE:
+ * The same states are expanded many times (in each iteration and along different
+ * paths), so this is slower than the A* search on boards which fit in memory.
+ * Proving that a puzzle cannot be solved requires exploring every path without
+ * cycles, which is only feasible for small boards - the transposition table helps
+ * a lot with that, as it cuts off most of the paths reaching the same state.
+ */
+public class IterativeDeepeningSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final int INITIAL_PATH_CAPACITY = 64;
+
+    /**
+     * The largest transposition table has 2^24 entries (128MB).
+     */
+    public static final int MAXIMUM_TRANSPOSITION_TABLE_BITS = 24;
+
+    private static final int MOVE_COUNT_BITS = 24;
+    private static final int MOVE_COUNT_MASK = (1 << MOVE_COUNT_BITS) - 1;
+    private static final int ITERATION_STAMP_MASK = 0xFF;
+
+    /**
+     * The result of an iteration which reached a winning state.
+     */
+    private static final int FOUND = -1;
+
+    /**
+     * The transposition table - the lowest move count each state was reached with
+     * in the current iteration, as (state << 32 | iteration stamp << 24 | move count)
+     * entries, in slots selected by the state hash. Colliding states simply replace
+     * each other.
+     * <p>
+     * The entries of the previous iterations (and searches) are told apart by their
+     * stamps, so the table is not cleared for each iteration - only once every 255
+     * iterations, when the 8-bit stamp wraps around ('0' marks the empty entries).
+     */
+    private final long[] transpositionTable;
+    private int iterationStamp = 0;
+
+    /**
+     * The states of the current path, the next direction to try from each of them
+     * and the directions of the moves between them.
+     */
+    private int[] pathStates = new int[INITIAL_PATH_CAPACITY];
+    private byte[] nextDirections = new byte[INITIAL_PATH_CAPACITY];
+    private byte[] pathDirections = new byte[INITIAL_PATH_CAPACITY];
+
+    /**
+     * The number of moves of the path found by the last iteration.
+     */
+    private int pathLength;
+
+    private final SearchCounters searchCounters = new SearchCounters();
+
+    /**
+     * Creates a solver without a transposition table, using memory only for the current path.
+     */
+    public IterativeDeepeningSolver() {
+        this(0);
+    }
+
+    /**
+     * @param transpositionTableBits The transposition table has 2^bits entries of 8 bytes,
+     *                               or none at all if set to '0'.
+     * @throws IllegalArgumentException If the table would have more than
+     *                                  2^{@link #MAXIMUM_TRANSPOSITION_TABLE_BITS} entries.
+     */
+    public IterativeDeepeningSolver(int transpositionTableBits) {
+        if (transpositionTableBits < 0 || transpositionTableBits > MAXIMUM_TRANSPOSITION_TABLE_BITS) {
+            throw new IllegalArgumentException("Invalid transposition table size: 2^" + transpositionTableBits);
+        }
+
+        transpositionTable = transpositionTableBits > 0 ? new long[1 << transpositionTableBits] : null;
+    }
+
+    @Override
+    public SolutionPath solve(SearchProblem searchProblem) {
+        searchCounters.startSearch();
+        SolutionPath solution = search(searchProblem);
+        searchCounters.finishSearch();
+
+        return solution;
+    }
+
+    private SolutionPath search(SearchProblem searchProblem) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+
+        // There is no point in exploring all paths, if the winning states are blocked.
+        if (searchProblem.getWinningConditions().findWinningStates(
+                moveRules.getGameBoard(), moveRules.getOrientationTable()).length == 0) {
+            return null;
+        }
+
+        ManhattanHeuristic heuristic = new ManhattanHeuristic(searchProblem);
+        int threshold = heuristic.estimateMoves(searchProblem.getStartingState());
+
+        while (true) {
+            int nextThreshold = searchWithinThreshold(searchProblem, heuristic, threshold);
+
+            if (nextThreshold == FOUND) {
+                return tracePath(pathLength);
+            }
+            // No shortest path can visit more states than there are.
+            if (nextThreshold == Integer.MAX_VALUE || nextThreshold >= moveRules.getStateCount()) {
+                return null;
+            }
+
+            threshold = nextThreshold;
+        }
+    }
+
+    /**
+     * A single depth-first iteration, without recursion (the path is kept in the path arrays).
+     *
+     * @param searchProblem
+     * @param heuristic
+     * @param threshold     The highest allowed path length plus estimate.
+     * @return {@link #FOUND} if a winning state was reached, otherwise the lowest path length
+     * plus estimate exceeding the threshold ({@link Integer#MAX_VALUE} if there is none).
+     */
+    private int searchWithinThreshold(SearchProblem searchProblem, ManhattanHeuristic heuristic, int threshold) {
+        StateGraph stateGraph = searchProblem.getStateGraph();
+        int nextThreshold = Integer.MAX_VALUE;
+
+        if (transpositionTable != null) {
+            iterationStamp = (iterationStamp + 1) & ITERATION_STAMP_MASK;
+            if (iterationStamp == 0) {
+                Arrays.fill(transpositionTable, 0L);
+                iterationStamp = 1;
+            }
+        }
+
+        int startingState = searchProblem.getStartingState();
+        pathStates[0] = startingState;
+        nextDirections[0] = 0;
+        int depth = 0;
+
+        searchCounters.stateExpanded();
+        searchCounters.goalChecked();
+        if (searchProblem.isWinningState(startingState)) {
+            pathLength = 0;
+            return FOUND;
+        }
+
+        while (depth >= 0) {
+            if (nextDirections[depth] == DIRECTIONS.length) {
+                depth--;
+                continue;
+            }
+
+            Direction direction = DIRECTIONS[nextDirections[depth]++];
+            int nextState = stateGraph.move(pathStates[depth], direction);
+            searchCounters.moveAttempted(nextState);
+            if (nextState < 0 || isOnPath(nextState, depth)) {
+                continue;
+            }
+
+            int nextMoveCount = depth + 1;
+            int estimate = nextMoveCount + heuristic.estimateMoves(nextState);
+            if (estimate > threshold) {
+                nextThreshold = Math.min(nextThreshold, estimate);
+                continue;
+            }
+
+            if (!recordTransposition(nextState, nextMoveCount)) {
+                continue;
+            }
+
+            ensurePathCapacity(nextMoveCount + 1);
+            pathDirections[depth] = (byte) direction.ordinal();
+            pathStates[nextMoveCount] = nextState;
+            nextDirections[nextMoveCount] = 0;
+            depth = nextMoveCount;
+
+            searchCounters.stateExpanded();
+            searchCounters.goalChecked();
+            if (searchProblem.isWinningState(nextState)) {
+                pathLength = depth;
+                return FOUND;
+            }
+        }
+
+        return nextThreshold;
+    }
+
+    /**
+     * Paths visiting the same state twice are never the shortest ones.
+     * <p>
+     * PLEASE NOTE:
+     * With a transposition table, only moving straight back is checked here, as
+     * the states of the current path are normally found in the table anyway.
+     */
+    private boolean isOnPath(int state, int depth) {
+        if (transpositionTable != null) {
+            return depth > 0 && pathStates[depth - 1] == state;
+        }
+
+        for (int i = depth; i >= 0; i--) {
+            if (pathStates[i] == state) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If the state was already reached with the same or a lower move count in this
+     * iteration, everything reachable from it within the threshold was already explored.
+     * <p>
+     * PLEASE NOTE:
+     * Move counts beyond 2^24 do not fit in the entries, so those states are not recorded.
+     *
+     * @param state
+     * @param moveCount
+     * @return Whether the state should be explored.
+     */
+    private boolean recordTransposition(int state, int moveCount) {
+        if (transpositionTable == null || moveCount > MOVE_COUNT_MASK) {
+            return true;
+        }
+
+        int slot = (int) (mix(state) & (transpositionTable.length - 1));
+        long entry = transpositionTable[slot];
+
+        if ((int) (entry >>> 32) == state && ((int) entry >>> MOVE_COUNT_BITS) == iterationStamp
+                && ((int) entry & MOVE_COUNT_MASK) <= moveCount) {
+            return false;
+        }
+
+        transpositionTable[slot] = (long) state << 32 | (long) iterationStamp << MOVE_COUNT_BITS | moveCount;
+        return true;
+    }
+
+    private void ensurePathCapacity(int capacity) {
+        if (capacity > pathStates.length) {
+            int newCapacity = Math.max(capacity, pathStates.length * 2);
+
+            pathStates = Arrays.copyOf(pathStates, newCapacity);
+            nextDirections = Arrays.copyOf(nextDirections, newCapacity);
+            pathDirections = Arrays.copyOf(pathDirections, newCapacity);
+        }
+    }
+
+    private SolutionPath tracePath(int moveCount) {
+        return new SolutionPath(Arrays.copyOf(pathStates, moveCount + 1), Arrays.copyOf(pathDirections, moveCount));
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return value ^ (value >>> 33);
+    }
+}
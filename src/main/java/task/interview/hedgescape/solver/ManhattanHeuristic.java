@@ -0,0 +1,68 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.positioning.model.Position;
+
+import java.util.List;
+
+/**
+ * The heuristic function of the informed searches (see {@link AStarSolver}).
+ * <p>
+ * It is the Manhattan distance to the closest winning position, divided by the
+ * longest distance the player piece can cover with a single tumble (one side of
+ * its largest footprint, minus one). As each move changes only one of the
+ * coordinates by at most that much, the heuristic never overestimates the
+ * remaining number of moves, so the solutions found are optimal.
+ */
+class ManhattanHeuristic {
+
+    private final MoveRules moveRules;
+
+    private final int[] winningX;
+    private final int[] winningY;
+    private final int maximumMoveDistance;
+
+    ManhattanHeuristic(SearchProblem searchProblem) {
+        moveRules = searchProblem.getMoveRules();
+
+        List<Position> winningPositions = searchProblem.getWinningConditions().getWinningPositions();
+
+        winningX = new int[winningPositions.size()];
+        winningY = new int[winningPositions.size()];
+        for (int i = 0; i < winningX.length; i++) {
+            winningX[i] = winningPositions.get(i).getX();
+            winningY[i] = winningPositions.get(i).getY();
+        }
+
+        PieceOrientationTable orientationTable = moveRules.getOrientationTable();
+
+        int maximumMoveDistance = 0;
+        for (int orientation = 0; orientation < orientationTable.getOrientationCount(); orientation++) {
+            maximumMoveDistance = Math.max(maximumMoveDistance, Math.max(
+                    orientationTable.getFootprintHeight(orientation),
+                    orientationTable.getFootprintWidth(orientation)) - 1);
+        }
+        this.maximumMoveDistance = maximumMoveDistance;
+    }
+
+    /**
+     * @param state
+     * @return The lowest possible number of moves to reach a winning position.
+     */
+    int estimateMoves(int state) {
+        if (maximumMoveDistance == 0 || winningX.length == 0) {
+            return 0;
+        }
+
+        int x = moveRules.getX(state);
+        int y = moveRules.getY(state);
+
+        int distance = Integer.MAX_VALUE;
+        for (int i = 0; i < winningX.length; i++) {
+            distance = Math.min(distance, Math.abs(x - winningX[i]) + Math.abs(y - winningY[i]));
+        }
+
+        return (distance + maximumMoveDistance - 1) / maximumMoveDistance;
+    }
+}
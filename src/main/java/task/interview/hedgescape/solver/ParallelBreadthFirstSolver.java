@@ -0,0 +1,266 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SearchCounters;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+/**
+ * A level-synchronous breadth-first search over the (packed) game states, which
+ * expands each level (frontier) of the search on multiple threads.
+ * <p>
+ * The frontier is split in chunks, expanded by the tasks of a {@link ForkJoinPool}.
+ * Each state is claimed by the first task reaching it, by setting its bit in the
+ * visited states with a compare-and-set, so only that task records its preceding
+ * move. Each chunk collects the states it claimed in its own buffer and the buffers
+ * are concatenated into the next frontier once the whole level is expanded.
+ * <p>
+ * The preceding moves and the frontier are kept in a {@link StateStore}, which can be
+ * moved out of the heap for the largest game boards (see {@link DirectStateStore}).
+ * The visited states are claimed with a compare-and-set, so they stay in the heap
+ * (a single bit per state).
+ * <p>
+ * PLEASE NOTE:
+ * The solutions are as short as the ones of the {@link BreadthFirstSolver}, but
+ * which of the equally short ones is found depends on the thread timing. Small
+ * frontiers are expanded on the calling thread, so this only pays off on large
+ * game boards (see {@link task.interview.hedgescape.gameplay.GameConfig}).
+ */
+public class ParallelBreadthFirstSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The number of frontier states below which a chunk is not split any further.
+     */
+    private static final int MINIMUM_CHUNK_SIZE = 1024;
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * The number of chunks each (large enough) frontier is split in.
+     */
+    private final int maximumChunkCount;
+
+    private final IntFunction<StateStore> stateStoreFactory;
+
+    /**
+     * The bookkeeping of the search, indexed by game state (see {@link MoveRules}), with
+     * the frontier as the search values of the store. The next frontier replaces it once
+     * it is expanded. Both are reused between puzzles with the same number of states.
+     * <p>
+     * PLEASE NOTE:
+     * The tasks read the frontier and set the preceding moves of the states they claimed
+     * concurrently, which the stores allow as long as no two tasks write the same index.
+     */
+    private AtomicLongArray visitedStates;
+    private StateStore stateStore;
+
+    private final Chunk[] chunks;
+
+    private final SearchCounters searchCounters = new SearchCounters();
+
+    public ParallelBreadthFirstSolver(ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, HeapStateStore::new);
+    }
+
+    /**
+     * @param forkJoinPool
+     * @param stateStoreFactory Creates the state store for a given number of states,
+     *                          e.g. {@link DirectStateStore#allocate(int)}.
+     */
+    public ParallelBreadthFirstSolver(ForkJoinPool forkJoinPool, IntFunction<StateStore> stateStoreFactory) {
+        this.forkJoinPool = forkJoinPool;
+        this.stateStoreFactory = stateStoreFactory;
+
+        // A few chunks per thread, so the threads finishing early can steal the rest.
+        maximumChunkCount = forkJoinPool.getParallelism() * 4;
+        chunks = new Chunk[maximumChunkCount];
+        for (int chunk = 0; chunk < maximumChunkCount; chunk++) {
+            chunks[chunk] = new Chunk();
+        }
+    }
+
+    @Override
+    public SolutionPath solve(SearchProblem searchProblem) {
+        searchCounters.startSearch();
+        SolutionPath solution = search(searchProblem);
+        searchCounters.finishSearch();
+
+        return solution;
+    }
+
+    private SolutionPath search(SearchProblem searchProblem) {
+        prepareSearch(searchProblem.getMoveRules().getStateCount());
+
+        int startingState = searchProblem.getStartingState();
+        markStateVisited(startingState);
+        stateStore.setPrecedingMove(startingState, -1);
+
+        stateStore.setSearchValue(0, startingState);
+        int frontierSize = 1;
+
+        while (frontierSize > 0) {
+            int chunkCount = Math.min(maximumChunkCount, (frontierSize + MINIMUM_CHUNK_SIZE - 1) / MINIMUM_CHUNK_SIZE);
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                chunks[chunk].prepare(searchProblem,
+                        (int) ((long) frontierSize * chunk / chunkCount),
+                        (int) ((long) frontierSize * (chunk + 1) / chunkCount));
+            }
+
+            if (chunkCount == 1) {
+                chunks[0].expand();
+            } else {
+                forkJoinPool.invoke(new ExpansionTask(0, chunkCount));
+            }
+
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                searchCounters.add(chunks[chunk].searchCounters);
+
+                // The states of a frontier are all equally far from the starting state.
+                if (chunks[chunk].winningState >= 0) {
+                    return stateStore.tracePath(chunks[chunk].winningState);
+                }
+            }
+
+            // The whole frontier is expanded, so the next one is written over it.
+            frontierSize = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                for (int index = 0; index < chunks[chunk].claimedCount; index++) {
+                    stateStore.setSearchValue(frontierSize++, chunks[chunk].claimedStates[index]);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void prepareSearch(int stateCount) {
+        if (stateStore == null || stateStore.getStateCount() != stateCount) {
+            visitedStates = new AtomicLongArray((stateCount + 63) >>> 6);
+            stateStore = stateStoreFactory.apply(stateCount);
+        } else {
+            for (int word = 0; word < visitedStates.length(); word++) {
+                visitedStates.set(word, 0L);
+            }
+        }
+    }
+
+    private void markStateVisited(int state) {
+        visitedStates.set(state >>> 6, visitedStates.get(state >>> 6) | 1L << state);
+    }
+
+    /**
+     * @param state
+     * @return Whether the state was not visited before and was claimed by the calling thread.
+     */
+    private boolean claimState(int state) {
+        int word = state >>> 6;
+        long bit = 1L << state;
+
+        long visited;
+        do {
+            visited = visitedStates.get(word);
+            if ((visited & bit) != 0) {
+                return false;
+            }
+        } while (!visitedStates.compareAndSet(word, visited, visited | bit));
+
+        return true;
+    }
+
+    /**
+     * A range of the current frontier, expanded by a single task.
+     */
+    private class Chunk {
+
+        private final SearchCounters searchCounters = new SearchCounters();
+
+        private SearchProblem searchProblem;
+        private int fromIndex;
+        private int toIndex;
+
+        /**
+         * The states of the next frontier claimed while expanding this chunk.
+         */
+        private int[] claimedStates = new int[MINIMUM_CHUNK_SIZE];
+        private int claimedCount;
+
+        /**
+         * A winning state found in this chunk or '-1' if there is none.
+         */
+        private int winningState;
+
+        private void prepare(SearchProblem searchProblem, int fromIndex, int toIndex) {
+            this.searchProblem = searchProblem;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+
+            searchCounters.startSearch();
+            claimedCount = 0;
+            winningState = -1;
+
+            // Each state has at most one successor per direction.
+            int capacity = (toIndex - fromIndex) * DIRECTIONS.length;
+            if (claimedStates.length < capacity) {
+                claimedStates = new int[Math.max(capacity, claimedStates.length * 2)];
+            }
+        }
+
+        private void expand() {
+            StateGraph stateGraph = searchProblem.getStateGraph();
+
+            for (int index = fromIndex; index < toIndex; index++) {
+                int state = stateStore.getSearchValue(index);
+                searchCounters.stateExpanded();
+
+                searchCounters.goalChecked();
+                if (searchProblem.isWinningState(state)) {
+                    winningState = state;
+                    return;
+                }
+
+                for (Direction direction : DIRECTIONS) {
+                    int nextState = stateGraph.move(state, direction);
+                    searchCounters.moveAttempted(nextState);
+                    if (nextState < 0 || !claimState(nextState)) {
+                        continue;
+                    }
+
+                    stateStore.setPrecedingMove(nextState, state << 2 | direction.ordinal());
+                    claimedStates[claimedCount++] = nextState;
+                }
+            }
+        }
+    }
+
+    private class ExpansionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromChunk;
+        private final int toChunk;
+
+        private ExpansionTask(int fromChunk, int toChunk) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                chunks[fromChunk].expand();
+                return;
+            }
+
+            int middleChunk = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ExpansionTask(fromChunk, middleChunk), new ExpansionTask(middleChunk, toChunk));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+/**
+ * Common interface for all path-finding strategies used for solving puzzles.
+ * <p>
+ * PLEASE NOTE:
+ * Solvers reuse their internal bookkeeping arrays between searches, so a single
+ * instance should not be shared between threads.
+ */
+public interface PuzzleSolver {
+
+    /**
+     * Searches for the shortest sequence of player moves leading from the starting
+     * state of the problem to any of its winning states.
+     *
+     * @param searchProblem
+     * @return The solution or 'null' if the puzzle cannot be solved.
+     */
+    SolutionPath solve(SearchProblem searchProblem);
+}
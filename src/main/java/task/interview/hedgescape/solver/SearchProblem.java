@@ -0,0 +1,77 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.BoardGraph;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.StateGraph;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+
+/**
+ * This class describes a single puzzle to be solved by a {@link PuzzleSolver}:
+ * the player move rules (game board and player piece shape), the starting
+ * (packed) game state and the winning conditions.
+ * <p>
+ * The solvers traverse the game states via the {@link StateGraph} of the problem,
+ * which is either the move rules themselves or a graph compiled from them
+ * (see {@link BoardGraph}), while the move rules are only used to decode the states.
+ */
+public class SearchProblem {
+
+    private final MoveRules moveRules;
+    private final StateGraph stateGraph;
+    private final WinningConditions winningConditions;
+    private final int startingState;
+
+    /**
+     * The winning piece configurations, resolved to orientation ids of the player piece.
+     */
+    private final long winningOrientations;
+
+    public SearchProblem(MoveRules moveRules, WinningConditions winningConditions, int startingState) {
+        this(moveRules, moveRules, winningConditions, startingState);
+    }
+
+    /**
+     * @param moveRules
+     * @param stateGraph        Should be compiled from the given move rules (see {@link StateGraph}).
+     * @param winningConditions
+     * @param startingState
+     */
+    public SearchProblem(MoveRules moveRules, StateGraph stateGraph, WinningConditions winningConditions,
+                         int startingState) {
+        this.moveRules = moveRules;
+        this.stateGraph = stateGraph;
+        this.winningConditions = winningConditions;
+        this.startingState = startingState;
+
+        winningOrientations = winningConditions.getWinningOrientations(moveRules.getOrientationTable());
+    }
+
+    public MoveRules getMoveRules() {
+        return moveRules;
+    }
+
+    public StateGraph getStateGraph() {
+        return stateGraph;
+    }
+
+    public WinningConditions getWinningConditions() {
+        return winningConditions;
+    }
+
+    public int getStartingState() {
+        return startingState;
+    }
+
+    /**
+     * @return The winning piece configurations as a bit mask of orientation ids
+     * (see {@link WinningConditions#getWinningOrientations}).
+     */
+    public long getWinningOrientations() {
+        return winningOrientations;
+    }
+
+    public boolean isWinningState(int state) {
+        return winningConditions.evaluateWinningConditions(
+                moveRules.getX(state), moveRules.getY(state), winningOrientations, moveRules.getOrientation(state));
+    }
+}
@@ -0,0 +1,176 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.CanonicalPuzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of puzzle solutions, shared by any number of threads and
+ * {@link PuzzleSolver} instances.
+ * <p>
+ * The puzzles are identified by their canonical form (see {@link CanonicalPuzzle}),
+ * so repeated requests for the same game board, starting state and winning conditions
+ * - or any of their rotated / reflected variants - are answered without searching.
+ * The solutions are kept in the canonical form as well and transformed back for
+ * each request.
+ * <p>
+ * The lookups only read a {@link ConcurrentHashMap} and mark the entry as referenced,
+ * so any number of threads look solutions up at the same time. When the cache is full,
+ * an entry is evicted by the CLOCK algorithm (an approximation of the least recently
+ * used one): the entries are kept in a ring, which a clock hand goes around, clearing
+ * the reference marks, until it finds an entry not referenced since its last pass.
+ * Only the insertions (after solving a puzzle) are synchronized on the ring.
+ * <p>
+ * Unsolvable puzzles are cached as well.
+ */
+public class SolutionCache {
+
+    /**
+     * Marks the unsolvable puzzles in the cache (as 'null' values cannot be told apart from misses).
+     */
+    private static final SolutionPath NO_SOLUTION = new SolutionPath(new int[0], new byte[0]);
+
+    private final int capacity;
+
+    private final ConcurrentHashMap<CanonicalPuzzle, Entry> solutions;
+
+    /**
+     * The ring of the cached entries, in the order of the clock hand (synchronized on itself).
+     */
+    private final Entry[] clock;
+    private int clockHand;
+    private int entryCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity The maximum number of cached solutions.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid solution cache capacity: " + capacity);
+        }
+
+        this.capacity = capacity;
+
+        solutions = new ConcurrentHashMap<>();
+        clock = new Entry[capacity];
+    }
+
+    /**
+     * Looks up the solution of the given puzzle and solves it with the given solver
+     * only if it is not in the cache.
+     * <p>
+     * PLEASE NOTE:
+     * The solver is not shared, so each thread should pass its own (see {@link PuzzleSolver}).
+     * Concurrent misses for the same puzzle are solved more than once.
+     *
+     * @param searchProblem
+     * @param puzzleSolver
+     * @return The solution or 'null' if the puzzle cannot be solved.
+     */
+    public SolutionPath solve(SearchProblem searchProblem, PuzzleSolver puzzleSolver) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        CanonicalPuzzle key = CanonicalPuzzle.of(moveRules.getGameBoard(), moveRules.getOrientationTable(),
+                searchProblem.getStartingState(), searchProblem.getWinningConditions());
+
+        Entry entry = solutions.get(key);
+        if (entry != null) {
+            // Only written when not set yet, so the hits on popular entries do not keep invalidating them.
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+
+            hits.increment();
+            return entry.solution == NO_SOLUTION ? null : key.fromCanonicalSolution(entry.solution);
+        }
+
+        misses.increment();
+        SolutionPath solution = puzzleSolver.solve(searchProblem);
+
+        insert(new Entry(key, solution == null ? NO_SOLUTION : key.toCanonicalSolution(solution)));
+
+        return solution;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return solutions.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        synchronized (clock) {
+            solutions.clear();
+            Arrays.fill(clock, null);
+            clockHand = 0;
+            entryCount = 0;
+        }
+    }
+
+    /**
+     * Adds the given entry to the ring, in place of the first entry not referenced since
+     * the last pass of the clock hand once the cache is full.
+     *
+     * @param entry
+     */
+    private void insert(Entry entry) {
+        synchronized (clock) {
+            // Solved by another thread in the meantime.
+            if (solutions.containsKey(entry.key)) {
+                return;
+            }
+
+            if (entryCount < capacity) {
+                clock[entryCount++] = entry;
+            } else {
+                while (clock[clockHand].referenced) {
+                    clock[clockHand].referenced = false;
+                    clockHand = (clockHand + 1) % capacity;
+                }
+
+                solutions.remove(clock[clockHand].key);
+                clock[clockHand] = entry;
+                clockHand = (clockHand + 1) % capacity;
+            }
+
+            solutions.put(entry.key, entry);
+        }
+    }
+
+    private static class Entry {
+
+        private final CanonicalPuzzle key;
+
+        /**
+         * The canonical solution or {@link #NO_SOLUTION}.
+         */
+        private final SolutionPath solution;
+
+        /**
+         * Whether the entry was looked up since the clock hand last passed it.
+         */
+        private volatile boolean referenced;
+
+        private Entry(CanonicalPuzzle key, SolutionPath solution) {
+            this.key = key;
+            this.solution = solution;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package task.interview.hedgescape.solver;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of (packed) game states, ordered by an integer priority.
+ * Both are kept in primitive arrays, which only grow when the heap is full.
+ */
+class StateHeap {
+
+    private int[] states;
+    private int[] priorities;
+    private int size;
+
+    StateHeap(int initialCapacity) {
+        states = new int[Math.max(initialCapacity, 16)];
+        priorities = new int[states.length];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(int state, int priority) {
+        if (size == states.length) {
+            states = Arrays.copyOf(states, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+
+        // Sift up.
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            states[index] = states[parent];
+            priorities[index] = priorities[parent];
+            index = parent;
+        }
+        states[index] = state;
+        priorities[index] = priority;
+    }
+
+    /**
+     * Removes the state with the lowest priority from the heap.
+     *
+     * @return
+     */
+    int poll() {
+        int first = states[0];
+
+        int lastState = states[--size];
+        int lastPriority = priorities[size];
+
+        // Sift down.
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (lastPriority <= priorities[child]) {
+                break;
+            }
+            states[index] = states[child];
+            priorities[index] = priorities[child];
+            index = child;
+        }
+        states[index] = lastState;
+        priorities[index] = lastPriority;
+
+        return first;
+    }
+}
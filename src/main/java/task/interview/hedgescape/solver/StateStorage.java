@@ -0,0 +1,53 @@
+package task.interview.hedgescape.solver;
+
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * Where the solvers and distance fields keep their per-state bookkeeping (see {@link StateStore}),
+ * selected by the game configuration (see {@link task.interview.hedgescape.gameplay.GameConfig}).
+ */
+public enum StateStorage {
+
+    /**
+     * Primitive arrays in the heap (see {@link HeapStateStore}).
+     */
+    HEAP(HeapStateStore::new),
+
+    /**
+     * A direct buffer outside of the heap (see {@link DirectStateStore#allocate(int)}).
+     */
+    DIRECT(DirectStateStore::allocate),
+
+    /**
+     * A temporary file mapped in memory (see {@link DirectStateStore#map(int)}).
+     */
+    MAPPED(DirectStateStore::map);
+
+    private final IntFunction<StateStore> stateStoreFactory;
+
+    StateStorage(IntFunction<StateStore> stateStoreFactory) {
+        this.stateStoreFactory = stateStoreFactory;
+    }
+
+    /**
+     * @param stateCount
+     * @return A new state store with room for the given number of states.
+     */
+    public StateStore createStateStore(int stateCount) {
+        return stateStoreFactory.apply(stateCount);
+    }
+
+    /**
+     * @param name E.g. "heap", "direct" or "mapped" (case insensitive).
+     * @return
+     * @throws IllegalArgumentException If there is no storage with the given name.
+     */
+    public static StateStorage fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown state storage: " + name, e);
+        }
+    }
+}
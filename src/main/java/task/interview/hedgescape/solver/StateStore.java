@@ -0,0 +1,77 @@
+package task.interview.hedgescape.solver;
+
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+/**
+ * The per-state bookkeeping of a search - whether each (packed) game state was
+ * visited and the move it was reached with - indexed by state (see {@link MoveRules}).
+ * Besides these, each store has room for an extra integer per state, which the
+ * searches use as they need, e.g. the move counts of the A* search or the state
+ * queue of the breadth-first search (see {@link #getSearchValue(int)}).
+ * <p>
+ * It is kept either in the heap (see {@link HeapStateStore}) or outside of it
+ * (see {@link DirectStateStore}), so the searches over the millions of states of
+ * the largest game boards neither need a heap that large nor make the garbage
+ * collector go through it.
+ * <p>
+ * PLEASE NOTE:
+ * The stores are created for a given number of states and reused between searches,
+ * so they are not thread-safe.
+ */
+public interface StateStore {
+
+    /**
+     * @return The number of (packed) game states this store has room for.
+     */
+    int getStateCount();
+
+    boolean isVisited(int state);
+
+    void markVisited(int state);
+
+    /**
+     * @param state A visited state.
+     * @return The preceding move of the state, as set by {@link #setPrecedingMove(int, int)}.
+     */
+    int getPrecedingMove(int state);
+
+    /**
+     * @param state
+     * @param precedingMove The preceding state and the direction of the move made from it,
+     *                      packed as: state * 4 + direction ordinal, or '-1' for the starting state.
+     */
+    void setPrecedingMove(int state, int precedingMove);
+
+    /**
+     * @param index A state or any other index below the state count.
+     * @return The search value at the given index, as set by {@link #setSearchValue(int, int)}.
+     */
+    int getSearchValue(int index);
+
+    /**
+     * @param index A state or any other index below the state count.
+     * @param value
+     */
+    void setSearchValue(int index, int value);
+
+    /**
+     * @param value The value to set at every index.
+     */
+    void fillSearchValues(int value);
+
+    /**
+     * Marks all states as not visited, before the next search. The preceding moves and
+     * search values are not cleared, as they are only read for visited states
+     * (or after they are set / filled by the search).
+     */
+    void clear();
+
+    /**
+     * @param state A visited state.
+     * @return The path leading to the given state (see {@link SolutionPath#trace}).
+     */
+    default SolutionPath tracePath(int state) {
+        return SolutionPath.trace(this::getPrecedingMove, state);
+    }
+}
@@ -3,6 +3,7 @@ package task.interview.hedgescape.util;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Utility class for file-based operations.
@@ -27,4 +28,20 @@ public class FileUtil {
 
         return result;
     }
+
+    /**
+     * Opens a (binary) file located in the resources folder.
+     *
+     * @param resourceName The resource file name.
+     * @return The resource stream, which should be closed by the caller.
+     * @throws IOException If the resource does not exist.
+     */
+    public static InputStream openResource(String resourceName) throws IOException {
+        InputStream inputStream = ClassLoader.getSystemClassLoader().getResourceAsStream(resourceName);
+        if (inputStream == null) {
+            throw new IOException("Resource not found: " + resourceName);
+        }
+
+        return inputStream;
+    }
 }
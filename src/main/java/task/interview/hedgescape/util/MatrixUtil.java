@@ -11,19 +11,38 @@ import task.interview.hedgescape.positioning.model.Position;
 public class MatrixUtil {
 
     /**
-     * Fills a given square 2D array uniformly with the specified {@link Cell} value.
+     * Fills a given (rectangular) 2D array uniformly with the specified {@link Cell} value.
      *
      * @param matrix
      * @param cellType
      */
     public static void fill2DMatrix(Cell[][] matrix, Cell cellType) {
         for (int x = 0; x < matrix.length; x++) {
-            for (int y = 0; y < matrix.length; y++) {
+            for (int y = 0; y < matrix[x].length; y++) {
                 matrix[x][y] = cellType;
             }
         }
     }
 
+    /**
+     * Overlays the {@link Cell.PLAYER} cells of the given player piece footprint
+     * on a 2D game board matrix, at the given position.
+     *
+     * @param matrix
+     * @param pieceFootprint
+     * @param positionX
+     * @param positionY
+     */
+    public static void overlayFootprint(Cell[][] matrix, Cell[][] pieceFootprint, int positionX, int positionY) {
+        for (int x = 0; x < pieceFootprint.length; x++) {
+            for (int y = 0; y < pieceFootprint[x].length; y++) {
+                if (pieceFootprint[x][y] == Cell.PLAYER) {
+                    matrix[positionX + x][positionY + y] = Cell.PLAYER;
+                }
+            }
+        }
+    }
+
     /**
      * Create a "deep" copy of the given 3D array.
      *
@@ -119,18 +138,25 @@ public class MatrixUtil {
      * @return
      */
     public static Cell[][] getPieceShapeFootprint(Cell[][][] matrix) {
-        int shapeHeight = matrix.length;
-        int shapeWidth = matrix.length;
+        int shapeHeight = 0;
+        int shapeWidth = 0;
 
+        // The width is the furthest column of any row, not the column of the last cell.
         for (int x = 0; x < matrix.length; x++) {
             for (int y = 0; y < matrix.length; y++) {
                 if (matrix[x][y][0] == Cell.PLAYER) {
                     shapeHeight = x + 1;
-                    shapeWidth = y + 1;
+                    shapeWidth = Math.max(shapeWidth, y + 1);
                 }
             }
         }
 
+        // Not an aligned shape, keep the whole layer.
+        if (shapeHeight == 0) {
+            shapeHeight = matrix.length;
+            shapeWidth = matrix.length;
+        }
+
         Cell[][] footprint = new Cell[shapeHeight][shapeWidth];
 
         for (int x = 0; x < shapeHeight; x++) {
@@ -1,14 +1,22 @@
 package task.interview.hedgescape.util;
 
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.metrics.SolverMetrics;
 import task.interview.hedgescape.positioning.Cell;
 
 public class UserInterface {
 
-    public static final boolean DEBUG_MODE = true;
+    /**
+     * Whether to print the game progress (attempted moves, generated game boards, etc.)
+     * to the console. Disabled by default, as the console output is a lot slower than
+     * the puzzle generation itself (see {@link SolverMetrics} instead), it can be switched
+     * on with the "-Dhedgescape.debug=true" system property.
+     */
+    public static final boolean DEBUG_MODE = Boolean.parseBoolean(System.getProperty("hedgescape.debug", "false"));
 
     public static void print2DMatrix(Cell[][] matrix) {
         for (int x = 0; x < matrix.length; x++) {
-            for (int y = 0; y < matrix.length; y++) {
+            for (int y = 0; y < matrix[x].length; y++) {
                 String cellSymbol = "□";
 
                 if (matrix[x][y] == Cell.BLOCKED) {
@@ -24,4 +32,13 @@ public class UserInterface {
 
         System.out.println();
     }
+
+    public static void printSolution(SolutionPath solution) {
+        StringBuilder moves = new StringBuilder();
+        for (int move = 0; move < solution.getMoveCount(); move++) {
+            moves.append(solution.getDirection(move).getIndicator(false)).append(" ");
+        }
+
+        System.out.println("SOLUTION (" + solution.getMoveCount() + " MOVES): " + moves);
+    }
 }
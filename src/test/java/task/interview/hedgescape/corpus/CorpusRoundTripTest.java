@@ -0,0 +1,145 @@
+package task.interview.hedgescape.corpus;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips of the corpus formats (the fixed width format is covered by the
+ * {@link MappedPuzzleCorpusTest}).
+ */
+public class CorpusRoundTripTest {
+
+    private static final int PUZZLE_COUNT = 500;
+
+    @Test
+    public void binaryRecordsMatchTheWrittenPuzzles() throws IOException {
+        GameController gameController = createGameController(new GameConfig(8, 10, 3, 12), 5);
+
+        // Solvable and unsolvable puzzles.
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < PUZZLE_COUNT; i++) {
+            puzzles.add(i % 2 == 0 ? gameController.generateSolvablePuzzle() : gameController.generateRandomPuzzle());
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PuzzleRecordWriter recordWriter = new BinaryPuzzleWriter(outputStream)) {
+            for (Puzzle puzzle : puzzles) {
+                recordWriter.write(puzzle);
+            }
+        }
+
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(BinaryPuzzleWriter.MAGIC_NUMBER, inputStream.readInt());
+        assertEquals(BinaryPuzzleWriter.FORMAT_VERSION, inputStream.readInt());
+        int height = inputStream.readInt();
+        int width = inputStream.readInt();
+        assertEquals(8, height);
+        assertEquals(10, width);
+
+        for (Puzzle puzzle : puzzles) {
+            BitBoard gameBoard = new BitBoard(height, width);
+            int blockedCellCount = inputStream.readInt();
+            for (int i = 0; i < blockedCellCount; i++) {
+                int cell = inputStream.readInt();
+                gameBoard.set(cell / width, cell % width);
+            }
+            assertEquals(puzzle.getGameBoard(), gameBoard);
+
+            assertEquals(puzzle.getStartingX(), inputStream.readInt());
+            assertEquals(puzzle.getStartingY(), inputStream.readInt());
+            assertEquals(puzzle.getStartingOrientation(), inputStream.readByte());
+
+            SolutionPath solution = puzzle.getSolution();
+            int moveCount = inputStream.readInt();
+            assertEquals(solution != null ? solution.getMoveCount() : -1, moveCount);
+
+            int packedMoves = 0;
+            for (int move = 0; move < moveCount; move++) {
+                if ((move & 3) == 0) {
+                    packedMoves = inputStream.readUnsignedByte();
+                }
+                assertEquals(solution.getDirection(move).ordinal(), (packedMoves >>> ((move & 3) * 2)) & 3);
+            }
+        }
+
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void seedsGenerateTheWrittenPuzzles() throws IOException {
+        GameConfig gameConfig = new GameConfig(7, 9, 3, 10);
+        GameController gameController = createGameController(gameConfig, 11);
+
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < PUZZLE_COUNT; i++) {
+            puzzles.add(gameController.generateSolvablePuzzle());
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PuzzleRecordWriter recordWriter = new SeedPuzzleWriter(outputStream)) {
+            for (Puzzle puzzle : puzzles) {
+                recordWriter.write(puzzle);
+            }
+        }
+
+        // A different game controller, so nothing is shared with the writing side but the configuration.
+        try (SeedPuzzleReader reader = new SeedPuzzleReader(new ByteArrayInputStream(outputStream.toByteArray()),
+                createGameController(gameConfig, 0))) {
+            for (Puzzle puzzle : puzzles) {
+                Puzzle readPuzzle = reader.read();
+
+                assertEquals(puzzle.getSeed(), readPuzzle.getSeed());
+                assertEquals(puzzle.getGameBoard(), readPuzzle.getGameBoard());
+                assertEquals(puzzle.getStartingX(), readPuzzle.getStartingX());
+                assertEquals(puzzle.getStartingY(), readPuzzle.getStartingY());
+                assertEquals(puzzle.getStartingOrientation(), readPuzzle.getStartingOrientation());
+                assertEquals(puzzle.getSolution().getMoveCount(), readPuzzle.getSolution().getMoveCount());
+            }
+
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void olderSeedCorporaAreRejected() throws IOException {
+        GameConfig gameConfig = new GameConfig(7, 7, 3, 4);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(SeedPuzzleWriter.MAGIC_NUMBER);
+        dataOutputStream.writeInt(1);
+        dataOutputStream.writeInt(gameConfig.getBoardHeight());
+        dataOutputStream.writeInt(gameConfig.getBoardWidth());
+        dataOutputStream.writeInt(gameConfig.getBlockedCellCount());
+        dataOutputStream.writeLong(42);
+
+        SeedPuzzleReader reader = new SeedPuzzleReader(new ByteArrayInputStream(outputStream.toByteArray()),
+                createGameController(gameConfig, 0));
+        assertThrows(IOException.class, reader::read);
+    }
+
+    private static GameController createGameController(GameConfig gameConfig, long seed) {
+        GameController gameController = new GameController(gameConfig);
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(seed));
+
+        return gameController;
+    }
+}
@@ -0,0 +1,89 @@
+package task.interview.hedgescape.corpus;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedPuzzleCorpusTest {
+
+    private static final int PUZZLE_COUNT = 2000;
+    private static final int GOAL_SLOT_COUNT = 4;
+
+    @Test
+    public void mappedRecordsMatchTheWrittenPuzzles() throws IOException {
+        GameController gameController = new GameController(new GameConfig(9, 11, 3, 10));
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(17));
+
+        // Solvable and unsolvable puzzles.
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < PUZZLE_COUNT; i++) {
+            puzzles.add(i % 2 == 0 ? gameController.generateSolvablePuzzle() : gameController.generateRandomPuzzle());
+        }
+
+        Path path = Files.createTempFile("hedgescape-corpus", ".bin");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(path);
+                 PuzzleRecordWriter recordWriter = new FixedWidthPuzzleWriter(outputStream,
+                         gameController.getWinningConditions(), GOAL_SLOT_COUNT)) {
+                for (Puzzle puzzle : puzzles) {
+                    recordWriter.write(puzzle);
+                }
+            }
+
+            try (MappedPuzzleCorpus corpus = MappedPuzzleCorpus.open(path)) {
+                assertEquals(PUZZLE_COUNT, corpus.getPuzzleCount());
+                assertEquals(9, corpus.getBoardHeight());
+                assertEquals(11, corpus.getBoardWidth());
+                assertEquals(GOAL_SLOT_COUNT, corpus.getGoalSlotCount());
+
+                // Random access through a single reused view.
+                MappedPuzzleCorpus.PuzzleView view = corpus.newView();
+                SplittableRandom random = new SplittableRandom(3);
+                for (int i = 0; i < PUZZLE_COUNT; i++) {
+                    int index = random.nextInt(PUZZLE_COUNT);
+                    assertPuzzleView(puzzles.get(index), corpus.view(index, view), gameController);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static void assertPuzzleView(Puzzle puzzle, MappedPuzzleCorpus.PuzzleView view,
+                                         GameController gameController) {
+        BitBoard gameBoard = new BitBoard(puzzle.getGameBoard().getHeight(), puzzle.getGameBoard().getWidth());
+        view.copyGameBoard(gameBoard);
+        assertEquals(puzzle.getGameBoard(), gameBoard);
+
+        assertEquals(puzzle.getStartingX(), view.getStartingX());
+        assertEquals(puzzle.getStartingY(), view.getStartingY());
+        assertEquals(puzzle.getStartingOrientation(), view.getStartingOrientation());
+        assertEquals(puzzle.isSolvable() ? puzzle.getSolution().getMoveCount() : -1, view.getSolutionLength());
+
+        int[] goalStates = new int[view.getGoalCount()];
+        for (int goal = 0; goal < goalStates.length; goal++) {
+            goalStates[goal] = view.getGoalState(goal);
+        }
+        assertArrayEquals(gameController.getWinningConditions().findWinningStates(
+                puzzle.getGameBoard(), puzzle.getOrientationTable()), goalStates);
+
+        MoveRules moveRules = new MoveRules(gameBoard, puzzle.getOrientationTable());
+        assertEquals(moveRules.encodeState(puzzle.getStartingX(), puzzle.getStartingY(),
+                puzzle.getStartingOrientation()), view.getStartingState());
+    }
+}
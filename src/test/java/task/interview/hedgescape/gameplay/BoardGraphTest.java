@@ -0,0 +1,100 @@
+package task.interview.hedgescape.gameplay;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.positioning.Direction;
+import task.interview.hedgescape.solver.AStarSolver;
+import task.interview.hedgescape.solver.DistanceField;
+import task.interview.hedgescape.solver.SearchProblem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardGraphTest {
+
+    /**
+     * Single word (up to 64 cells) and multi-word game boards.
+     */
+    private static final GameConfig[] GAME_CONFIGS = {
+            new GameConfig(7, 7, 3, 4),
+            new GameConfig(7, 7, 3, 20),
+            new GameConfig(9, 13, 3, 4),
+            new GameConfig(16, 16, 3, 40),
+            new GameConfig(64, 64, 3, 400)
+    };
+
+    private static final long[] SEEDS = {1, 2, 3};
+
+    @Test
+    public void compiledMovesMatchTheMoveRules() {
+        for (GameConfig gameConfig : GAME_CONFIGS) {
+            for (long seed : SEEDS) {
+                GameController gameController = createGameController(gameConfig);
+                gameController.generateSolvablePuzzle(seed);
+
+                MoveRules moveRules = gameController.getMoveRules();
+                BoardGraph boardGraph = gameController.compileBoardGraph();
+                assertEquals(moveRules.getStateCount(), boardGraph.getStateCount());
+
+                for (int state = 0; state < moveRules.getStateCount(); state++) {
+                    for (Direction direction : Direction.values()) {
+                        String message = gameConfig.getBoardHeight() + "x" + gameConfig.getBoardWidth()
+                                + ", seed " + seed + ", state " + state + " " + direction;
+
+                        if (!moveRules.isValidState(state)) {
+                            assertTrue(boardGraph.move(state, direction) < 0, message);
+                            assertEquals(-1, boardGraph.precede(state, direction), message);
+                            continue;
+                        }
+
+                        assertEquals(moveRules.move(state, direction), boardGraph.move(state, direction), message);
+                        assertEquals(moveRules.precede(state, direction), boardGraph.precede(state, direction),
+                                message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void solutionsFollowTheCompiledMoves() {
+        for (GameConfig gameConfig : GAME_CONFIGS) {
+            for (long seed : SEEDS) {
+                GameController gameController = createGameController(gameConfig);
+                Puzzle puzzle = gameController.generateSolvablePuzzle(seed);
+
+                MoveRules moveRules = gameController.getMoveRules();
+                BoardGraph boardGraph = gameController.compileBoardGraph();
+                int startingState = moveRules.encodeState(
+                        puzzle.getStartingX(), puzzle.getStartingY(), puzzle.getStartingOrientation());
+                SearchProblem searchProblem = new SearchProblem(moveRules, boardGraph,
+                        gameController.getWinningConditions(), startingState);
+                String message = gameConfig.getBoardHeight() + "x" + gameConfig.getBoardWidth() + ", seed " + seed;
+
+                // The solver and the distance field (used for the hints) both traverse the compiled graph.
+                SolutionPath solution = new AStarSolver().solve(searchProblem);
+                SolutionPath hintedSolution = DistanceField.compute(moveRules, boardGraph,
+                        gameController.getWinningConditions()).getSolution(startingState);
+
+                for (SolutionPath path : new SolutionPath[]{solution, hintedSolution}) {
+                    assertEquals(puzzle.getSolution().getMoveCount(), path.getMoveCount(), message);
+
+                    int state = startingState;
+                    for (int move = 0; move < path.getMoveCount(); move++) {
+                        state = moveRules.move(state, path.getDirection(move));
+                        assertEquals(path.getState(move + 1), state, message);
+                    }
+                    assertTrue(searchProblem.isWinningState(state), message);
+                }
+            }
+        }
+    }
+
+    private static GameController createGameController(GameConfig gameConfig) {
+        GameController gameController = new GameController(gameConfig);
+        gameController.initializeGame();
+
+        return gameController;
+    }
+}
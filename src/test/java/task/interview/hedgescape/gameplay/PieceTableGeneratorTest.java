@@ -0,0 +1,63 @@
+package task.interview.hedgescape.gameplay;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.PieceShape;
+import task.interview.hedgescape.gameplay.tables.DefaultPlayerPieceTables;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PieceTableGeneratorTest {
+
+    @Test
+    public void generatedTablesMatchTheExploredOrientations() {
+        PieceOrientationTable generatedTable = PieceOrientationTable.fromTables(new DefaultPlayerPieceTables());
+        PieceOrientationTable exploredTable =
+                PieceOrientationTable.build(PieceLibrary.loadPieceShape("defaultPlayerPiece.json"));
+
+        assertEquals(exploredTable.getOrientationCount(), generatedTable.getOrientationCount());
+        for (int orientation = 0; orientation < exploredTable.getOrientationCount(); orientation++) {
+            assertEquals(exploredTable.getShape(orientation), generatedTable.getShape(orientation));
+            assertTrue(Arrays.deepEquals(exploredTable.getFootprint(orientation),
+                    generatedTable.getFootprint(orientation)), "Orientation " + orientation);
+            assertArrayEquals(exploredTable.getFootprintRowMasks(orientation),
+                    generatedTable.getFootprintRowMasks(orientation));
+
+            for (Direction direction : Direction.values()) {
+                assertEquals(exploredTable.getTransition(orientation, direction),
+                        generatedTable.getTransition(orientation, direction));
+                assertEquals(exploredTable.getPrecedingTransition(orientation, direction),
+                        generatedTable.getPrecedingTransition(orientation, direction));
+            }
+        }
+    }
+
+    @Test
+    public void defaultPieceIsLoadedFromGeneratedTables() {
+        assertEquals(DefaultPlayerPieceTables.class.getName(),
+                PieceLibrary.getTablesClassName("defaultPlayerPiece.piece"));
+        assertTrue(PieceLibrary.isGeneratedFrom(new DefaultPlayerPieceTables(),
+                PieceLibrary.loadPieceShape("defaultPlayerPiece.json")));
+    }
+
+    @Test
+    public void differentPieceWithTheSameBaseNameIsNotLoadedFromGeneratedTables() {
+        String resourceName = "pieces/defaultPlayerPiece.json";
+        PieceShape pieceShape = PieceLibrary.loadPieceShape(resourceName);
+        assertEquals(DefaultPlayerPieceTables.class.getName(), PieceLibrary.getTablesClassName(resourceName));
+        assertFalse(PieceLibrary.isGeneratedFrom(new DefaultPlayerPieceTables(), pieceShape));
+
+        PieceOrientationTable orientationTable = PieceLibrary.getOrientationTable(resourceName);
+        PieceOrientationTable expectedTable = PieceOrientationTable.build(pieceShape);
+        assertEquals(expectedTable.getOrientationCount(), orientationTable.getOrientationCount());
+        for (int orientation = 0; orientation < expectedTable.getOrientationCount(); orientation++) {
+            assertEquals(expectedTable.getShape(orientation), orientationTable.getShape(orientation));
+        }
+    }
+}
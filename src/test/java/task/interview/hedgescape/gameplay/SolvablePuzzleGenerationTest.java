@@ -0,0 +1,74 @@
+package task.interview.hedgescape.gameplay;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.solver.DistanceField;
+import task.interview.hedgescape.solver.SearchProblem;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolvablePuzzleGenerationTest {
+
+    private static final int PUZZLE_COUNT = 200;
+
+    @Test
+    public void generatedPuzzlesAreSolvedByTheShortestSolution() {
+        for (int blockedCellCount : new int[]{0, 4, 12, 20}) {
+            GameController gameController = createGameController(blockedCellCount);
+
+            for (int i = 0; i < PUZZLE_COUNT; i++) {
+                Puzzle puzzle = gameController.generateSolvablePuzzle();
+                assertEquals(blockedCellCount, puzzle.getGameBoard().getSetCount());
+
+                MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+                int startingState = moveRules.encodeState(
+                        puzzle.getStartingX(), puzzle.getStartingY(), puzzle.getStartingOrientation());
+                SearchProblem searchProblem =
+                        new SearchProblem(moveRules, gameController.getWinningConditions(), startingState);
+                DistanceField distanceField =
+                        DistanceField.compute(moveRules, gameController.getWinningConditions());
+
+                SolutionPath solution = puzzle.getSolution();
+                assertNotNull(solution);
+                assertEquals(distanceField.getDistance(startingState), solution.getMoveCount(),
+                        "Seed " + puzzle.getSeed());
+
+                int state = startingState;
+                for (int move = 0; move < solution.getMoveCount(); move++) {
+                    state = moveRules.move(state, solution.getDirection(move));
+                    assertTrue(state >= 0, "Seed " + puzzle.getSeed());
+                }
+                assertTrue(searchProblem.isWinningState(state), "Seed " + puzzle.getSeed());
+            }
+        }
+    }
+
+    @Test
+    public void sameSeedGeneratesSamePuzzle() {
+        GameController gameController = createGameController(12);
+        GameController otherGameController = createGameController(12);
+
+        for (int i = 0; i < PUZZLE_COUNT; i++) {
+            Puzzle puzzle = gameController.generateSolvablePuzzle();
+            Puzzle samePuzzle = otherGameController.generateSolvablePuzzle(puzzle.getSeed());
+
+            assertEquals(puzzle.getGameBoard(), samePuzzle.getGameBoard());
+            assertEquals(puzzle.getStartingX(), samePuzzle.getStartingX());
+            assertEquals(puzzle.getStartingY(), samePuzzle.getStartingY());
+            assertEquals(puzzle.getStartingOrientation(), samePuzzle.getStartingOrientation());
+            assertEquals(puzzle.getSolution().getMoveCount(), samePuzzle.getSolution().getMoveCount());
+        }
+    }
+
+    private static GameController createGameController(int blockedCellCount) {
+        GameController gameController = new GameController(new GameConfig(7, 7, 3, blockedCellCount));
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(blockedCellCount));
+        return gameController;
+    }
+}
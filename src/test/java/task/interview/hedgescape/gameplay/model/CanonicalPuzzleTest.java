@@ -0,0 +1,93 @@
+package task.interview.hedgescape.gameplay.model;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.positioning.Symmetry;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CanonicalPuzzleTest {
+
+    private static final int PUZZLES_PER_CONFIG = 100;
+
+    /**
+     * Square game boards have all 8 symmetries, the others only the reflections and the 180 degree rotation.
+     */
+    private static final GameConfig[] GAME_CONFIGS = {
+            new GameConfig(7, 7, 3, 4),
+            new GameConfig(7, 7, 3, 12),
+            new GameConfig(7, 9, 3, 10)
+    };
+
+    @Test
+    public void symmetricVariantsHaveTheSameCanonicalForm() {
+        int variantCount = 0;
+
+        for (GameConfig gameConfig : GAME_CONFIGS) {
+            GameController gameController = new GameController(gameConfig);
+            gameController.initializeGame();
+            gameController.setRandom(new SplittableRandom(gameConfig.getBlockedCellCount()));
+
+            for (int i = 0; i < PUZZLES_PER_CONFIG; i++) {
+                Puzzle puzzle = gameController.generateSolvablePuzzle();
+                PieceOrientationTable orientationTable = puzzle.getOrientationTable();
+                BitBoard gameBoard = puzzle.getGameBoard();
+                MoveRules moveRules = new MoveRules(gameBoard, orientationTable);
+                int startingState = moveRules.encodeState(
+                        puzzle.getStartingX(), puzzle.getStartingY(), puzzle.getStartingOrientation());
+                SolutionPath solution = puzzle.getSolution();
+                int winningState = solution.getState(solution.getMoveCount());
+                String message = "Seed " + puzzle.getSeed();
+
+                CanonicalPuzzle canonicalPuzzle = CanonicalPuzzle.of(gameBoard, orientationTable, startingState,
+                        gameController.getWinningConditions());
+                SolutionPath canonicalSolution = canonicalPuzzle.toCanonicalSolution(solution);
+                assertSolution(moveRules, canonicalPuzzle.fromCanonicalSolution(canonicalSolution),
+                        startingState, winningState, solution.getMoveCount(), message);
+
+                for (Symmetry symmetry : SymmetricVariants.getSymmetries(
+                        orientationTable, gameBoard.getHeight(), gameBoard.getWidth())) {
+                    int variantStartingState = SymmetricVariants.transformState(orientationTable,
+                            gameBoard.getHeight(), gameBoard.getWidth(), startingState, symmetry);
+                    int variantWinningState = SymmetricVariants.transformState(orientationTable,
+                            gameBoard.getHeight(), gameBoard.getWidth(), winningState, symmetry);
+                    BitBoard variantBoard = SymmetricVariants.transformBoard(gameBoard, symmetry);
+
+                    CanonicalPuzzle variantCanonicalPuzzle = CanonicalPuzzle.of(variantBoard, orientationTable,
+                            variantStartingState, SymmetricVariants.winningConditionsOf(
+                                    orientationTable, gameBoard.getWidth(), variantWinningState));
+                    assertEquals(canonicalPuzzle, variantCanonicalPuzzle, message + " " + symmetry);
+                    assertEquals(canonicalPuzzle.getHash(), variantCanonicalPuzzle.getHash(), message);
+                    assertEquals(canonicalPuzzle.hashCode(), variantCanonicalPuzzle.hashCode(), message);
+
+                    // The canonical solution of the original puzzle solves every variant.
+                    assertSolution(new MoveRules(variantBoard, orientationTable),
+                            variantCanonicalPuzzle.fromCanonicalSolution(canonicalSolution),
+                            variantStartingState, variantWinningState, solution.getMoveCount(),
+                            message + " " + symmetry);
+                    variantCount++;
+                }
+            }
+        }
+
+        assertTrue(variantCount > PUZZLES_PER_CONFIG * GAME_CONFIGS.length);
+    }
+
+    private static void assertSolution(MoveRules moveRules, SolutionPath solution, int startingState,
+                                       int winningState, int moveCount, String message) {
+        assertEquals(moveCount, solution.getMoveCount(), message);
+        assertEquals(startingState, solution.getState(0), message);
+
+        int state = startingState;
+        for (int move = 0; move < solution.getMoveCount(); move++) {
+            state = moveRules.move(state, solution.getDirection(move));
+            assertEquals(solution.getState(move + 1), state, message);
+        }
+        assertEquals(winningState, state, message);
+    }
+}
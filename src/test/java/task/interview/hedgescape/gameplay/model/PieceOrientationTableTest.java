@@ -0,0 +1,42 @@
+package task.interview.hedgescape.gameplay.model;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.PieceLibrary;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.Direction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PieceOrientationTableTest {
+
+    private static final Cell P = Cell.PLAYER;
+    private static final Cell F = Cell.FREE;
+
+    @Test
+    public void precedingTransitionsReverseAllTransitions() {
+        PieceOrientationTable orientationTable =
+                PieceOrientationTable.build(PieceLibrary.loadPieceShape("defaultPlayerPiece.json"));
+
+        for (int orientation = 0; orientation < orientationTable.getOrientationCount(); orientation++) {
+            for (Direction direction : Direction.values()) {
+                int reachedOrientation = orientationTable.getTransition(orientation, direction);
+
+                assertEquals(orientation, orientationTable.getPrecedingTransition(reachedOrientation, direction),
+                        "Orientation " + orientation + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    public void unalignedShapeIsRejected() {
+        // The tumbled shapes are realigned, so two orientations would precede the same one.
+        Cell[][][] unalignedShape = {
+                {{F, F, F}, {F, F, F}, {F, F, F}},
+                {{F, F, F}, {F, P, F}, {F, P, P}},
+                {{F, F, F}, {F, F, F}, {F, F, F}}
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> PieceOrientationTable.build(unalignedShape));
+    }
+}
@@ -0,0 +1,83 @@
+package task.interview.hedgescape.gameplay.model;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.Direction;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@link SparsePieceShape} explores the same orientations as the
+ * {@link DensePieceShape} it replaced, on random piece shapes.
+ */
+public class PieceShapeEquivalenceTest {
+
+    private static final int SHAPE_COUNT = 3000;
+
+    @Test
+    public void sparseAndDenseShapesHaveSameOrientationTables() {
+        SplittableRandom random = new SplittableRandom(12);
+
+        for (int i = 0; i < SHAPE_COUNT; i++) {
+            Cell[][][] boundingBox = randomAlignedBoundingBox(random, 1 + random.nextInt(GameConfig.MAXIMUM_PIECE_SIZE));
+            String message = "Shape " + i + ": " + Arrays.deepToString(boundingBox);
+
+            PieceOrientationTable denseTable = PieceOrientationTable.build(new DensePieceShape(boundingBox));
+            PieceOrientationTable sparseTable = PieceOrientationTable.build(SparsePieceShape.fromBoundingBox(boundingBox));
+
+            assertEquals(denseTable.getOrientationCount(), sparseTable.getOrientationCount(), message);
+            for (int orientation = 0; orientation < denseTable.getOrientationCount(); orientation++) {
+                assertTrue(Arrays.deepEquals(denseTable.getBoundingBox(orientation),
+                        sparseTable.getBoundingBox(orientation)), message);
+                assertTrue(Arrays.deepEquals(denseTable.getFootprint(orientation),
+                        sparseTable.getFootprint(orientation)), message);
+                assertArrayEquals(denseTable.getFootprintRowMasks(orientation),
+                        sparseTable.getFootprintRowMasks(orientation));
+
+                for (Direction direction : Direction.values()) {
+                    assertEquals(denseTable.getTransition(orientation, direction),
+                            sparseTable.getTransition(orientation, direction), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param random
+     * @param size
+     * @return A bounding box with at least one {@link Cell#PLAYER} cell, aligned with its starting point.
+     */
+    private static Cell[][][] randomAlignedBoundingBox(SplittableRandom random, int size) {
+        Cell[][][] boundingBox = new Cell[size][size][size];
+        for (Cell[][] layer : boundingBox) {
+            for (Cell[] row : layer) {
+                Arrays.fill(row, Cell.FREE);
+            }
+        }
+
+        // Sparse shapes as well as dense ones.
+        int voxelCount = 1 + random.nextInt(size * size * size);
+        int minX = size;
+        int minY = size;
+        int minZ = size;
+        int[][] voxels = new int[voxelCount][];
+
+        for (int voxel = 0; voxel < voxelCount; voxel++) {
+            voxels[voxel] = new int[]{random.nextInt(size), random.nextInt(size), random.nextInt(size)};
+            minX = Math.min(minX, voxels[voxel][0]);
+            minY = Math.min(minY, voxels[voxel][1]);
+            minZ = Math.min(minZ, voxels[voxel][2]);
+        }
+        for (int[] voxel : voxels) {
+            boundingBox[voxel[0] - minX][voxel[1] - minY][voxel[2] - minZ] = Cell.PLAYER;
+        }
+
+        return boundingBox;
+    }
+}
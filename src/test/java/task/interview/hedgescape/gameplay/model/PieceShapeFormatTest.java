@@ -0,0 +1,80 @@
+package task.interview.hedgescape.gameplay.model;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.PieceLibrary;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.util.FileUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PieceShapeFormatTest {
+
+    /**
+     * The binary resource is converted from the JSON one (see the "--convert-piece" option
+     * of the Main class), so it has to be converted again whenever the JSON one changes.
+     */
+    @Test
+    public void defaultPieceResourceMatchesJsonSource() throws IOException {
+        SparsePieceShape jsonShape = PieceLibrary.loadPieceShape("defaultPlayerPiece.json");
+        SparsePieceShape binaryShape = PieceLibrary.loadPieceShape("defaultPlayerPiece.piece");
+
+        assertEquals(jsonShape, binaryShape);
+
+        // The resource should also be byte for byte what the converter writes now.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PieceShapeFormat.write(jsonShape.toBoundingBox(), outputStream);
+        byte[] resourceBytes;
+        try (InputStream inputStream = FileUtil.openResource("defaultPlayerPiece.piece")) {
+            resourceBytes = IOUtils.toByteArray(inputStream);
+        }
+        assertArrayEquals(outputStream.toByteArray(), resourceBytes);
+    }
+
+    @Test
+    public void randomShapesRoundTrip() throws IOException {
+        SplittableRandom random = new SplittableRandom(24);
+
+        for (int i = 0; i < 500; i++) {
+            Cell[][][] boundingBox = randomBoundingBox(random, 1 + random.nextInt(GameConfig.MAXIMUM_PIECE_SIZE));
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            PieceShapeFormat.write(boundingBox, outputStream);
+            SparsePieceShape shape = PieceShapeFormat.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+            assertTrue(Arrays.deepEquals(boundingBox, shape.toBoundingBox()), "Shape " + i);
+        }
+    }
+
+    @Test
+    public void rejectsOtherFormats() {
+        byte[] notAPiece = {0, 0, 0, 0, 0, 0, 0, 1, 3};
+
+        assertThrows(IOException.class, () -> PieceShapeFormat.read(new ByteArrayInputStream(notAPiece)));
+    }
+
+    static Cell[][][] randomBoundingBox(SplittableRandom random, int size) {
+        Cell[][][] boundingBox = new Cell[size][size][size];
+
+        for (Cell[][] layer : boundingBox) {
+            for (Cell[] row : layer) {
+                for (int z = 0; z < size; z++) {
+                    row[z] = random.nextInt(3) == 0 ? Cell.PLAYER : Cell.FREE;
+                }
+            }
+        }
+
+        return boundingBox;
+    }
+}
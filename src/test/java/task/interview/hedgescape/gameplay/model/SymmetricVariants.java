@@ -0,0 +1,96 @@
+package task.interview.hedgescape.gameplay.model;
+
+import task.interview.hedgescape.positioning.Symmetry;
+import task.interview.hedgescape.positioning.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the rotated / reflected variants of puzzles independently of {@link CanonicalPuzzle},
+ * for checking the code that should treat them as equivalent.
+ */
+public final class SymmetricVariants {
+
+    private SymmetricVariants() {
+    }
+
+    /**
+     * @param orientationTable
+     * @param boardHeight
+     * @param boardWidth
+     * @return The symmetries (including the identity) mapping the game board onto itself,
+     * under which the player piece moves are symmetrical.
+     */
+    public static List<Symmetry> getSymmetries(PieceOrientationTable orientationTable, int boardHeight,
+                                               int boardWidth) {
+        List<Symmetry> symmetries = new ArrayList<>();
+        for (Symmetry symmetry : Symmetry.values()) {
+            if (symmetry.isApplicable(boardHeight, boardWidth)
+                    && orientationTable.getSymmetricOrientations(symmetry) != null) {
+                symmetries.add(symmetry);
+            }
+        }
+
+        return symmetries;
+    }
+
+    public static BitBoard transformBoard(BitBoard gameBoard, Symmetry symmetry) {
+        BitBoard transformedBoard = new BitBoard(gameBoard.getHeight(), gameBoard.getWidth());
+
+        for (int x = 0; x < gameBoard.getHeight(); x++) {
+            for (int y = 0; y < gameBoard.getWidth(); y++) {
+                if (gameBoard.isSet(x, y)) {
+                    transformedBoard.set(
+                            symmetry.transformX(x, y, 1, 1, gameBoard.getHeight(), gameBoard.getWidth()),
+                            symmetry.transformY(x, y, 1, 1, gameBoard.getHeight(), gameBoard.getWidth()));
+                }
+            }
+        }
+
+        return transformedBoard;
+    }
+
+    /**
+     * @param orientationTable
+     * @param boardHeight
+     * @param boardWidth
+     * @param state            A (packed) game state (see {@link task.interview.hedgescape.gameplay.MoveRules}).
+     * @param symmetry
+     * @return The game state with the player piece footprint transformed along with the game board.
+     */
+    public static int transformState(PieceOrientationTable orientationTable, int boardHeight, int boardWidth,
+                                     int state, Symmetry symmetry) {
+        int orientationCount = orientationTable.getOrientationCount();
+        int orientation = state % orientationCount;
+        int x = state / orientationCount / boardWidth;
+        int y = state / orientationCount % boardWidth;
+        int footprintHeight = orientationTable.getFootprintHeight(orientation);
+        int footprintWidth = orientationTable.getFootprintWidth(orientation);
+
+        int transformedX = symmetry.transformX(x, y, footprintHeight, footprintWidth, boardHeight, boardWidth);
+        int transformedY = symmetry.transformY(x, y, footprintHeight, footprintWidth, boardHeight, boardWidth);
+
+        return (transformedX * boardWidth + transformedY) * orientationCount
+                + orientationTable.getSymmetricOrientations(symmetry)[orientation];
+    }
+
+    /**
+     * @param orientationTable
+     * @param boardWidth
+     * @param winningState     A (packed) game state.
+     * @return The winning conditions satisfied exactly by the given state (and the ones
+     * of the orientations with the same shape).
+     */
+    public static WinningConditions winningConditionsOf(PieceOrientationTable orientationTable, int boardWidth,
+                                                        int winningState) {
+        int orientationCount = orientationTable.getOrientationCount();
+
+        WinningConditions winningConditions = new WinningConditions();
+        winningConditions.addPosition(new Position(winningState / orientationCount / boardWidth,
+                winningState / orientationCount % boardWidth));
+        winningConditions.addPieceConfiguration(orientationTable.getBoundingBox(winningState % orientationCount));
+
+        return winningConditions;
+    }
+}
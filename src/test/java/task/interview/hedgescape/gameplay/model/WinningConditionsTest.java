@@ -0,0 +1,76 @@
+package task.interview.hedgescape.gameplay.model;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.PieceLibrary;
+import task.interview.hedgescape.positioning.Cell;
+import task.interview.hedgescape.positioning.model.Position;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WinningConditionsTest {
+
+    private static final Cell P = Cell.PLAYER;
+    private static final Cell F = Cell.FREE;
+
+    private static final Position WINNING_POSITION = new Position(1, 2);
+
+    @Test
+    public void winningOrientationsAreResolvedPerTable() {
+        PieceOrientationTable defaultTable = PieceLibrary.getOrientationTable("defaultPlayerPiece.json");
+        PieceOrientationTable barTable = PieceOrientationTable.build(new Cell[][][]{
+                {{P, F}, {F, F}},
+                {{P, F}, {F, F}}
+        });
+
+        WinningConditions winningConditions = new WinningConditions();
+        winningConditions.addPosition(WINNING_POSITION);
+        int lastOrientation = defaultTable.getOrientationCount() - 1;
+        winningConditions.addPieceConfiguration(defaultTable.getBoundingBox(lastOrientation));
+        winningConditions.addPieceConfiguration(barTable.getBoundingBox(0));
+
+        // Alternating between the tables should not mix up their results.
+        for (int i = 0; i < 3; i++) {
+            long defaultOrientations = winningConditions.getWinningOrientations(defaultTable);
+            long barOrientations = winningConditions.getWinningOrientations(barTable);
+
+            assertTrue((defaultOrientations & (1L << lastOrientation)) != 0);
+            assertEquals(expectedWinningOrientations(defaultTable, winningConditions), defaultOrientations);
+            assertTrue((barOrientations & 1L) != 0);
+            assertEquals(expectedWinningOrientations(barTable, winningConditions), barOrientations);
+        }
+    }
+
+    @Test
+    public void addingConfigurationInvalidatesResolvedOrientations() {
+        PieceOrientationTable defaultTable = PieceLibrary.getOrientationTable("defaultPlayerPiece.json");
+        WinningConditions winningConditions = new WinningConditions();
+
+        assertEquals(0L, winningConditions.getWinningOrientations(defaultTable));
+
+        winningConditions.addPieceConfiguration(defaultTable.getBoundingBox(1));
+        assertTrue((winningConditions.getWinningOrientations(defaultTable) & 2L) != 0);
+    }
+
+    @Test
+    public void evaluatesOrientationsAboveBit31() {
+        WinningConditions winningConditions = new WinningConditions();
+        winningConditions.addPosition(WINNING_POSITION);
+
+        assertTrue(winningConditions.evaluateWinningConditions(WINNING_POSITION.getX(), WINNING_POSITION.getY(), 1L << 40, 40));
+        // With an int mask, bit 40 would wrap around to bit 8.
+        assertFalse(winningConditions.evaluateWinningConditions(WINNING_POSITION.getX(), WINNING_POSITION.getY(), 1L << 40, 8));
+    }
+
+    private static long expectedWinningOrientations(PieceOrientationTable orientationTable,
+                                                    WinningConditions winningConditions) {
+        long winningOrientations = 0;
+        for (int orientation = 0; orientation < orientationTable.getOrientationCount(); orientation++) {
+            if (winningConditions.evaluateWinningConditions(WINNING_POSITION, orientationTable.getBoundingBox(orientation))) {
+                winningOrientations |= 1L << orientation;
+            }
+        }
+        return winningOrientations;
+    }
+}
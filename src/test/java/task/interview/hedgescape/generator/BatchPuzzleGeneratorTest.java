@@ -0,0 +1,81 @@
+package task.interview.hedgescape.generator;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.corpus.PuzzleRecordWriter;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.CanonicalPuzzle;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchPuzzleGeneratorTest {
+
+    private static final int DISTINCT_4X4_PUZZLE_COUNT = 11;
+
+    @Test
+    public void writesRequestedNumberOfSolvablePuzzles() throws Exception {
+        BatchPuzzleGenerator puzzleGenerator =
+                new BatchPuzzleGenerator(GameConfig.DEFAULT, 2, 2, 16, new SplittableRandom(3));
+        List<Puzzle> puzzles = new ArrayList<>();
+
+        long puzzlesWritten = puzzleGenerator.generate(500, new PuzzleRecordWriter() {
+            @Override
+            public void write(Puzzle puzzle) {
+                puzzles.add(puzzle);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        assertEquals(500L, puzzlesWritten);
+        assertEquals(500, puzzles.size());
+        for (Puzzle puzzle : puzzles) {
+            assertTrue(puzzle.isSolvable());
+        }
+    }
+
+    /**
+     * The 4x4 game board without blocked cells has only 11 distinct solvable puzzles, so
+     * the repeats cannot be avoided. A single producer and solver keep the run deterministic.
+     */
+    @Test
+    public void skipsRotatedAndReflectedRepeats() throws Exception {
+        GameConfig gameConfig = new GameConfig(4, 4, 3, 0);
+        BatchPuzzleGenerator puzzleGenerator =
+                new BatchPuzzleGenerator(gameConfig, 1, 1, 4, new SplittableRandom(5));
+        GameController gameController = new GameController(gameConfig);
+        gameController.initializeGame();
+        Set<CanonicalPuzzle> canonicalPuzzles = new HashSet<>();
+
+        long puzzlesWritten = puzzleGenerator.generate(DISTINCT_4X4_PUZZLE_COUNT, new PuzzleRecordWriter() {
+            @Override
+            public void write(Puzzle puzzle) {
+                MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+                assertTrue(canonicalPuzzles.add(CanonicalPuzzle.of(puzzle.getGameBoard(),
+                        puzzle.getOrientationTable(), moveRules.encodeState(puzzle.getStartingX(),
+                                puzzle.getStartingY(), puzzle.getStartingOrientation()),
+                        gameController.getWinningConditions())));
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        assertEquals(DISTINCT_4X4_PUZZLE_COUNT, puzzlesWritten);
+        assertEquals(DISTINCT_4X4_PUZZLE_COUNT, canonicalPuzzles.size());
+        assertTrue(puzzleGenerator.getDuplicatesSkipped() > 0);
+        assertTrue(puzzleGenerator.getScenariosEvaluated() >= DISTINCT_4X4_PUZZLE_COUNT);
+    }
+}
@@ -0,0 +1,55 @@
+package task.interview.hedgescape.generator;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelPuzzleGeneratorTest {
+
+    @Test
+    public void generatesRequestedNumberOfSolvablePuzzles() throws Exception {
+        ParallelPuzzleGenerator puzzleGenerator =
+                new ParallelPuzzleGenerator(GameConfig.DEFAULT, 4, new SplittableRandom(1));
+        try {
+            List<Puzzle> puzzles = puzzleGenerator.generateSolvablePuzzles(100).get();
+
+            assertEquals(100, puzzles.size());
+            for (Puzzle puzzle : puzzles) {
+                assertTrue(puzzle.isSolvable());
+            }
+        } finally {
+            puzzleGenerator.shutdown();
+        }
+    }
+
+    @Test
+    public void zeroPuzzlesCompleteImmediately() {
+        ParallelPuzzleGenerator puzzleGenerator = new ParallelPuzzleGenerator(2);
+        try {
+            CompletableFuture<List<Puzzle>> puzzles = puzzleGenerator.generateSolvablePuzzles(0);
+
+            assertTrue(puzzles.isDone());
+            assertTrue(puzzles.join().isEmpty());
+        } finally {
+            puzzleGenerator.shutdown();
+        }
+    }
+
+    @Test
+    public void negativePuzzleCountIsRejected() {
+        ParallelPuzzleGenerator puzzleGenerator = new ParallelPuzzleGenerator(2);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> puzzleGenerator.generateSolvablePuzzles(-1));
+        } finally {
+            puzzleGenerator.shutdown();
+        }
+    }
+}
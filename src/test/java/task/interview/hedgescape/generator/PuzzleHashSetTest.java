@@ -0,0 +1,76 @@
+package task.interview.hedgescape.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PuzzleHashSetTest {
+
+    @Test
+    public void addsEachHashOnce() {
+        PuzzleHashSet puzzleHashes = new PuzzleHashSet(1000);
+
+        for (long hash = -500; hash < 500; hash++) {
+            assertTrue(puzzleHashes.add(hash * 0x100000001L), "Hash " + hash);
+        }
+        for (long hash = -500; hash < 500; hash++) {
+            assertFalse(puzzleHashes.add(hash * 0x100000001L), "Hash " + hash);
+        }
+    }
+
+    @Test
+    public void concurrentAddsClaimEachHashOnce() throws Exception {
+        int threadCount = 4;
+        int hashCount = 100_000;
+        PuzzleHashSet puzzleHashes = new PuzzleHashSet(hashCount);
+        LongAdder hashesAdded = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            Future<?>[] futures = new Future<?>[threadCount];
+            for (int thread = 0; thread < threadCount; thread++) {
+                futures[thread] = executor.submit(() -> {
+                    // The same hashes on every thread.
+                    SplittableRandom random = new SplittableRandom(7);
+                    for (int i = 0; i < hashCount; i++) {
+                        if (puzzleHashes.add(random.nextLong())) {
+                            hashesAdded.increment();
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(hashCount, hashesAdded.sum());
+    }
+
+    @Test
+    public void rejectsTooLargeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleHashSet(PuzzleHashSet.MAXIMUM_SLOT_COUNT));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleHashSet(-1));
+    }
+
+    @Test
+    public void failsWhenAllSlotsAreTaken() {
+        PuzzleHashSet puzzleHashes = new PuzzleHashSet(2);
+
+        for (long hash = 1; hash <= 4; hash++) {
+            assertTrue(puzzleHashes.add(hash));
+        }
+        assertThrows(IllegalStateException.class, () -> puzzleHashes.add(5));
+    }
+}
@@ -0,0 +1,88 @@
+package task.interview.hedgescape.generator;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.positioning.model.Position;
+import task.interview.hedgescape.solver.DistanceField;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolvableLayoutIndexTest {
+
+    private static final GameConfig GAME_CONFIG = new GameConfig(5, 5, 3, 2);
+
+    @Test
+    public void indexRoundTripsWithTheSameWinningConditions() throws IOException {
+        GameController gameController = createGameController();
+        PieceOrientationTable orientationTable = gameController.getMoveRules().getOrientationTable();
+        WinningConditions winningConditions = gameController.getWinningConditions();
+
+        SolvableLayoutIndex index = createIndex();
+        assertTrue(index.getEntryCount() > 0);
+
+        SolvableLayoutIndex readIndex = SolvableLayoutIndex.read(
+                new ByteArrayInputStream(toBytes(index)), orientationTable, winningConditions);
+
+        assertEquals(index.getEntryCount(), readIndex.getEntryCount());
+        for (int entry = 0; entry < index.getEntryCount(); entry++) {
+            assertEquals(index.getLayoutRank(entry), readIndex.getLayoutRank(entry));
+            assertEquals(index.getStartingState(entry), readIndex.getStartingState(entry));
+            assertEquals(index.getDistance(entry), readIndex.getDistance(entry));
+
+            // The indexed distance should still be the one of the restored game board.
+            BitBoard gameBoard = new BitBoard(GAME_CONFIG.getBoardHeight(), GAME_CONFIG.getBoardWidth());
+            readIndex.copyGameBoard(entry, gameBoard);
+            MoveRules moveRules = new MoveRules(gameBoard, orientationTable);
+            assertEquals(readIndex.getDistance(entry),
+                    DistanceField.compute(moveRules, winningConditions).getDistance(readIndex.getStartingState(entry)));
+        }
+    }
+
+    @Test
+    public void indexOfOtherWinningConditionsIsRejected() throws IOException {
+        GameController gameController = createGameController();
+        PieceOrientationTable orientationTable = gameController.getMoveRules().getOrientationTable();
+        byte[] indexBytes = toBytes(createIndex());
+
+        WinningConditions otherPosition = new WinningConditions();
+        otherPosition.addPosition(new Position(0, 0));
+        otherPosition.addPieceConfiguration(orientationTable.getBoundingBox(0));
+        assertThrows(IOException.class, () ->
+                SolvableLayoutIndex.read(new ByteArrayInputStream(indexBytes), orientationTable, otherPosition));
+
+        WinningConditions otherOrientation = new WinningConditions();
+        otherOrientation.addPosition(gameController.getWinningConditions().getWinningPositions().get(0));
+        otherOrientation.addPieceConfiguration(orientationTable.getBoundingBox(1));
+        assertThrows(IOException.class, () ->
+                SolvableLayoutIndex.read(new ByteArrayInputStream(indexBytes), orientationTable, otherOrientation));
+    }
+
+    private static SolvableLayoutIndex createIndex() {
+        return new PuzzleSpaceEnumerator(GAME_CONFIG, ForkJoinPool.commonPool()).enumerate(true)
+                .getSolvableLayoutIndex();
+    }
+
+    private static GameController createGameController() {
+        GameController gameController = new GameController(GAME_CONFIG);
+        gameController.initializeGame();
+        return gameController;
+    }
+
+    private static byte[] toBytes(SolvableLayoutIndex index) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        index.write(outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,52 @@
+package task.interview.hedgescape.solver;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.positioning.model.Position;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DistanceFieldTest {
+
+    @Test
+    public void reusedFieldMatchesNewField() {
+        GameController gameController = new GameController(new GameConfig(7, 7, 3, 12));
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(5));
+        WinningConditions winningConditions = gameController.getWinningConditions();
+
+        DistanceField reusedField = null;
+        for (int i = 0; i < 50; i++) {
+            Puzzle puzzle = gameController.generateRandomScenario();
+            MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+
+            DistanceField previousField = reusedField;
+            reusedField = DistanceField.compute(moveRules, moveRules, winningConditions, reusedField);
+            DistanceField newField = DistanceField.compute(moveRules, winningConditions);
+
+            if (previousField != null) {
+                assertSame(previousField, reusedField);
+            }
+            assertEquals(newField.getMaximumDistance(), reusedField.getMaximumDistance());
+            for (int state = 0; state < moveRules.getStateCount(); state++) {
+                assertEquals(newField.getDistance(state), reusedField.getDistance(state), "State " + state);
+            }
+        }
+    }
+
+    @Test
+    public void defaultWinningPositionIsDerivedFromThePieceFootprint() {
+        GameController gameController = new GameController(GameConfig.DEFAULT);
+        gameController.initializeGame();
+
+        assertEquals(1, gameController.getWinningConditions().getWinningPositions().size());
+        assertEquals(new Position(4, 5), gameController.getWinningConditions().getWinningPositions().get(0));
+    }
+}
@@ -0,0 +1,210 @@
+package task.interview.hedgescape.solver;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.BitBoard;
+import task.interview.hedgescape.gameplay.model.PieceOrientationTable;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+import task.interview.hedgescape.gameplay.model.SymmetricVariants;
+import task.interview.hedgescape.gameplay.model.WinningConditions;
+import task.interview.hedgescape.positioning.Symmetry;
+import task.interview.hedgescape.positioning.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolutionCacheTest {
+
+    private static final int PUZZLE_COUNT = 200;
+    private static final int THREAD_COUNT = 4;
+
+    @Test
+    public void leastRecentlyReferencedSolutionsAreEvicted() {
+        List<SearchProblem> searchProblems = createSearchProblems(4, 3);
+        SolutionCache solutionCache = new SolutionCache(3);
+        PuzzleSolver puzzleSolver = new BreadthFirstSolver();
+
+        for (int i = 0; i < 3; i++) {
+            assertSolution(searchProblems.get(i), solutionCache.solve(searchProblems.get(i), puzzleSolver));
+        }
+        assertEquals(3, solutionCache.getMisses());
+        assertEquals(0, solutionCache.getHits());
+        assertEquals(3, solutionCache.getSize());
+
+        // The first puzzle is referenced, so the clock hand passes it and evicts the second one.
+        assertSolution(searchProblems.get(0), solutionCache.solve(searchProblems.get(0), puzzleSolver));
+        assertEquals(1, solutionCache.getHits());
+        assertSolution(searchProblems.get(3), solutionCache.solve(searchProblems.get(3), puzzleSolver));
+        assertEquals(4, solutionCache.getMisses());
+        assertEquals(3, solutionCache.getSize());
+
+        solutionCache.solve(searchProblems.get(0), puzzleSolver);
+        solutionCache.solve(searchProblems.get(2), puzzleSolver);
+        solutionCache.solve(searchProblems.get(3), puzzleSolver);
+        assertEquals(4, solutionCache.getHits());
+        assertEquals(4, solutionCache.getMisses());
+
+        solutionCache.solve(searchProblems.get(1), puzzleSolver);
+        assertEquals(5, solutionCache.getMisses());
+        assertEquals(3, solutionCache.getSize());
+
+        solutionCache.clear();
+        assertEquals(0, solutionCache.getSize());
+        solutionCache.solve(searchProblems.get(0), puzzleSolver);
+        assertEquals(6, solutionCache.getMisses());
+    }
+
+    @Test
+    public void symmetricVariantsShareTheCachedSolution() {
+        SolutionCache solutionCache = new SolutionCache(PUZZLE_COUNT);
+        PuzzleSolver puzzleSolver = new BreadthFirstSolver();
+        int variantCount = 0;
+
+        for (SearchProblem searchProblem : createSearchProblems(PUZZLE_COUNT, 5)) {
+            long misses = solutionCache.getMisses();
+            SolutionPath solution = solutionCache.solve(searchProblem, puzzleSolver);
+            assertSolution(searchProblem, solution);
+            assertTrue(solutionCache.getMisses() <= misses + 1);
+            misses = solutionCache.getMisses();
+
+            for (SearchProblem variant : createVariants(searchProblem)) {
+                SolutionPath variantSolution = solutionCache.solve(variant, puzzleSolver);
+                assertEquals(misses, solutionCache.getMisses());
+                assertSolution(variant, variantSolution);
+                assertEquals(solution != null ? solution.getMoveCount() : -1,
+                        variantSolution != null ? variantSolution.getMoveCount() : -1);
+                variantCount++;
+            }
+        }
+
+        assertTrue(variantCount >= PUZZLE_COUNT);
+        assertTrue(solutionCache.getHits() >= variantCount);
+    }
+
+    @Test
+    public void solutionsAreLookedUpConcurrently() throws Exception {
+        List<SearchProblem> searchProblems = new ArrayList<>();
+        for (SearchProblem searchProblem : createSearchProblems(PUZZLE_COUNT / 4, 7)) {
+            searchProblems.add(searchProblem);
+            searchProblems.addAll(createVariants(searchProblem));
+        }
+
+        SolutionCache solutionCache = new SolutionCache(PUZZLE_COUNT / 8);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                futures.add(executorService.submit(() -> {
+                    PuzzleSolver puzzleSolver = new AStarSolver();
+                    for (int round = 0; round < 3; round++) {
+                        for (SearchProblem searchProblem : searchProblems) {
+                            assertSolution(searchProblem, solutionCache.solve(searchProblem, puzzleSolver));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertEquals(3L * THREAD_COUNT * searchProblems.size(), solutionCache.getHits() + solutionCache.getMisses());
+        assertTrue(solutionCache.getSize() <= solutionCache.getCapacity());
+    }
+
+    @Test
+    public void invalidCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SolutionCache(0));
+    }
+
+    /**
+     * Checks the given solution against the distance field of the puzzle and replays it.
+     */
+    private static void assertSolution(SearchProblem searchProblem, SolutionPath solution) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        int distance = DistanceField.compute(moveRules, searchProblem.getWinningConditions())
+                .getDistance(searchProblem.getStartingState());
+
+        if (distance == DistanceField.UNREACHABLE) {
+            assertNull(solution);
+            return;
+        }
+
+        assertNotNull(solution);
+        assertEquals(distance, solution.getMoveCount());
+
+        int state = searchProblem.getStartingState();
+        assertEquals(state, solution.getState(0));
+        for (int move = 0; move < solution.getMoveCount(); move++) {
+            state = moveRules.move(state, solution.getDirection(move));
+            assertEquals(solution.getState(move + 1), state);
+        }
+        assertTrue(searchProblem.isWinningState(state));
+    }
+
+    private static List<SearchProblem> createSearchProblems(int puzzleCount, long seed) {
+        GameController gameController = new GameController(new GameConfig(7, 7, 3, 8));
+        gameController.initializeGame();
+        gameController.setRandom(new SplittableRandom(seed));
+
+        List<SearchProblem> searchProblems = new ArrayList<>();
+        for (int i = 0; i < puzzleCount; i++) {
+            Puzzle puzzle = gameController.generateRandomScenario();
+            MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+            searchProblems.add(new SearchProblem(moveRules, gameController.getWinningConditions(),
+                    moveRules.encodeState(puzzle.getStartingX(), puzzle.getStartingY(),
+                            puzzle.getStartingOrientation())));
+        }
+
+        return searchProblems;
+    }
+
+    /**
+     * @param searchProblem A puzzle with a single winning position and piece configuration.
+     * @return The rotated / reflected variants of the given puzzle (except the identity).
+     */
+    private static List<SearchProblem> createVariants(SearchProblem searchProblem) {
+        MoveRules moveRules = searchProblem.getMoveRules();
+        BitBoard gameBoard = moveRules.getGameBoard();
+        PieceOrientationTable orientationTable = moveRules.getOrientationTable();
+        // The winning state may be blocked, so it is not looked up on the game board.
+        Position winningPosition = searchProblem.getWinningConditions().getWinningPositions().get(0);
+        int winningState = moveRules.encodeState(winningPosition.getX(), winningPosition.getY(),
+                Long.numberOfTrailingZeros(searchProblem.getWinningOrientations()));
+
+        List<SearchProblem> variants = new ArrayList<>();
+        for (Symmetry symmetry : SymmetricVariants.getSymmetries(
+                orientationTable, gameBoard.getHeight(), gameBoard.getWidth())) {
+            if (symmetry == Symmetry.IDENTITY) {
+                continue;
+            }
+
+            MoveRules variantMoveRules =
+                    new MoveRules(SymmetricVariants.transformBoard(gameBoard, symmetry), orientationTable);
+            WinningConditions winningConditions = SymmetricVariants.winningConditionsOf(orientationTable,
+                    gameBoard.getWidth(), SymmetricVariants.transformState(orientationTable,
+                            gameBoard.getHeight(), gameBoard.getWidth(), winningState, symmetry));
+
+            variants.add(new SearchProblem(variantMoveRules, winningConditions,
+                    SymmetricVariants.transformState(orientationTable, gameBoard.getHeight(), gameBoard.getWidth(),
+                            searchProblem.getStartingState(), symmetry)));
+        }
+
+        return variants;
+    }
+}
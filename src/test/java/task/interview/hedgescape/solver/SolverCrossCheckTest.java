@@ -0,0 +1,112 @@
+package task.interview.hedgescape.solver;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the solutions of the solvers against the distances of the {@link DistanceField},
+ * on random (seeded) game boards of a few sizes.
+ */
+public class SolverCrossCheckTest {
+
+    private static final int PUZZLES_PER_CONFIG = 100;
+
+    private static final GameConfig[] GAME_CONFIGS = {
+            new GameConfig(7, 7, 3, 4),
+            new GameConfig(7, 7, 3, 12),
+            new GameConfig(7, 7, 3, 20),
+            new GameConfig(9, 13, 3, 25)
+    };
+
+    @Test
+    public void breadthFirstSolutionsAreAsShortAsTheDistances() {
+        crossCheck(new BreadthFirstSolver(), true);
+    }
+
+    @Test
+    public void aStarSolutionsAreAsShortAsTheDistances() {
+        crossCheck(new AStarSolver(), true);
+    }
+
+    /**
+     * Without the transposition table, proving a puzzle unsolvable takes too long,
+     * so the unsolvable puzzles are only checked with one.
+     */
+    @Test
+    public void iterativeDeepeningSolutionsAreAsShortAsTheDistances() {
+        crossCheck(new IterativeDeepeningSolver(), false);
+        crossCheck(new IterativeDeepeningSolver(16), true);
+    }
+
+    @Test
+    public void parallelBreadthFirstSolutionsAreAsShortAsTheDistances() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            crossCheck(new ParallelBreadthFirstSolver(forkJoinPool), true);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void bidirectionalSolutionsAreAsShortAsTheDistances() {
+        crossCheck(new BidirectionalSolver(), true);
+    }
+
+    /**
+     * @param puzzleSolver
+     * @param unsolvablePuzzles Whether to check the unsolvable puzzles as well.
+     */
+    private static void crossCheck(PuzzleSolver puzzleSolver, boolean unsolvablePuzzles) {
+        for (GameConfig gameConfig : GAME_CONFIGS) {
+            GameController gameController = new GameController(gameConfig);
+            gameController.initializeGame();
+            gameController.setRandom(new SplittableRandom(gameConfig.getBlockedCellCount()));
+
+            for (int i = 0; i < PUZZLES_PER_CONFIG; i++) {
+                Puzzle puzzle = gameController.generateRandomScenario();
+                MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+                int startingState = moveRules.encodeState(
+                        puzzle.getStartingX(), puzzle.getStartingY(), puzzle.getStartingOrientation());
+                SearchProblem searchProblem =
+                        new SearchProblem(moveRules, gameController.getWinningConditions(), startingState);
+                int distance = DistanceField.compute(moveRules, gameController.getWinningConditions())
+                        .getDistance(startingState);
+
+                if (distance != DistanceField.UNREACHABLE || unsolvablePuzzles) {
+                    assertSolution(searchProblem, distance, puzzleSolver.solve(searchProblem),
+                            puzzleSolver.getClass().getSimpleName() + ", seed " + puzzle.getSeed());
+                }
+            }
+        }
+    }
+
+    private static void assertSolution(SearchProblem searchProblem, int distance, SolutionPath solution,
+                                       String message) {
+        if (distance == DistanceField.UNREACHABLE) {
+            assertNull(solution, message);
+            return;
+        }
+
+        assertEquals(distance, solution != null ? solution.getMoveCount() : -1, message);
+        assertEquals(searchProblem.getStartingState(), solution.getState(0), message);
+
+        int state = searchProblem.getStartingState();
+        for (int move = 0; move < solution.getMoveCount(); move++) {
+            state = searchProblem.getStateGraph().move(state, solution.getDirection(move));
+            assertEquals(solution.getState(move + 1), state, message);
+        }
+        assertTrue(searchProblem.isWinningState(state), message);
+    }
+}
@@ -0,0 +1,120 @@
+package task.interview.hedgescape.solver;
+
+import org.junit.jupiter.api.Test;
+import task.interview.hedgescape.gameplay.GameConfig;
+import task.interview.hedgescape.gameplay.GameController;
+import task.interview.hedgescape.gameplay.MoveRules;
+import task.interview.hedgescape.gameplay.model.Puzzle;
+import task.interview.hedgescape.gameplay.model.SolutionPath;
+
+import java.io.File;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StateStoreTest {
+
+    @Test
+    public void storesKeepStatesAndSearchValues() {
+        for (StateStorage stateStorage : StateStorage.values()) {
+            StateStore stateStore = stateStorage.createStateStore(1000);
+            assertEquals(1000, stateStore.getStateCount());
+
+            stateStore.clear();
+            stateStore.fillSearchValues(Integer.MAX_VALUE);
+            for (int state = 0; state < 1000; state += 7) {
+                stateStore.markVisited(state);
+                stateStore.setPrecedingMove(state, state * 4 + 3);
+                stateStore.setSearchValue(state, -state);
+            }
+
+            for (int state = 0; state < 1000; state++) {
+                boolean visited = state % 7 == 0;
+                assertEquals(visited, stateStore.isVisited(state), stateStorage + " state " + state);
+                assertEquals(visited ? -state : Integer.MAX_VALUE, stateStore.getSearchValue(state));
+                if (visited) {
+                    assertEquals(state * 4 + 3, stateStore.getPrecedingMove(state));
+                }
+            }
+
+            stateStore.clear();
+            for (int state = 0; state < 1000; state++) {
+                assertEquals(false, stateStore.isVisited(state), stateStorage + " state " + state);
+            }
+        }
+    }
+
+    @Test
+    public void mappedStoreLeavesNoFileBehind() {
+        File temporaryDirectory = new File(System.getProperty("java.io.tmpdir"));
+        int fileCount = countStateFiles(temporaryDirectory);
+
+        StateStore stateStore = DirectStateStore.map(1 << 16);
+        stateStore.markVisited(12345);
+
+        assertEquals(fileCount, countStateFiles(temporaryDirectory));
+    }
+
+    @Test
+    public void solversFindSameSolutionLengthsWithEveryStorage() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            for (StateStorage stateStorage : StateStorage.values()) {
+                // The solutions of the generated puzzles come from distance fields in the same storage.
+                GameController gameController =
+                        new GameController(new GameConfig(7, 7, 3, 12, stateStorage));
+                gameController.initializeGame();
+                gameController.setRandom(new SplittableRandom(21));
+                PuzzleSolver[] puzzleSolvers = {
+                        new AStarSolver(stateStorage::createStateStore),
+                        new BreadthFirstSolver(stateStorage::createStateStore),
+                        new BidirectionalSolver(stateStorage::createStateStore),
+                        new ParallelBreadthFirstSolver(forkJoinPool, stateStorage::createStateStore)
+                };
+                DistanceField distanceField = null;
+
+                for (int i = 0; i < 100; i++) {
+                    Puzzle puzzle = gameController.generateRandomPuzzle();
+                    MoveRules moveRules = new MoveRules(puzzle.getGameBoard(), puzzle.getOrientationTable());
+                    SearchProblem searchProblem = new SearchProblem(moveRules, gameController.getWinningConditions(),
+                            moveRules.encodeState(puzzle.getStartingX(), puzzle.getStartingY(),
+                                    puzzle.getStartingOrientation()));
+                    distanceField = DistanceField.compute(moveRules, moveRules, gameController.getWinningConditions(),
+                            distanceField, stateStorage::createStateStore);
+                    int distance = distanceField.getDistance(searchProblem.getStartingState());
+
+                    for (PuzzleSolver puzzleSolver : puzzleSolvers) {
+                        String message = stateStorage + " " + puzzleSolver.getClass().getSimpleName();
+                        SolutionPath solution = puzzleSolver.solve(searchProblem);
+
+                        if (puzzle.isSolvable()) {
+                            assertNotNull(solution, message);
+                            assertEquals(puzzle.getSolution().getMoveCount(), solution.getMoveCount(), message);
+                            assertEquals(distance, solution.getMoveCount(), message);
+                        } else {
+                            assertNull(solution, message);
+                            assertEquals(DistanceField.UNREACHABLE, distance, message);
+                        }
+                    }
+                }
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void unknownStorageIsRejected() {
+        assertEquals(StateStorage.MAPPED, StateStorage.fromName("mapped"));
+        assertThrows(IllegalArgumentException.class, () -> StateStorage.fromName("disk"));
+    }
+
+    private static int countStateFiles(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("hedgescape-states"));
+        return files != null ? files.length : 0;
+    }
+}